@@ -0,0 +1,52 @@
+package com.example.kitchenapi.common;
+
+import java.util.Locale;
+
+/**
+ * 一括操作の種類
+ * POST /pantry/batch の各操作の {@code op=add|update|delete} に対応します。
+ */
+public enum BatchOperation {
+
+    /**
+     * 新しいアイテムを追加する
+     */
+    ADD,
+
+    /**
+     * 既存のアイテムを部分更新する
+     */
+    UPDATE,
+
+    /**
+     * 既存のアイテムを削除する
+     */
+    DELETE;
+
+    /**
+     * 操作の種類を解析します（大文字小文字を区別しない）。
+     *
+     * @param value 操作の種類
+     * @return 対応するBatchOperation
+     * @throws IllegalArgumentException nullまたは空白、または不明な値の場合
+     */
+    public static BatchOperation parse(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Operation is required (expected add, update or delete)");
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid operation: " + value + " (expected add, update or delete)");
+        }
+    }
+
+    /**
+     * レスポンスで使用する操作名（小文字）を返します。
+     *
+     * @return 操作名
+     */
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.kitchenapi.common;
+
+import java.util.Locale;
+
+/**
+ * 検索結果の総件数の取得方法
+ * リクエストパラメータ {@code count=exact|estimate|none} に対応します。
+ */
+public enum CountMode {
+
+    /**
+     * 正確な総件数をカウントする（デフォルト）
+     */
+    EXACT,
+
+    /**
+     * 一定時間キャッシュされた総件数を使用する（最新の追加・削除が反映されない場合がある）
+     */
+    ESTIMATE,
+
+    /**
+     * 総件数を取得せず、次のページの有無のみを返す
+     */
+    NONE;
+
+    /**
+     * リクエストパラメータの値を解析します（大文字小文字を区別しない）。
+     *
+     * @param value パラメータ値（nullまたは空白の場合はEXACT）
+     * @return 対応するCountMode
+     * @throws IllegalArgumentException 不明な値の場合
+     */
+    public static CountMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid count mode: " + value + " (expected exact, estimate or none)");
+        }
+    }
+}
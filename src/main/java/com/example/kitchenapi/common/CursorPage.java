@@ -0,0 +1,27 @@
+package com.example.kitchenapi.common;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * キーセットページネーションの結果ページ
+ * 総件数は含まず、次のページがある場合のみ nextCursor が設定されます。
+ *
+ * @param content ページの内容
+ * @param size 要求されたページサイズ
+ * @param nextCursor 次のページを取得するためのカーソル（最終ページの場合はnull）
+ * @param <T> 要素の型
+ */
+public record CursorPage<T>(List<T> content, int size, String nextCursor) {
+
+    /**
+     * ページの内容を変換します。
+     *
+     * @param converter 要素の変換関数
+     * @param <U> 変換後の要素の型
+     * @return 変換後のページ
+     */
+    public <U> CursorPage<U> map(Function<? super T, ? extends U> converter) {
+        return new CursorPage<>(content.stream().<U>map(converter).toList(), size, nextCursor);
+    }
+}
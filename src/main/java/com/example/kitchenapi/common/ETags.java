@@ -0,0 +1,63 @@
+package com.example.kitchenapi.common;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 条件付きGET用のETag
+ * 応答の内容を決める値（バージョンや世代、検索条件）からETagを作ります。
+ * 応答本体からハッシュを計算しないため、If-None-Match が一致した場合は検索もシリアライズも行わずに 304 を返せます。
+ */
+public final class ETags {
+
+    /**
+     * ETagを付けた応答のCache-Control
+     * クライアントは応答を保存してよいが、使用する前に必ず If-None-Match で再検証する（共有キャッシュには保存しない）。
+     */
+    public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    /**
+     * 応答の内容を決める値から強いETagを作ります。
+     * null は空文字列として扱い、値の順序も区別します。
+     *
+     * @param parts 応答の内容を決める値
+     * @return 二重引用符で囲んだETag
+     */
+    public static String of(Object... parts) {
+        String key = Arrays.stream(parts)
+                .map(part -> Objects.toString(part, ""))
+                .collect(Collectors.joining("|"));
+        return "\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * ETagを付けた 200 OK の応答を作ります。
+     *
+     * @param etag ETag
+     * @param body 応答本体
+     * @return 200 OK の応答
+     */
+    public static <T> ResponseEntity<T> ok(String etag, T body) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CONTROL).body(body);
+    }
+
+    /**
+     * 本体を持たない 304 Not Modified の応答を作ります。
+     *
+     * @param etag ETag
+     * @return 304 Not Modified の応答
+     */
+    public static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CACHE_CONTROL).build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.kitchenapi.common;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -50,6 +51,19 @@ public class GlobalExceptionHandler {
         return problemDetail;
     }
 
+    /**
+     * 同じエンティティへの同時更新による楽観的ロックの失敗を処理します。
+     * @param ex OptimisticLockingFailureException
+     * @return 409 Conflictステータスを持つProblemDetail
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.CONFLICT);
+        problemDetail.setTitle("Conflict");
+        problemDetail.setDetail("The resource was modified concurrently, please retry");
+        return problemDetail;
+    }
+
     /**
      * IllegalArgumentExceptionを処理します。
      * @param ex IllegalArgumentException
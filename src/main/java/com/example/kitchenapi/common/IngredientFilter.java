@@ -0,0 +1,70 @@
+package com.example.kitchenapi.common;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * レシピ検索の材料フィルター
+ * リクエストパラメータ {@code ingredient}（複数指定可）と {@code ingredientMatch=all|any} に対応します。
+ *
+ * @param names 材料名の部分文字列（前後の空白を除去し、空白のみの値と重複を除いたもの）
+ * @param matchAll trueの場合は全ての材料を含むレシピ、falseの場合はいずれかの材料を含むレシピに一致
+ */
+public record IngredientFilter(List<String> names, boolean matchAll) {
+
+    /**
+     * 一度に指定できる材料の最大数
+     */
+    public static final int MAX_NAMES = 10;
+
+    /**
+     * 材料名を正規化します。
+     *
+     * @throws IllegalArgumentException 材料の数が {@link #MAX_NAMES} を超える場合
+     */
+    public IngredientFilter {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (names != null) {
+            for (String name : names) {
+                if (name != null && !name.isBlank()) {
+                    normalized.add(name.trim());
+                }
+            }
+        }
+        if (normalized.size() > MAX_NAMES) {
+            throw new IllegalArgumentException("Too many ingredients (max " + MAX_NAMES + ")");
+        }
+        names = List.copyOf(normalized);
+    }
+
+    /**
+     * 材料が1つも指定されていないかどうかを返します。
+     *
+     * @return 絞り込みを行わない場合はtrue
+     */
+    public boolean isEmpty() {
+        return names.isEmpty();
+    }
+
+    /**
+     * リクエストパラメータの値を解析します（一致方法は大文字小文字を区別しない）。
+     *
+     * @param names 材料名の部分文字列（nullの場合は絞り込みなし）
+     * @param match 一致方法（all または any、nullまたは空白の場合はall）
+     * @return 対応するIngredientFilter
+     * @throws IllegalArgumentException 一致方法が不明な場合、または材料の数が多すぎる場合
+     */
+    public static IngredientFilter parse(List<String> names, String match) {
+        if (match == null || match.isBlank()) {
+            return new IngredientFilter(names, true);
+        }
+        return switch (match.trim().toLowerCase(Locale.ROOT)) {
+            case "all" -> new IngredientFilter(names, true);
+            case "any" -> new IngredientFilter(names, false);
+            default -> throw new IllegalArgumentException(
+                    "Invalid ingredient match: " + match + " (expected all or any)");
+        };
+    }
+}
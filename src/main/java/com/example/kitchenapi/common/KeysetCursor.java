@@ -0,0 +1,73 @@
+package com.example.kitchenapi.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * キーセット（シーク）ページネーション用のカーソル
+ * 直前のページの最後の行のソートキーとIDを保持し、クライアントには不透明な文字列として渡します。
+ *
+ * @param key 最後の行のソートキー（文字列表現、nullの場合はソートキーがNULLの行）
+ * @param id 最後の行のID
+ */
+public record KeysetCursor(String key, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * カーソルをURLセーフなBase64文字列にエンコードします。
+     *
+     * @return エンコードされたカーソル
+     */
+    public String encode() {
+        String raw = (key == null ? "" : key) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * ソートキーを指定された型に変換します。
+     *
+     * @param parser 文字列表現からの変換関数（例: {@code Instant::parse}）
+     * @param <T> ソートキーの型
+     * @return 変換されたソートキー（キーがnullの場合はnull）
+     * @throws IllegalArgumentException キーの形式が不正な場合
+     */
+    public <T> T parseKey(Function<String, T> parser) {
+        if (key == null) {
+            return null;
+        }
+        try {
+            return parser.apply(key);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * エンコードされたカーソルを復元します。
+     * 空文字列またはnullは先頭ページを表し、nullを返します。
+     *
+     * @param cursor エンコードされたカーソル
+     * @return 復元されたカーソル（先頭ページの場合はnull）
+     * @throws IllegalArgumentException カーソルの形式が不正な場合
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String key = raw.substring(0, separator);
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new KeysetCursor(key.isEmpty() ? null : key, id);
+        } catch (IllegalArgumentException e) {
+            // Base64やIDの形式エラー（NumberFormatExceptionを含む）はすべて不正なカーソルとして扱う
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
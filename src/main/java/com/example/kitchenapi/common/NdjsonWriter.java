@@ -0,0 +1,46 @@
+package com.example.kitchenapi.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * NDJSON（改行区切りJSON）の書き込み
+ * 1オブジェクトを1行のJSONとして出力ストリームに書き込みます。エクスポートのストリーミング応答で使用します。
+ */
+public class NdjsonWriter {
+
+    /**
+     * NDJSONのメディアタイプ
+     */
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ObjectWriter writer;
+    private final OutputStream outputStream;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream) {
+        // 各行の書き込みで出力ストリームを閉じないようにする
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.outputStream = outputStream;
+    }
+
+    /**
+     * オブジェクトを1行のJSONとして書き込みます。
+     *
+     * @param value 書き込むオブジェクト
+     * @throws UncheckedIOException 書き込みに失敗した場合（クライアントの切断など）
+     */
+    public void write(Object value) {
+        try {
+            writer.writeValue(outputStream, value);
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
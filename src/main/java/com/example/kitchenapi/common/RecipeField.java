@@ -0,0 +1,63 @@
+package com.example.kitchenapi.common;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * レシピ一覧で取得するフィールド
+ * リクエストパラメータ {@code fields}（カンマ区切り）に対応します。
+ * 指定されなかったフィールドはDBから読み込まず、レスポンスではnullになります（idは常に含まれます）。
+ */
+public enum RecipeField {
+
+    TITLE("title"),
+    STEPS("steps"),
+    COOK_TIME_MIN("cookTimeMin"),
+    TAGS("tags"),
+    INGREDIENTS("ingredients");
+
+    private final String property;
+
+    RecipeField(String property) {
+        this.property = property;
+    }
+
+    /**
+     * レスポンスおよびエンティティでのプロパティ名を返します。
+     *
+     * @return プロパティ名
+     */
+    public String property() {
+        return property;
+    }
+
+    /**
+     * リクエストパラメータの値を解析します（大文字小文字を区別しない）。
+     *
+     * @param value カンマ区切りのフィールド名（nullまたは空白の場合は全フィールド）
+     * @return 取得するフィールドの集合
+     * @throws IllegalArgumentException 不明なフィールド名が含まれる場合
+     */
+    public static Set<RecipeField> parse(String value) {
+        if (value == null || value.isBlank()) {
+            return Collections.unmodifiableSet(EnumSet.allOf(RecipeField.class));
+        }
+        Set<RecipeField> fields = EnumSet.noneOf(RecipeField.class);
+        for (String name : value.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty() || trimmed.equalsIgnoreCase("id")) {
+                continue;
+            }
+            fields.add(Arrays.stream(values())
+                    .filter(field -> field.property.equalsIgnoreCase(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid field: " + trimmed + " (expected "
+                            + Arrays.stream(values()).map(RecipeField::property)
+                                    .collect(Collectors.joining(", ", "id, ", ")")))));
+        }
+        return Collections.unmodifiableSet(fields);
+    }
+}
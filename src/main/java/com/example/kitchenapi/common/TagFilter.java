@@ -0,0 +1,72 @@
+package com.example.kitchenapi.common;
+
+import com.example.kitchenapi.entity.RecipeEntity;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * レシピ検索のタグフィルター
+ * リクエストパラメータ {@code tag}（複数指定可）と {@code tagMatch=all|any} に対応します。
+ * タグは完全一致で比較します（大文字小文字は区別しない）。
+ *
+ * @param tags 正規化したタグ（{@link RecipeEntity#normalizeTag(String)} 適用済み、空のタグと重複を除いたもの）
+ * @param matchAll trueの場合は全てのタグを持つレシピ、falseの場合はいずれかのタグを持つレシピに一致
+ */
+public record TagFilter(List<String> tags, boolean matchAll) {
+
+    /**
+     * 一度に指定できるタグの最大数
+     */
+    public static final int MAX_TAGS = 10;
+
+    /**
+     * タグを正規化します。
+     *
+     * @throws IllegalArgumentException タグの数が {@link #MAX_TAGS} を超える場合
+     */
+    public TagFilter {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                if (tag != null && !tag.isBlank()) {
+                    normalized.add(RecipeEntity.normalizeTag(tag));
+                }
+            }
+        }
+        if (normalized.size() > MAX_TAGS) {
+            throw new IllegalArgumentException("Too many tags (max " + MAX_TAGS + ")");
+        }
+        tags = List.copyOf(normalized);
+    }
+
+    /**
+     * タグが1つも指定されていないかどうかを返します。
+     *
+     * @return 絞り込みを行わない場合はtrue
+     */
+    public boolean isEmpty() {
+        return tags.isEmpty();
+    }
+
+    /**
+     * リクエストパラメータの値を解析します（一致方法は大文字小文字を区別しない）。
+     *
+     * @param tags タグ（nullの場合は絞り込みなし）
+     * @param match 一致方法（all または any、nullまたは空白の場合はall）
+     * @return 対応するTagFilter
+     * @throws IllegalArgumentException 一致方法が不明な場合、またはタグの数が多すぎる場合
+     */
+    public static TagFilter parse(List<String> tags, String match) {
+        if (match == null || match.isBlank()) {
+            return new TagFilter(tags, true);
+        }
+        return switch (match.trim().toLowerCase(Locale.ROOT)) {
+            case "all" -> new TagFilter(tags, true);
+            case "any" -> new TagFilter(tags, false);
+            default -> throw new IllegalArgumentException("Invalid tag match: " + match + " (expected all or any)");
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.kitchenapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * プロセス内キャッシュに関する設定プロパティ
+ * application.yml の app.cache.* を読み込む
+ */
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+public class AppCacheProps {
+
+    /**
+     * 材料辞書キャッシュの最大エントリ数
+     * 起動時のウォームアップもこの件数までに制限される
+     */
+    private int ingredientMaxSize = 10_000;
+
+    /**
+     * 検索結果の総件数（count=estimate）をキャッシュする期間
+     */
+    private Duration searchCountTtl = Duration.ofSeconds(60);
+
+    /**
+     * 総件数キャッシュの最大エントリ数
+     */
+    private int searchCountMaxSize = 10_000;
+
+    /**
+     * 検証済みJWTキャッシュの最大エントリ数
+     */
+    private int verifiedTokenMaxSize = 10_000;
+
+    /**
+     * 検証済みJWTをキャッシュする最大期間（トークンの有効期限がこれより早い場合は有効期限まで）
+     */
+    private Duration verifiedTokenMaxTtl = Duration.ofMinutes(5);
+
+    /**
+     * シリアライズ済みレシピ（GET /api/recipes/{id} のJSON）キャッシュの最大サイズ
+     * JSONのバイト数の合計で制限し、0 の場合はキャッシュしない
+     */
+    private DataSize recipeViewMaxSize = DataSize.ofMegabytes(64);
+
+    public int getIngredientMaxSize() {
+        return ingredientMaxSize;
+    }
+
+    public void setIngredientMaxSize(int ingredientMaxSize) {
+        this.ingredientMaxSize = ingredientMaxSize;
+    }
+
+    public Duration getSearchCountTtl() {
+        return searchCountTtl;
+    }
+
+    public void setSearchCountTtl(Duration searchCountTtl) {
+        this.searchCountTtl = searchCountTtl;
+    }
+
+    public int getSearchCountMaxSize() {
+        return searchCountMaxSize;
+    }
+
+    public void setSearchCountMaxSize(int searchCountMaxSize) {
+        this.searchCountMaxSize = searchCountMaxSize;
+    }
+
+    public int getVerifiedTokenMaxSize() {
+        return verifiedTokenMaxSize;
+    }
+
+    public void setVerifiedTokenMaxSize(int verifiedTokenMaxSize) {
+        this.verifiedTokenMaxSize = verifiedTokenMaxSize;
+    }
+
+    public Duration getVerifiedTokenMaxTtl() {
+        return verifiedTokenMaxTtl;
+    }
+
+    public void setVerifiedTokenMaxTtl(Duration verifiedTokenMaxTtl) {
+        this.verifiedTokenMaxTtl = verifiedTokenMaxTtl;
+    }
+
+    public DataSize getRecipeViewMaxSize() {
+        return recipeViewMaxSize;
+    }
+
+    public void setRecipeViewMaxSize(DataSize recipeViewMaxSize) {
+        this.recipeViewMaxSize = recipeViewMaxSize;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.kitchenapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 読み取りレプリカに関する設定プロパティ
+ * application.yml の app.datasource.* を読み込む
+ */
+@Component
+@ConfigurationProperties(prefix = "app.datasource")
+public class AppDataSourceProps {
+
+    /**
+     * 読み取りレプリカのJDBC URL（未設定の場合はすべての接続がプライマリを使用する）
+     */
+    private String replicaUrl;
+
+    /**
+     * 読み取りレプリカのユーザー名
+     */
+    private String replicaUsername;
+
+    /**
+     * 読み取りレプリカのパスワード
+     */
+    private String replicaPassword;
+
+    /**
+     * 読み取りレプリカの接続プールの最大接続数
+     */
+    private int replicaMaximumPoolSize = 10;
+
+    /**
+     * 読み取りレプリカに許容する最大の遅延（これを超えるとプライマリで読み込む）
+     */
+    private Duration replicaMaxLag = Duration.ofSeconds(5);
+
+    /**
+     * 読み取りレプリカの状態と遅延を確認する間隔
+     */
+    private Duration replicaHealthCheckInterval = Duration.ofSeconds(5);
+
+    public String getReplicaUrl() {
+        return replicaUrl;
+    }
+
+    public void setReplicaUrl(String replicaUrl) {
+        this.replicaUrl = replicaUrl;
+    }
+
+    public String getReplicaUsername() {
+        return replicaUsername;
+    }
+
+    public void setReplicaUsername(String replicaUsername) {
+        this.replicaUsername = replicaUsername;
+    }
+
+    public String getReplicaPassword() {
+        return replicaPassword;
+    }
+
+    public void setReplicaPassword(String replicaPassword) {
+        this.replicaPassword = replicaPassword;
+    }
+
+    public int getReplicaMaximumPoolSize() {
+        return replicaMaximumPoolSize;
+    }
+
+    public void setReplicaMaximumPoolSize(int replicaMaximumPoolSize) {
+        this.replicaMaximumPoolSize = replicaMaximumPoolSize;
+    }
+
+    public Duration getReplicaMaxLag() {
+        return replicaMaxLag;
+    }
+
+    public void setReplicaMaxLag(Duration replicaMaxLag) {
+        this.replicaMaxLag = replicaMaxLag;
+    }
+
+    public Duration getReplicaHealthCheckInterval() {
+        return replicaHealthCheckInterval;
+    }
+
+    public void setReplicaHealthCheckInterval(Duration replicaHealthCheckInterval) {
+        this.replicaHealthCheckInterval = replicaHealthCheckInterval;
+    }
+}
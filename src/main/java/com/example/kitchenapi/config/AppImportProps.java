@@ -0,0 +1,39 @@
+package com.example.kitchenapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 一括インポートに関する設定プロパティ
+ * application.yml の app.import.* を読み込む
+ */
+@Component
+@ConfigurationProperties(prefix = "app.import")
+public class AppImportProps {
+
+    /**
+     * 1トランザクションで登録するレシピ数
+     */
+    private int chunkSize = 500;
+
+    /**
+     * 結果に含めるエラーの最大件数（失敗件数は全件を数える）
+     */
+    private int maxReportedErrors = 100;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxReportedErrors() {
+        return maxReportedErrors;
+    }
+
+    public void setMaxReportedErrors(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.kitchenapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * バックグラウンドジョブに関する設定プロパティ
+ * application.yml の app.jobs.* を読み込む
+ */
+@Component
+@ConfigurationProperties(prefix = "app.jobs")
+public class AppJobProps {
+
+    /**
+     * 起動時に既存レシピのタグを recipe_tags へ移行するかどうか
+     */
+    private boolean tagBackfillEnabled = true;
+
+    /**
+     * タグ移行で1トランザクションあたりに処理するレシピ数
+     */
+    private int tagBackfillBatchSize = 500;
+
+    /**
+     * 期限切れチェックで1チャンクにまとめるユーザー数
+     */
+    private int pantryExpiryChunkSize = 500;
+
+    /**
+     * 期限切れチェックでチャンクを並列に処理するスレッド数
+     */
+    private int pantryExpiryThreads = 4;
+
+    /**
+     * 期限切れチェックの実行ロックの最長保持期間（実行中のインスタンスが停止した場合はこの期間の後に他のインスタンスが実行できる）
+     */
+    private Duration pantryExpiryLockAtMostFor = Duration.ofHours(1);
+
+    /**
+     * 期限切れチェックの実行ロックを取得から最低限保持する期間（起動時刻がずれたインスタンスによる再実行を防ぐ）
+     */
+    private Duration pantryExpiryLockAtLeastFor = Duration.ofMinutes(10);
+
+    public boolean isTagBackfillEnabled() {
+        return tagBackfillEnabled;
+    }
+
+    public void setTagBackfillEnabled(boolean tagBackfillEnabled) {
+        this.tagBackfillEnabled = tagBackfillEnabled;
+    }
+
+    public int getTagBackfillBatchSize() {
+        return tagBackfillBatchSize;
+    }
+
+    public void setTagBackfillBatchSize(int tagBackfillBatchSize) {
+        this.tagBackfillBatchSize = tagBackfillBatchSize;
+    }
+
+    public int getPantryExpiryChunkSize() {
+        return pantryExpiryChunkSize;
+    }
+
+    public void setPantryExpiryChunkSize(int pantryExpiryChunkSize) {
+        this.pantryExpiryChunkSize = pantryExpiryChunkSize;
+    }
+
+    public int getPantryExpiryThreads() {
+        return pantryExpiryThreads;
+    }
+
+    public void setPantryExpiryThreads(int pantryExpiryThreads) {
+        this.pantryExpiryThreads = pantryExpiryThreads;
+    }
+
+    public Duration getPantryExpiryLockAtMostFor() {
+        return pantryExpiryLockAtMostFor;
+    }
+
+    public void setPantryExpiryLockAtMostFor(Duration pantryExpiryLockAtMostFor) {
+        this.pantryExpiryLockAtMostFor = pantryExpiryLockAtMostFor;
+    }
+
+    public Duration getPantryExpiryLockAtLeastFor() {
+        return pantryExpiryLockAtLeastFor;
+    }
+
+    public void setPantryExpiryLockAtLeastFor(Duration pantryExpiryLockAtLeastFor) {
+        this.pantryExpiryLockAtLeastFor = pantryExpiryLockAtLeastFor;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.kitchenapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * リクエスト処理に関する設定プロパティ
+ * application.yml の app.web.* を読み込む
+ */
+@Component
+@ConfigurationProperties(prefix = "app.web")
+public class AppWebProps {
+
+    /**
+     * 同時に処理する /api リクエストの上限（0以下の場合は制限なし）
+     * 仮想スレッド使用時はTomcatのスレッド数が上限にならないため、DB接続プールへの殺到を防ぐために設定する
+     */
+    private int maxConcurrentRequests = 0;
+
+    /**
+     * 上限に達している場合に空きを待つ最大時間（超過すると503を返す）
+     */
+    private Duration concurrencyAcquireTimeout = Duration.ofSeconds(2);
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public Duration getConcurrencyAcquireTimeout() {
+        return concurrencyAcquireTimeout;
+    }
+
+    public void setConcurrencyAcquireTimeout(Duration concurrencyAcquireTimeout) {
+        this.concurrencyAcquireTimeout = concurrencyAcquireTimeout;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.kitchenapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * 読み取りレプリカを使用するDataSourceの構成
+ * app.datasource.replica-url が設定されている場合だけ有効になり、アプリケーションのDataSourceを
+ * 読み取り専用トランザクションをレプリカに振り分けるDataSourceに置き換えます（未設定の場合はBootの自動構成のまま）。
+ * プライマリの接続プールは spring.datasource.*、レプリカの接続プールは app.datasource.replica-* で設定します。
+ * Flyway と書き込みを行うトランザクションは常にプライマリを使用します。
+ * 読み取り専用トランザクションで取得したレプリカの接続を同じリクエストの後続の書き込みが使用しないよう、
+ * 接続はトランザクションの終了ごとに返却する設定（application.yml の hibernate.connection.handling_mode）を前提とします。
+ * レプリカの遅延が問題になる読み込み（条件付きGETのバージョンや世代の確認など）は、読み取り専用にせずプライマリで行います。
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.datasource", name = "replica-url")
+public class ReadReplicaDataSourceConfig {
+
+    /**
+     * レプリカからの接続の取得を待つ時間
+     * レプリカが停止している場合に、次の状態確認を待たずに短時間でプライマリへ切り替える
+     */
+    private static final long REPLICA_CONNECTION_TIMEOUT_MILLIS = 1_000;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * レプリカの接続プールはこのDataSourceが所有し、Beanとしては公開しない
+     * （レプリカの停止でヘルスチェックがDOWNになり、アプリケーションが再起動されないようにする）。
+     */
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            AppDataSourceProps props,
+            MeterRegistry meterRegistry) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setJdbcUrl(props.getReplicaUrl());
+        replica.setUsername(props.getReplicaUsername());
+        replica.setPassword(props.getReplicaPassword());
+        replica.setMaximumPoolSize(props.getReplicaMaximumPoolSize());
+        replica.setConnectionTimeout(REPLICA_CONNECTION_TIMEOUT_MILLIS);
+        replica.setReadOnly(true);
+        // 起動時にレプリカへ接続できなくても起動を続け、状態確認で回復を待つ
+        replica.setInitializationFailTimeout(-1);
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replica, props.getReplicaMaxLag(), meterRegistry);
+    }
+
+    /**
+     * アプリケーションが使用するDataSource
+     * トランザクションの読み取り専用フラグが設定された後の最初のSQLで接続を取得し、接続先を決定する。
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    /**
+     * 読み取り専用トランザクションで二次キャッシュに書き込まないトランザクションマネージャー
+     * （Bootの自動構成の transactionManager を置き換える）
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        JpaTransactionManager transactionManager = new ReadReplicaJpaTransactionManager();
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+}
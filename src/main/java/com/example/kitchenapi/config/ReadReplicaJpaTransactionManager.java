@@ -0,0 +1,52 @@
+package com.example.kitchenapi.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 読み取りレプリカを使用する場合のトランザクションマネージャー
+ * 読み取り専用トランザクション（レプリカで実行される）では、Hibernateセッションのキャッシュモードを
+ * {@link CacheMode#GET} にし、二次キャッシュから読み込むだけでレプリカから読み込んだ内容を書き込みません。
+ * レプリカは最大 app.datasource.replica-max-lag だけ遅れるため、更新で無効化されたエントリやコレクションを
+ * 更新前の行で埋め直すと、二次キャッシュの有効期限まで古い内容が返り続けます。
+ * 二次キャッシュへの書き込みは、プライマリでのトランザクションとトランザクション外の遅延読み込みだけが行います。
+ */
+public class ReadReplicaJpaTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        if (definition.isReadOnly()) {
+            Session session = currentSession();
+            if (session != null) {
+                session.setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        // Open Session in View のセッションは同じリクエストの後続のトランザクションでも使われるため、元に戻す
+        Session session = currentSession();
+        if (session != null && session.getCacheMode() == CacheMode.GET) {
+            session.setCacheMode(CacheMode.NORMAL);
+        }
+        super.doCleanupAfterCompletion(transaction);
+    }
+
+    /**
+     * 現在のトランザクションにバインドされたセッション（閉じられている場合はnull）
+     */
+    private Session currentSession() {
+        EntityManagerHolder holder =
+                (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        if (holder == null || !holder.getEntityManager().isOpen()) {
+            return null;
+        }
+        return holder.getEntityManager().unwrap(Session.class);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.kitchenapi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 読み取りレプリカへのルーティングを行うDataSource
+ * 読み取り専用トランザクション（{@code @Transactional(readOnly = true)}）の接続をレプリカから、
+ * それ以外の接続をプライマリから取得します。
+ * トランザクションの読み取り専用フラグは開始後に設定されるため、{@code LazyConnectionDataSourceProxy} で包み、
+ * 最初のSQLの実行時に接続を取得するようにしてください。
+ * レプリカの状態と遅延は app.datasource.replica-health-check-interval ごとに確認し、
+ * 接続できない場合や遅延が app.datasource.replica-max-lag を超えている場合はプライマリで読み込みます。
+ * 状態と遅延は datasource.replica.available / datasource.replica.lag、
+ * プライマリへの切り替え回数は datasource.replica.fallbacks メトリクスで確認できます。
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    /**
+     * レプリカの遅延（ミリ秒）を取得するクエリ
+     * 受信済みのWALをすべて適用している場合は、プライマリへの書き込みがなくても遅延0とみなす
+     * （最後の適用時刻との差だけで判定すると、書き込みのない時間帯に遅延していると誤判定するため）。
+     * レプリカでないサーバーの場合も0を返す。
+     */
+    static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final Counter fallbacks;
+
+    // 最初の確認が成功するまではプライマリを使用する
+    private volatile boolean replicaAvailable = false;
+    private volatile long lagMillis = 0;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag,
+                                        MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.fallbacks = Counter.builder("datasource.replica.fallbacks")
+                .description("Read-only connections taken from the primary because the replica was unavailable")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.available", this, ds -> ds.replicaAvailable ? 1 : 0)
+                .description("Whether read-only transactions are routed to the replica")
+                .register(meterRegistry);
+        TimeGauge.builder("datasource.replica.lag", this, TimeUnit.MILLISECONDS, ds -> ds.lagMillis)
+                .description("Replication lag measured by the last health check")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (replicaAvailable) {
+                try {
+                    return replica.getConnection();
+                } catch (SQLException e) {
+                    // 次の確認で回復するまでプライマリを使用する
+                    markUnavailable("connection failed: " + e.getMessage());
+                }
+            }
+            fallbacks.increment();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (replicaAvailable) {
+                try {
+                    return replica.getConnection(username, password);
+                } catch (SQLException e) {
+                    markUnavailable("connection failed: " + e.getMessage());
+                }
+            }
+            fallbacks.increment();
+        }
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * レプリカに接続して遅延を測定し、読み取り専用トランザクションの接続先を更新します。
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica-health-check-interval:5s}")
+    public void checkHealth() {
+        long lag;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            lag = resultSet.getLong(1);
+        } catch (SQLException e) {
+            markUnavailable("health check failed: " + e.getMessage());
+            return;
+        }
+
+        lagMillis = lag;
+        if (lag > maxLag.toMillis()) {
+            markUnavailable("replication lag " + lag + "ms exceeds " + maxLag.toMillis() + "ms");
+        } else if (!replicaAvailable) {
+            replicaAvailable = true;
+            log.info("Routing read-only transactions to the replica (lag {}ms)", lag);
+        }
+    }
+
+    /**
+     * 読み取り専用トランザクションがレプリカを使用するかどうかを返します。
+     *
+     * @return 直近の確認でレプリカが利用可能だった場合はtrue
+     */
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    /**
+     * レプリカの接続プールを閉じます。
+     */
+    @Override
+    public void close() throws Exception {
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void markUnavailable(String reason) {
+        if (replicaAvailable) {
+            replicaAvailable = false;
+            log.warn("Routing read-only transactions to the primary: {}", reason);
+        }
+    }
+}
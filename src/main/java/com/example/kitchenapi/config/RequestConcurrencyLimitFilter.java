@@ -0,0 +1,143 @@
+package com.example.kitchenapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * /api リクエストの同時処理数を制限するフィルター
+ * 仮想スレッドでリクエストを処理する場合、Tomcatのスレッドプールによる上限がなくなるため、
+ * 大量のリクエストがそのままDB接続プール（Hikari）の待ち行列に積み上がってしまいます。
+ * app.web.max-concurrent-requests を超えたリクエストは最大 app.web.concurrency-acquire-timeout だけ待ち、
+ * 空きが出なければ503（Retry-After付き）を返します。上限が0以下の場合は何もしません。
+ * 非同期処理を開始したリクエスト（StreamingResponseBody など）は、最初のディスパッチが戻った後も
+ * 非同期処理の完了・エラー・タイムアウトまで枠を保持します（非同期ディスパッチでは枠を取得し直しません）。
+ * 処理中の件数と拒否件数は app.web.concurrency.active / app.web.concurrency.rejected メトリクスで確認できます。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final int maxConcurrentRequests;
+    private final Duration acquireTimeout;
+    private final Semaphore permits;
+    private final Counter rejected;
+    private final ObjectMapper objectMapper;
+
+    public RequestConcurrencyLimitFilter(AppWebProps props, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.maxConcurrentRequests = props.getMaxConcurrentRequests();
+        this.acquireTimeout = props.getConcurrencyAcquireTimeout();
+        this.permits = new Semaphore(Math.max(maxConcurrentRequests, 0), true);
+        this.objectMapper = objectMapper;
+        this.rejected = Counter.builder("app.web.concurrency.rejected")
+                .description("Requests rejected because the concurrency limit was reached")
+                .register(meterRegistry);
+        Gauge.builder("app.web.concurrency.active", this,
+                        filter -> filter.maxConcurrentRequests - filter.permits.availablePermits())
+                .description("Requests currently holding a concurrency permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return maxConcurrentRequests <= 0 || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            writeServiceUnavailable(response);
+            return;
+        }
+        Permit permit = new Permit();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // 応答の書き出しが終わるまでDB接続などを使い続けるため、非同期処理の終了時に返却する
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * 1リクエスト分の枠
+     * 非同期処理では完了・エラー・タイムアウトの通知が重なることがあるため、返却は1回だけ行う。
+     */
+    private final class Permit implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // 非同期処理が再開された場合は、新しいAsyncContextで終了を待つ
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private void writeServiceUnavailable(HttpServletResponse response) throws IOException {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry");
+        problemDetail.setTitle("Service Unavailable");
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problemDetail);
+    }
+}
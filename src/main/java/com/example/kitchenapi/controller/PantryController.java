@@ -1,21 +1,31 @@
 package com.example.kitchenapi.controller;
 
+import com.example.kitchenapi.common.CountMode;
+import com.example.kitchenapi.common.CursorPage;
+import com.example.kitchenapi.common.ETags;
+import com.example.kitchenapi.common.NdjsonWriter;
 import com.example.kitchenapi.dto.PantryDto;
 import com.example.kitchenapi.entity.PantryItemEntity;
 import com.example.kitchenapi.security.AuthUser;
+import com.example.kitchenapi.service.IngredientService;
 import com.example.kitchenapi.service.PantryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 /**
  * パントリー関連のエンドポイントを管理するコントローラー。
@@ -26,9 +36,13 @@ import java.time.LocalDate;
 public class PantryController {
 
     private final PantryService pantryService;
+    private final IngredientService ingredientService;
+    private final ObjectMapper objectMapper;
 
-    public PantryController(PantryService pantryService) {
+    public PantryController(PantryService pantryService, IngredientService ingredientService, ObjectMapper objectMapper) {
         this.pantryService = pantryService;
+        this.ingredientService = ingredientService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -61,6 +75,29 @@ public class PantryController {
         return ResponseEntity.status(HttpStatus.CREATED).body(pantryView);
     }
 
+    /**
+     * POST /pantry/batch
+     * 複数のパントリーアイテムの追加・更新・削除を1つのトランザクションでまとめて適用します。
+     * 不正な操作や見つからないアイテムへの操作はその操作だけが失敗し、残りの操作は適用されます。
+     *
+     * @param req 操作（add|update|delete）のリストを含むリクエスト（最大500件）
+     * @param authentication Spring Securityの認証オブジェクト
+     * @return 200 適用した操作数、失敗した操作数、操作ごとの結果
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<PantryDto.BatchResult> applyBatch(
+            @Valid @RequestBody PantryDto.BatchRequest req,
+            Authentication authentication) {
+
+        // SecurityContextからAuthUserを取得
+        AuthUser authUser = (AuthUser) authentication.getPrincipal();
+
+        // 操作を種類ごとにまとめて適用
+        PantryDto.BatchResult result = pantryService.applyBatch(authUser.getUserId(), req.ops());
+
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * GET /pantry
      * フィルターとページネーションを使用してパントリーアイテムを検索します。
@@ -71,38 +108,122 @@ public class PantryController {
      * @param page ページ番号（デフォルト: 0）
      * @param size ページサイズ（デフォルト: 20）
      * @param sort ソートパラメータ（"フィールド名,方向"の形式、デフォルト: "id,desc"）
+     * @param count 総件数の取得方法（exact|estimate|none、デフォルト: exact）
      * @param authentication Spring Securityの認証オブジェクト
-     * @return 200 PantryViewのページ
+     * @param webRequest If-None-Match の確認に使用するリクエスト
+     * @return 200 PantryViewのページ（count=noneの場合は総件数を含まないSlice）、または 304 Not Modified
      */
     @GetMapping
-    public ResponseEntity<Page<PantryDto.PantryView>> searchPantryItems(
+    public ResponseEntity<Slice<PantryDto.PantryView>> searchPantryItems(
             @RequestParam(required = false) String ingredient,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expTo,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "id,desc") String sort,
-            Authentication authentication) {
+            @RequestParam(defaultValue = "exact") String count,
+            Authentication authentication,
+            WebRequest webRequest) {
 
         // SecurityContextからAuthUserを取得
         AuthUser authUser = (AuthUser) authentication.getPrincipal();
 
-        // ソートパラメータをパース
+        // ソートパラメータと総件数の取得方法をパース
         Pageable pageable = createPageable(page, size, sort);
+        CountMode countMode = CountMode.parse(count);
+
+        // パントリーの世代と検索条件からETagを作り、一致する場合は検索せずに304を返す
+        // （count=estimateの総件数は推定値のため、世代が同じ間は以前の推定値のままになる）
+        String etag = ETags.of("pantry", authUser.getUserId(), pantryService.currentGeneration(authUser.getUserId()),
+                ingredient, expFrom, expTo, pageable, countMode);
+        if (webRequest.checkNotModified(etag)) {
+            return ETags.notModified(etag);
+        }
+
+        // 必要な列だけをDTOに射影して検索（エンティティは読み込まない）
+        Slice<PantryDto.PantryView> pantryViewPage = pantryService.findViewsByUserId(
+                authUser.getUserId(),
+                ingredient,
+                expFrom,
+                expTo,
+                pageable,
+                countMode
+        );
+
+        return ETags.ok(etag, pantryViewPage);
+    }
+
+    /**
+     * GET /pantry?cursor=...
+     * キーセットページネーションでパントリーアイテムを検索します。
+     * 先頭ページは空のカーソル（{@code ?cursor=}）で要求し、以降はレスポンスのnextCursorを渡します。
+     * 並び順は賞味期限の昇順（賞味期限なしは末尾）で固定され、総件数は返しません。
+     *
+     * @param ingredient 材料名（任意）
+     * @param expFrom 賞味期限の開始日フィルター（任意）
+     * @param expTo 賞味期限の終了日フィルター（任意）
+     * @param cursor 前のページのnextCursor（先頭ページは空）
+     * @param size ページサイズ（デフォルト: 20）
+     * @param authentication Spring Securityの認証オブジェクト
+     * @param webRequest If-None-Match の確認に使用するリクエスト
+     * @return 200 PantryViewのページと次のページのカーソル、または 304 Not Modified
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<PantryDto.PantryView>> searchPantryItemsByCursor(
+            @RequestParam(required = false) String ingredient,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication,
+            WebRequest webRequest) {
 
-        // パントリーアイテムを検索
-        Page<PantryItemEntity> pantryPage = pantryService.findByUserId(
+        // SecurityContextからAuthUserを取得
+        AuthUser authUser = (AuthUser) authentication.getPrincipal();
+
+        // パントリーの世代と検索条件からETagを作り、一致する場合は検索せずに304を返す
+        String etag = ETags.of("pantry-cursor", authUser.getUserId(),
+                pantryService.currentGeneration(authUser.getUserId()), ingredient, expFrom, expTo, cursor, size);
+        if (webRequest.checkNotModified(etag)) {
+            return ETags.notModified(etag);
+        }
+
+        // カーソル位置以降のパントリーアイテムを、必要な列だけをDTOに射影して検索
+        CursorPage<PantryDto.PantryView> pantryPage = pantryService.findViewsByUserIdAfter(
                 authUser.getUserId(),
                 ingredient,
                 expFrom,
                 expTo,
-                pageable
+                cursor,
+                size
         );
 
-        // Page<Entity>をPage<DTO>に変換
-        Page<PantryDto.PantryView> pantryViewPage = pantryPage.map(this::convertToPantryView);
+        return ETags.ok(etag, pantryPage);
+    }
 
-        return ResponseEntity.ok(pantryViewPage);
+    /**
+     * GET /pantry/export
+     * ログインユーザーの全パントリーアイテムをNDJSON（1行に1アイテム）としてエクスポートします。
+     * ページングを行わず、サーバーサイドカーソルで読み込みながら逐次書き出すため、件数に関わらずメモリ使用量は一定です。
+     *
+     * @param authentication Spring Securityの認証オブジェクト
+     * @return 200 PantryViewを1行ずつ書き出すストリーミング応答（ID順）
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportPantryItems(Authentication authentication) {
+
+        // SecurityContextからAuthUserを取得
+        AuthUser authUser = (AuthUser) authentication.getPrincipal();
+
+        // 応答の書き込みは非同期スレッドで行われ、トランザクションもそのスレッドで開始される
+        StreamingResponseBody body = outputStream -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, outputStream);
+            pantryService.exportViews(authUser.getUserId(), writer::write);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.APPLICATION_NDJSON)
+                .body(body);
     }
 
     /**
@@ -161,14 +282,27 @@ public class PantryController {
 
     /**
      * PantryItemEntityをPantryView DTOに変換します。
+     * 材料名は材料辞書キャッシュから解決し、材料エンティティの読み込みを避けます。
      *
      * @param pantryItem パントリーアイテムエンティティ
      * @return パントリービューDTO
      */
     private PantryDto.PantryView convertToPantryView(PantryItemEntity pantryItem) {
+        Long ingredientId = pantryItem.getIngredient().getId();
+        return convertToPantryView(pantryItem, ingredientService.findNamesByIds(List.of(ingredientId)));
+    }
+
+    /**
+     * 解決済みの材料名を使ってPantryItemEntityをPantryView DTOに変換します。
+     *
+     * @param pantryItem パントリーアイテムエンティティ
+     * @param names 材料IDをキーとする材料名のマップ
+     * @return パントリービューDTO
+     */
+    private PantryDto.PantryView convertToPantryView(PantryItemEntity pantryItem, Map<Long, String> names) {
         return new PantryDto.PantryView(
                 pantryItem.getId(),
-                pantryItem.getIngredient().getName(),
+                names.computeIfAbsent(pantryItem.getIngredient().getId(), id -> pantryItem.getIngredient().getName()),
                 pantryItem.getAmount(),
                 pantryItem.getExpiresOn()
         );
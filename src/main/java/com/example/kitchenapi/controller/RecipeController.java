@@ -1,21 +1,38 @@
 package com.example.kitchenapi.controller;
 
+import com.example.kitchenapi.common.CountMode;
+import com.example.kitchenapi.common.CursorPage;
+import com.example.kitchenapi.common.ETags;
+import com.example.kitchenapi.common.IngredientFilter;
+import com.example.kitchenapi.common.NdjsonWriter;
+import com.example.kitchenapi.common.RecipeField;
+import com.example.kitchenapi.common.TagFilter;
 import com.example.kitchenapi.dto.RecipeDto;
 import com.example.kitchenapi.entity.RecipeEntity;
-import com.example.kitchenapi.entity.RecipeIngredientEntity;
 import com.example.kitchenapi.security.AuthUser;
+import com.example.kitchenapi.service.IngredientService;
+import com.example.kitchenapi.service.RecipeImportService;
 import com.example.kitchenapi.service.RecipeService;
+import com.example.kitchenapi.service.RecipeViewCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -27,9 +44,19 @@ import java.util.stream.Collectors;
 public class RecipeController {
 
     private final RecipeService recipeService;
-
-    public RecipeController(RecipeService recipeService) {
+    private final RecipeImportService recipeImportService;
+    private final IngredientService ingredientService;
+    private final RecipeViewCache recipeViewCache;
+    private final ObjectMapper objectMapper;
+
+    public RecipeController(RecipeService recipeService, RecipeImportService recipeImportService,
+                            IngredientService ingredientService, RecipeViewCache recipeViewCache,
+                            ObjectMapper objectMapper) {
         this.recipeService = recipeService;
+        this.recipeImportService = recipeImportService;
+        this.ingredientService = ingredientService;
+        this.recipeViewCache = recipeViewCache;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -64,21 +91,68 @@ public class RecipeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(recipeView);
     }
 
+    /**
+     * POST /recipes/bulk
+     * レシピを一括で登録します。
+     * ボディはレシピ作成リクエストのJSON配列、または1行に1レシピのNDJSONです。
+     * 一定件数ごとに1トランザクションで登録し、不正なレシピは登録せずにエラーとして報告します（他のレシピは登録されます）。
+     *
+     * @param body リクエストボディ
+     * @param authentication Spring Securityの認証オブジェクト
+     * @return 200 受け取ったレシピ数、登録したレシピ数、登録できなかったレシピの位置とエラー
+     * @throws IOException リクエストボディの読み込みに失敗した場合
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<RecipeDto.BulkImportResult> importRecipes(
+            InputStream body,
+            Authentication authentication) throws IOException {
+
+        // SecurityContextからAuthUserを取得
+        AuthUser authUser = (AuthUser) authentication.getPrincipal();
+
+        // ボディを読み込みながらチャンク単位で登録
+        RecipeDto.BulkImportResult result = recipeImportService.importRecipes(authUser.getUserId(), body);
+
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * GET /recipes/{id}
      * IDでレシピを取得します。
+     * 応答にはレシピのバージョンから作ったETagを付け、If-None-Match が一致する場合は
+     * バージョンだけを確認してレシピを読み込まずに 304 を返します。
+     * 同じバージョンのJSONがシリアライズ済みレシピのキャッシュにある場合は、そのバイト列をそのまま書き込みます。
      *
      * @param id レシピID
-     * @return 200 レシピ情報を含むRecipeView
+     * @param webRequest If-None-Match の確認に使用するリクエスト
+     * @return 200 レシピ情報を含むRecipeViewのJSON、または 304 Not Modified
+     * @throws IOException JSONへのシリアライズに失敗した場合
      */
     @GetMapping("/{id}")
-    public ResponseEntity<RecipeDto.RecipeView> getRecipe(@PathVariable Long id) {
-        RecipeEntity recipe = recipeService.findById(id);
+    public ResponseEntity<byte[]> getRecipe(@PathVariable Long id, WebRequest webRequest) throws IOException {
+        // バージョンだけを読み込んでETagを作る
+        long version = recipeService.findVersionById(id);
+        String etag = ETags.of("recipe", id, version);
+        if (webRequest.checkNotModified(etag)) {
+            return ETags.notModified(etag);
+        }
 
-        // エンティティをDTOに変換
-        RecipeDto.RecipeView recipeView = convertToRecipeView(recipe);
+        byte[] json = recipeViewCache.get(id, version);
+        if (json == null) {
+            RecipeEntity recipe = recipeService.findById(id);
 
-        return ResponseEntity.ok(recipeView);
+            // エンティティをDTOに変換してシリアライズし、読み込んだエンティティのバージョンでキャッシュする。
+            // バージョンの確認後に更新された場合もETagは確認したバージョンのまま返す
+            // （checkNotModified で設定済み。内容がETagより新しい分には、次の要求で再検証されるだけで済む）
+            json = objectMapper.writeValueAsBytes(convertToRecipeView(recipe));
+            recipeViewCache.put(id, recipe.getVersion(), json);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(ETags.CACHE_CONTROL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json);
     }
 
     /**
@@ -87,44 +161,133 @@ public class RecipeController {
      *
      * @param q タイトル検索クエリ（任意）
      * @param maxTime 最大調理時間（分）（任意）
-     * @param ingredient 材料名（任意）
+     * @param ingredient 材料名（部分一致、複数指定可）（任意）
+     * @param ingredientMatch 複数の材料の一致方法（all: 全て含む、any: いずれかを含む、デフォルト: all）
+     * @param tag タグ（完全一致、複数指定可）（任意）
+     * @param tagMatch 複数のタグの一致方法（all: 全て持つ、any: いずれかを持つ、デフォルト: all）
      * @param page ページ番号（デフォルト: 0）
      * @param size ページサイズ（デフォルト: 20）
-     * @param sort ソートパラメータ（"フィールド名,方向"の形式、デフォルト: "createdAt,desc"）
+     * @param sort ソートパラメータ（"フィールド名,方向"の形式、デフォルト: "createdAt,desc"。
+     *             q指定時は "relevance,desc" でタイトルの類似度順）
+     * @param count 総件数の取得方法（exact|estimate|none、デフォルト: exact）
+     * @param fields 取得するフィールド（カンマ区切り、例: "title,cookTimeMin,tags"。省略時は全て）（任意）
      * @param authentication Spring Securityの認証オブジェクト
-     * @return 200 RecipeViewのページ
+     * @return 200 RecipeViewのページ（count=noneの場合は総件数を含まないSlice、fieldsに含まれないフィールドはnull）
      */
     @GetMapping
-    public ResponseEntity<Page<RecipeDto.RecipeView>> searchRecipes(
+    public ResponseEntity<Slice<RecipeDto.RecipeView>> searchRecipes(
             @RequestParam(required = false) String q,
             @RequestParam(required = false) Integer maxTime,
-            @RequestParam(required = false) String ingredient,
+            @RequestParam(required = false) List<String> ingredient,
+            @RequestParam(defaultValue = "all") String ingredientMatch,
+            @RequestParam(required = false) List<String> tag,
+            @RequestParam(defaultValue = "all") String tagMatch,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt,desc") String sort,
+            @RequestParam(defaultValue = "exact") String count,
+            @RequestParam(required = false) String fields,
             Authentication authentication) {
 
         // SecurityContextからAuthUserを取得
         AuthUser authUser = (AuthUser) authentication.getPrincipal();
 
-        // ソートパラメータをパース
+        // ソートパラメータ、材料・タグフィルター、総件数の取得方法、取得するフィールドをパース
         Pageable pageable = createPageable(page, size, sort);
+        IngredientFilter ingredients = IngredientFilter.parse(ingredient, ingredientMatch);
+        TagFilter tags = TagFilter.parse(tag, tagMatch);
+        CountMode countMode = CountMode.parse(count);
+        Set<RecipeField> recipeFields = RecipeField.parse(fields);
 
-        // レシピを検索
-        Page<RecipeEntity> recipePage = recipeService.search(
+        // 必要な列だけをDTOに射影して検索（エンティティは読み込まない）
+        Slice<RecipeDto.RecipeView> recipeViewPage = recipeService.searchViews(
                 authUser.getUserId(),
                 q,
                 maxTime,
-                ingredient,
-                pageable
+                ingredients,
+                tags,
+                pageable,
+                countMode,
+                recipeFields
         );
 
-        // Page<Entity>をPage<DTO>に変換
-        Page<RecipeDto.RecipeView> recipeViewPage = recipePage.map(this::convertToRecipeView);
-
         return ResponseEntity.ok(recipeViewPage);
     }
 
+    /**
+     * GET /recipes?cursor=...
+     * キーセットページネーションでレシピを検索します。
+     * 先頭ページは空のカーソル（{@code ?cursor=}）で要求し、以降はレスポンスのnextCursorを渡します。
+     * 並び順は作成日時の降順で固定され、総件数は返しません。
+     *
+     * @param q タイトル検索クエリ（任意）
+     * @param maxTime 最大調理時間（分）（任意）
+     * @param ingredient 材料名フィルター（部分一致、複数指定可）（任意）
+     * @param ingredientMatch 複数の材料の一致方法（all|any、デフォルト: all）
+     * @param tag タグフィルター（完全一致、複数指定可）（任意）
+     * @param tagMatch 複数のタグの一致方法（all|any、デフォルト: all）
+     * @param cursor 前のページのnextCursor（先頭ページは空）
+     * @param size ページサイズ（デフォルト: 20）
+     * @param fields 取得するフィールド（カンマ区切り、省略時は全て）（任意）
+     * @param authentication Spring Securityの認証オブジェクト
+     * @return 200 RecipeViewのページと次のページのカーソル（fieldsに含まれないフィールドはnull）
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<RecipeDto.RecipeView>> searchRecipesByCursor(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer maxTime,
+            @RequestParam(required = false) List<String> ingredient,
+            @RequestParam(defaultValue = "all") String ingredientMatch,
+            @RequestParam(required = false) List<String> tag,
+            @RequestParam(defaultValue = "all") String tagMatch,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields,
+            Authentication authentication) {
+
+        // SecurityContextからAuthUserを取得
+        AuthUser authUser = (AuthUser) authentication.getPrincipal();
+
+        // カーソル位置以降のレシピを、必要な列だけをDTOに射影して検索
+        CursorPage<RecipeDto.RecipeView> recipePage = recipeService.searchViewsAfter(
+                authUser.getUserId(),
+                q,
+                maxTime,
+                IngredientFilter.parse(ingredient, ingredientMatch),
+                TagFilter.parse(tag, tagMatch),
+                cursor,
+                size,
+                RecipeField.parse(fields)
+        );
+
+        return ResponseEntity.ok(recipePage);
+    }
+
+    /**
+     * GET /recipes/export
+     * ログインユーザーの全レシピを材料付きでNDJSON（1行に1レシピ）としてエクスポートします。
+     * ページングを行わず、サーバーサイドカーソルで読み込みながら逐次書き出すため、件数に関わらずメモリ使用量は一定です。
+     *
+     * @param authentication Spring Securityの認証オブジェクト
+     * @return 200 RecipeViewを1行ずつ書き出すストリーミング応答（ID順）
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportRecipes(Authentication authentication) {
+
+        // SecurityContextからAuthUserを取得
+        AuthUser authUser = (AuthUser) authentication.getPrincipal();
+
+        // 応答の書き込みは非同期スレッドで行われ、トランザクションもそのスレッドで開始される
+        StreamingResponseBody body = outputStream -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, outputStream);
+            recipeService.exportViews(authUser.getUserId(), writer::write);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * PATCH /recipes/{id}
      * 既存のレシピを更新します。
@@ -176,14 +339,29 @@ public class RecipeController {
 
     /**
      * RecipeEntityをRecipeView DTOに変換します。
+     * 材料名は材料辞書キャッシュから解決し、材料エンティティの読み込みを避けます。
      *
      * @param recipe レシピエンティティ
      * @return レシピビューDTO
      */
     private RecipeDto.RecipeView convertToRecipeView(RecipeEntity recipe) {
+        List<Long> ingredientIds = recipe.getIngredients().stream()
+                .map(ri -> ri.getId().getIngredientId())
+                .collect(Collectors.toList());
+        return convertToRecipeView(recipe, ingredientService.findNamesByIds(ingredientIds));
+    }
+
+    /**
+     * 解決済みの材料名を使ってRecipeEntityをRecipeView DTOに変換します。
+     *
+     * @param recipe レシピエンティティ
+     * @param names 材料IDをキーとする材料名のマップ
+     * @return レシピビューDTO
+     */
+    private RecipeDto.RecipeView convertToRecipeView(RecipeEntity recipe, Map<Long, String> names) {
         List<RecipeDto.IngredientItem> ingredients = recipe.getIngredients().stream()
                 .map(ri -> new RecipeDto.IngredientItem(
-                        ri.getIngredient().getName(),
+                        names.computeIfAbsent(ri.getId().getIngredientId(), id -> ri.getIngredient().getName()),
                         ri.getQuantity()
                 ))
                 .collect(Collectors.toList());
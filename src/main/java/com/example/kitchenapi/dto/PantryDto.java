@@ -1,13 +1,16 @@
 package com.example.kitchenapi.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * パントリー関連のDTO。
- * すべてのネストされたレコードはPantryControllerのリクエスト/レスポンスで使用されます。
+ * ネストされたレコードはPantryControllerのリクエスト/レスポンスと、期限切れチェックジョブで使用されます。
  */
 public class PantryDto {
 
@@ -46,4 +49,83 @@ public class PantryDto {
             String amount,
             LocalDate expiresOn
     ) {}
+
+    /**
+     * 複数のパントリーアイテムをまとめて追加・更新・削除するためのリクエストDTO。
+     * POST /pantry/batch で使用されます。
+     */
+    public record BatchRequest(
+            @NotEmpty(message = "Operations are required")
+            @Size(max = 500, message = "At most 500 operations are allowed")
+            List<BatchOp> ops
+    ) {}
+
+    /**
+     * 一括操作の1件分。
+     * 必須フィールドは操作の種類によって異なり、不正な操作はその操作だけがエラーになります。
+     *
+     * @param op 操作の種類（add|update|delete）
+     * @param id 対象のパントリーアイテムID（update、deleteで必須）
+     * @param ingredientName 材料名（addで必須）
+     * @param amount 数量（addで必須、updateでは任意）
+     * @param expiresOn 賞味期限（addで必須、updateでは任意）
+     */
+    public record BatchOp(
+            String op,
+            Long id,
+            String ingredientName,
+            String amount,
+            LocalDate expiresOn
+    ) {}
+
+    /**
+     * 一括操作の結果を表すレスポンスDTO。
+     * POST /pantry/batch のレスポンスで使用されます。
+     *
+     * @param applied 適用した操作数
+     * @param failed 適用できなかった操作数
+     * @param results 操作ごとの結果（リクエストの順）
+     */
+    public record BatchResult(
+            int applied,
+            int failed,
+            List<BatchOpResult> results
+    ) {}
+
+    /**
+     * 一括操作1件分の結果。
+     *
+     * @param index リクエスト内の位置（0始まり）
+     * @param op 操作の種類
+     * @param status 結果（created|updated|deleted|not_found|invalid）
+     * @param id 対象または作成したパントリーアイテムID
+     * @param item 追加・更新後のパントリーアイテム（add、updateが成功した場合のみ）
+     * @param error エラーメッセージ（失敗した場合のみ）
+     */
+    public record BatchOpResult(
+            int index,
+            String op,
+            String status,
+            Long id,
+            PantryView item,
+            String error
+    ) {}
+
+    /**
+     * 期限切れ間近のパントリーアイテム。
+     * PantryExpiryJob が材料名を結合して取得した行を表します。
+     *
+     * @param id パントリーアイテムID
+     * @param userId 所有者のユーザーID
+     * @param ingredientName 材料名
+     * @param amount 数量
+     * @param expiresOn 賞味期限
+     */
+    public record ExpiringItem(
+            Long id,
+            Long userId,
+            String ingredientName,
+            String amount,
+            LocalDate expiresOn
+    ) {}
 }
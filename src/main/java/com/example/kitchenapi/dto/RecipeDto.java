@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 
 import java.util.List;
 
@@ -19,9 +20,11 @@ public class RecipeDto {
      */
     public record IngredientItem(
             @NotBlank(message = "Ingredient name is required")
+            @Size(max = 255, message = "Ingredient name must be at most 255 characters")
             String name,
 
             @NotBlank(message = "Ingredient quantity is required")
+            @Size(max = 255, message = "Ingredient quantity must be at most 255 characters")
             String quantity
     ) {}
 
@@ -31,6 +34,7 @@ public class RecipeDto {
      */
     public record CreateRequest(
             @NotBlank(message = "Title is required")
+            @Size(max = 255, message = "Title must be at most 255 characters")
             String title,
 
             @NotBlank(message = "Steps are required")
@@ -40,9 +44,11 @@ public class RecipeDto {
             @Positive(message = "Cook time must be positive")
             Integer cookTimeMin,
 
+            @Size(max = 255, message = "Tags must be at most 255 characters")
             String tags,
 
             @NotNull(message = "Ingredients are required")
+            @Size(max = 100, message = "At most 100 ingredients are allowed")
             @Valid
             List<IngredientItem> ingredients
     ) {}
@@ -53,10 +59,12 @@ public class RecipeDto {
      * PATCH /recipes/{id} で使用されます。
      */
     public record UpdateRequest(
+            @Size(max = 255, message = "Title must be at most 255 characters")
             String title,
             String steps,
             @Positive(message = "Cook time must be positive")
             Integer cookTimeMin,
+            @Size(max = 255, message = "Tags must be at most 255 characters")
             String tags
     ) {}
 
@@ -72,4 +80,31 @@ public class RecipeDto {
             String tags,
             List<IngredientItem> ingredients
     ) {}
+
+    /**
+     * 一括インポートの結果を表すレスポンスDTO。
+     * POST /recipes/bulk のレスポンスで使用されます。
+     *
+     * @param received 受け取ったレシピ数
+     * @param imported 登録したレシピ数
+     * @param failed 登録できなかったレシピ数
+     * @param errors 登録できなかったレシピのエラー（先頭から最大 app.import.max-reported-errors 件）
+     */
+    public record BulkImportResult(
+            int received,
+            int imported,
+            int failed,
+            List<BulkImportError> errors
+    ) {}
+
+    /**
+     * 一括インポートで登録できなかったレシピのエラー。
+     *
+     * @param index 入力内の位置（0始まり）
+     * @param message エラーメッセージ
+     */
+    public record BulkImportError(
+            int index,
+            String message
+    ) {}
 }
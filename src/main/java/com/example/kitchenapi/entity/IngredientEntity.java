@@ -1,10 +1,15 @@
 package com.example.kitchenapi.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Objects;
 
 @Entity
 @Table(name = "ingredients")
+// 材料は追加のみで更新・削除されないため、読み取り専用で二次キャッシュに保持する
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "ingredients")
 public class IngredientEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,6 +28,11 @@ public class PantryItemEntity {
     @Column(nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
 
+    // 楽観的ロックとETag用のバージョン。更新のたびにHibernateが1つ増やす
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // コンストラクタ
     public PantryItemEntity() {
     }
@@ -88,6 +93,14 @@ public class PantryItemEntity {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
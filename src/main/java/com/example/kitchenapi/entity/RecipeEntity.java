@@ -1,16 +1,26 @@
 package com.example.kitchenapi.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
 
 @Entity
 @Table(name = "recipes")
+// 更新・削除はトランザクションのコミットまでキャッシュの項目をロックするため、古い内容を読むことはない
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipes")
 public class RecipeEntity {
+    // IDENTITY だとHibernateのINSERTバッチが無効になるため、シーケンスでIDを事前採番する
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipes_seq")
+    @SequenceGenerator(name = "recipes_seq", sequenceName = "recipes_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -25,13 +35,26 @@ public class RecipeEntity {
     @Column
     private String tags;
 
+    // tags（カンマ区切り）を正規化したタグの集合。タグ検索はこちらを使用する（tags の変更時に同期される）
+    @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipes.tags")
+    @CollectionTable(name = "recipe_tags", joinColumns = @JoinColumn(name = "recipe_id"))
+    @Column(name = "tag", nullable = false)
+    private Set<String> normalizedTags = new LinkedHashSet<>();
+
     @Column(nullable = false)
     private Long ownerId;
 
     @Column(nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
 
+    // 楽観的ロックとETag用のバージョン。タグや材料のコレクションの変更でもHibernateが1つ増やす
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipes.ingredients")
     private List<RecipeIngredientEntity> ingredients = new ArrayList<>();
 
     // コンストラクタ
@@ -42,7 +65,7 @@ public class RecipeEntity {
         this.title = title;
         this.steps = steps;
         this.cookTimeMin = cookTimeMin;
-        this.tags = tags;
+        setTags(tags);
         this.ownerId = ownerId;
     }
 
@@ -83,8 +106,20 @@ public class RecipeEntity {
         return tags;
     }
 
+    /**
+     * タグ（カンマ区切り）を設定し、正規化したタグの集合も同期します。
+     *
+     * @param tags カンマ区切りのタグ
+     */
     public void setTags(String tags) {
         this.tags = tags;
+        Set<String> normalized = normalizeTags(tags);
+        normalizedTags.retainAll(normalized);
+        normalizedTags.addAll(normalized);
+    }
+
+    public Set<String> getNormalizedTags() {
+        return normalizedTags;
     }
 
     public Long getOwnerId() {
@@ -103,6 +138,14 @@ public class RecipeEntity {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<RecipeIngredientEntity> getIngredients() {
         return ingredients;
     }
@@ -111,6 +154,53 @@ public class RecipeEntity {
         this.ingredients = ingredients;
     }
 
+    /**
+     * 材料を関連付けます。
+     * 双方向の関連を同時に設定するため、保存時にレシピと一緒にカスケードで永続化されます。
+     *
+     * @param ingredient 材料エンティティ
+     * @param quantity 分量
+     * @return 追加されたRecipeIngredientEntity
+     */
+    public RecipeIngredientEntity addIngredient(IngredientEntity ingredient, String quantity) {
+        RecipeIngredientEntity recipeIngredient = new RecipeIngredientEntity();
+        recipeIngredient.setRecipe(this);
+        recipeIngredient.setIngredient(ingredient);
+        recipeIngredient.setQuantity(quantity);
+        ingredients.add(recipeIngredient);
+        return recipeIngredient;
+    }
+
+    /**
+     * カンマ区切りのタグを正規化します。
+     * 各タグの前後の空白を除去して小文字に揃え、空のタグと重複を除きます。
+     *
+     * @param tags カンマ区切りのタグ（null可）
+     * @return 正規化したタグの集合（出現順）
+     */
+    public static Set<String> normalizeTags(String tags) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (tags != null) {
+            for (String tag : tags.split(",")) {
+                String value = normalizeTag(tag);
+                if (!value.isEmpty()) {
+                    normalized.add(value);
+                }
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * 1つのタグを正規化します（前後の空白を除去して小文字に揃える）。
+     *
+     * @param tag タグ
+     * @return 正規化したタグ
+     */
+    public static String normalizeTag(String tag) {
+        return tag.strip().toLowerCase(Locale.ROOT);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
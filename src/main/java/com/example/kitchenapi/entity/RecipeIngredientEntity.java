@@ -1,10 +1,15 @@
 package com.example.kitchenapi.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Objects;
 
 @Entity
 @Table(name = "recipe_ingredients")
+// レシピの材料コレクションのキャッシュはIDのみを保持するため、要素もキャッシュする
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipe_ingredients")
 public class RecipeIngredientEntity {
     @EmbeddedId
     private RecipeIngredientKey id = new RecipeIngredientKey();
@@ -0,0 +1,91 @@
+package com.example.kitchenapi.job;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * スケジュールジョブの実行ロック
+ * job_locks テーブルの行をリースとして使い、複数のインスタンスで同時に起動したジョブのうち1台だけが実行できるようにします。
+ * ロックは最長 lockAtMostFor で自動的に期限切れになるため、実行中のインスタンスが停止しても次回の実行は妨げられません。
+ * 解放後も取得から lockAtLeastFor の間は保持するため、起動時刻が少しずれたインスタンスが同じ回を再実行することはありません。
+ */
+@Component
+public class JobLock {
+
+    private final EntityManager entityManager;
+    private final String owner;
+
+    public JobLock(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        // 同じホストの複数プロセス・同じプロセス内の複数のBeanを区別する
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * ロックを取得します。
+     * ロックが存在しないか、保持期限を過ぎている場合にだけ取得できます。
+     *
+     * @param name ジョブ名
+     * @param lockAtMostFor ロックの最長保持期間（実行中のインスタンスが停止した場合はこの期間の後に解放される）
+     * @return 取得できた場合はtrue、他のインスタンスが保持している場合はfalse
+     * @throws IllegalArgumentException ジョブ名が空白、または保持期間が正でない場合
+     */
+    @Transactional
+    public boolean tryLock(String name, Duration lockAtMostFor) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Lock name is required");
+        }
+        if (lockAtMostFor == null || lockAtMostFor.isNegative() || lockAtMostFor.isZero()) {
+            throw new IllegalArgumentException("Lock duration must be positive");
+        }
+
+        // 保持期限を過ぎた行だけを上書きする。同時に実行された場合は行ロックにより1件だけが更新される
+        // （更新するテーブルを指定し、二次キャッシュ全体が無効化されないようにする）
+        int updated = entityManager.createNativeQuery(
+                        "INSERT INTO job_locks (name, locked_until, locked_at, locked_by) "
+                                + "VALUES (?1, now() + ?2 * interval '1 millisecond', now(), ?3) "
+                                + "ON CONFLICT (name) DO UPDATE SET locked_until = EXCLUDED.locked_until, "
+                                + "locked_at = EXCLUDED.locked_at, locked_by = EXCLUDED.locked_by "
+                                + "WHERE job_locks.locked_until <= now()")
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "job_locks")
+                .setParameter(1, name)
+                .setParameter(2, lockAtMostFor.toMillis())
+                .setParameter(3, owner)
+                .executeUpdate();
+        return updated == 1;
+    }
+
+    /**
+     * 取得したロックを解放します。
+     * 取得から lockAtLeastFor が経過していない場合は、その時点まで保持期限を短縮します。
+     * 他のインスタンスが取得し直したロックは変更しません。
+     *
+     * @param name ジョブ名
+     * @param lockAtLeastFor 取得から最低限保持する期間
+     * @throws IllegalArgumentException ジョブ名が空白、または保持期間が負の場合
+     */
+    @Transactional
+    public void unlock(String name, Duration lockAtLeastFor) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Lock name is required");
+        }
+        if (lockAtLeastFor == null || lockAtLeastFor.isNegative()) {
+            throw new IllegalArgumentException("Lock duration must not be negative");
+        }
+
+        entityManager.createNativeQuery(
+                        "UPDATE job_locks SET locked_until = GREATEST(now(), locked_at + ?2 * interval '1 millisecond') "
+                                + "WHERE name = ?1 AND locked_by = ?3")
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "job_locks")
+                .setParameter(1, name)
+                .setParameter(2, lockAtLeastFor.toMillis())
+                .setParameter(3, owner)
+                .executeUpdate();
+    }
+}
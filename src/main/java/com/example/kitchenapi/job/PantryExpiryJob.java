@@ -1,15 +1,26 @@
 package com.example.kitchenapi.job;
 
-import com.example.kitchenapi.entity.PantryItemEntity;
+import com.example.kitchenapi.config.AppJobProps;
+import com.example.kitchenapi.dto.PantryDto;
 import com.example.kitchenapi.service.PantryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -17,16 +28,47 @@ import java.util.stream.Collectors;
  *
  * 毎日午前9時に実行され、今後3日以内に期限切れになるパントリー項目を特定し、
  * 期限切れ項目を持つユーザーの警告をログに記録します。
+ * 対象ユーザーをIDのキーセットで app.jobs.pantry-expiry-chunk-size 人ずつのチャンクに分け、
+ * チャンクごとに材料名を結合した1回のクエリで項目を取得して、固定数のスレッドで並列に処理します。
+ * 待ち行列が一杯のときはスケジューラースレッドが自らチャンクを処理するため、読み込み済みのチャンクは増え続けません。
+ * 複数のインスタンスで起動した場合は、{@link JobLock} を取得できた1台だけが実行します。
+ * 処理件数と所要時間は pantry.expiry.job.* メトリクスで確認できます。
  */
 @Component
 public class PantryExpiryJob {
     private static final Logger log = LoggerFactory.getLogger(PantryExpiryJob.class);
     private static final int EXPIRY_WARNING_DAYS = 3;
+    private static final String LOCK_NAME = "pantry-expiry";
 
     private final PantryService pantryService;
+    private final JobLock jobLock;
+    private final AppJobProps props;
+    private final Timer duration;
+    private final Counter processedItems;
+    private final Counter processedUsers;
+    private final Counter failedChunks;
+    private final Counter skippedRuns;
 
-    public PantryExpiryJob(PantryService pantryService) {
+    public PantryExpiryJob(PantryService pantryService, JobLock jobLock, AppJobProps props,
+                           MeterRegistry meterRegistry) {
         this.pantryService = pantryService;
+        this.jobLock = jobLock;
+        this.props = props;
+        this.duration = Timer.builder("pantry.expiry.job.duration")
+                .description("Time taken by one run of the pantry expiry check")
+                .register(meterRegistry);
+        this.processedItems = Counter.builder("pantry.expiry.job.items")
+                .description("Expiring pantry items processed")
+                .register(meterRegistry);
+        this.processedUsers = Counter.builder("pantry.expiry.job.users")
+                .description("Users with expiring pantry items processed")
+                .register(meterRegistry);
+        this.failedChunks = Counter.builder("pantry.expiry.job.failed.chunks")
+                .description("User chunks that could not be processed")
+                .register(meterRegistry);
+        this.skippedRuns = Counter.builder("pantry.expiry.job.skipped")
+                .description("Runs skipped because another instance holds the job lock")
+                .register(meterRegistry);
     }
 
     /**
@@ -35,44 +77,134 @@ public class PantryExpiryJob {
      */
     @Scheduled(cron = "0 0 9 * * *")
     public void checkExpiringItems() {
+        try {
+            if (!jobLock.tryLock(LOCK_NAME, props.getPantryExpiryLockAtMostFor())) {
+                skippedRuns.increment();
+                log.info("Pantry expiry check job is running or has already run on another instance, skipping");
+                return;
+            }
+        } catch (Exception e) {
+            log.error("Could not acquire the pantry expiry check job lock", e);
+            return;
+        }
+
+        try {
+            checkExpiringItemsLocked();
+        } finally {
+            try {
+                jobLock.unlock(LOCK_NAME, props.getPantryExpiryLockAtLeastFor());
+            } catch (Exception e) {
+                // 解放できなかったロックは lock-at-most-for の経過後に期限切れになる
+                log.error("Could not release the pantry expiry check job lock", e);
+            }
+        }
+    }
+
+    /**
+     * 実行ロックを保持した状態で期限切れ間近のパントリー項目をチェックします。
+     */
+    private void checkExpiringItemsLocked() {
         log.info("Starting pantry expiry check job...");
 
         LocalDate today = LocalDate.now();
         LocalDate checkUntil = today.plusDays(EXPIRY_WARNING_DAYS);
+        RunStats stats = new RunStats();
+        long startedAt = System.nanoTime();
 
-        try {
-            // 今日から3日後までの間に期限切れになる項目を検索
-            List<PantryItemEntity> expiringItems = pantryService.findExpiringSoon(today, checkUntil);
+        int threads = props.getPantryExpiryThreads();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads),
+                new CustomizableThreadFactory("pantry-expiry-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
 
-            if (expiringItems.isEmpty()) {
-                log.info("No items expiring within the next {} days", EXPIRY_WARNING_DAYS);
-                return;
+        long afterUserId = 0;
+        try {
+            // 今日から3日後までの間に期限切れになる項目を持つユーザーを、チャンク単位で読み込んで投入する
+            List<Long> userIds;
+            while (!(userIds = pantryService.findUserIdsWithItemsExpiring(
+                    today, checkUntil, afterUserId, props.getPantryExpiryChunkSize())).isEmpty()) {
+                afterUserId = userIds.get(userIds.size() - 1);
+                List<Long> chunk = userIds;
+                pool.execute(() -> processChunk(chunk, today, checkUntil, stats));
             }
+        } catch (Exception e) {
+            log.error("Error during pantry expiry check job (users up to id {})", afterUserId, e);
+        } finally {
+            awaitCompletion(pool);
+        }
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        duration.record(elapsedNanos, TimeUnit.NANOSECONDS);
 
-            // 整理されたログのためにユーザーIDごとに項目をグループ化
-            Map<Long, List<PantryItemEntity>> itemsByUser = expiringItems.stream()
-                    .collect(Collectors.groupingBy(PantryItemEntity::getUserId));
+        if (stats.items.get() == 0 && stats.failedChunks.get() == 0) {
+            log.info("No items expiring within the next {} days", EXPIRY_WARNING_DAYS);
+        } else {
+            log.info("Pantry expiry check job completed: {} items expiring within {} days for {} users in {} ms",
+                    stats.items.get(), EXPIRY_WARNING_DAYS, stats.users.get(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+        if (stats.failedChunks.get() > 0) {
+            log.warn("Pantry expiry check job could not process {} user chunks", stats.failedChunks.get());
+        }
+    }
+
+    /**
+     * 1チャンク分のユーザーの期限切れ間近の項目を取得し、ユーザーごとにログに記録します。
+     * 失敗したチャンクは記録して、他のチャンクの処理を続けます。
+     */
+    private void processChunk(List<Long> userIds, LocalDate today, LocalDate checkUntil, RunStats stats) {
+        try {
+            List<PantryDto.ExpiringItem> items =
+                    pantryService.findExpiringItemsByUserIds(userIds, today, checkUntil);
 
-            log.info("Found {} items expiring within {} days for {} users",
-                    expiringItems.size(), EXPIRY_WARNING_DAYS, itemsByUser.size());
+            // 整理されたログのためにユーザーIDごとに項目をグループ化（項目はユーザーID順に並んでいる）
+            Map<Long, List<PantryDto.ExpiringItem>> itemsByUser = items.stream()
+                    .collect(Collectors.groupingBy(PantryDto.ExpiringItem::userId, LinkedHashMap::new,
+                            Collectors.toList()));
 
             // 各ユーザーの詳細をログに記録
-            itemsByUser.forEach((userId, items) -> {
-                log.warn("User {} has {} items expiring soon:", userId, items.size());
-                items.forEach(item -> {
-                    long daysUntilExpiry = java.time.temporal.ChronoUnit.DAYS.between(today, item.getExpiresOn());
-                    log.warn("  - {} ({}): expires on {} ({} days)",
-                            item.getIngredient().getName(),
-                            item.getAmount(),
-                            item.getExpiresOn(),
-                            daysUntilExpiry);
-                });
+            itemsByUser.forEach((userId, userItems) -> {
+                log.warn("User {} has {} items expiring soon:", userId, userItems.size());
+                userItems.forEach(item -> log.warn("  - {} ({}): expires on {} ({} days)",
+                        item.ingredientName(),
+                        item.amount(),
+                        item.expiresOn(),
+                        ChronoUnit.DAYS.between(today, item.expiresOn())));
             });
 
-            log.info("Pantry expiry check job completed successfully");
-
+            stats.items.addAndGet(items.size());
+            stats.users.addAndGet(itemsByUser.size());
+            processedItems.increment(items.size());
+            processedUsers.increment(itemsByUser.size());
         } catch (Exception e) {
-            log.error("Error during pantry expiry check job", e);
+            stats.failedChunks.incrementAndGet();
+            failedChunks.increment();
+            log.error("Error checking expiring pantry items of users {} to {}",
+                    userIds.get(0), userIds.get(userIds.size() - 1), e);
         }
     }
+
+    /**
+     * 投入済みのチャンクがすべて処理されるまで待ちます。
+     */
+    private static void awaitCompletion(ThreadPoolExecutor pool) {
+        pool.shutdown();
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.debug("Waiting for {} pantry expiry chunks to finish", pool.getActiveCount() + pool.getQueue().size());
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 1回の実行の処理件数（チャンクを処理するスレッドから更新される）
+     */
+    private static final class RunStats {
+        private final AtomicLong items = new AtomicLong();
+        private final AtomicLong users = new AtomicLong();
+        private final AtomicLong failedChunks = new AtomicLong();
+    }
 }
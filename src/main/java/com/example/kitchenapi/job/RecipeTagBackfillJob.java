@@ -0,0 +1,69 @@
+package com.example.kitchenapi.job;
+
+import com.example.kitchenapi.config.AppJobProps;
+import com.example.kitchenapi.service.RecipeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * RecipeTagBackfillJob - 既存レシピのタグを正規化テーブル（recipe_tags）へ移行するジョブ
+ *
+ * 起動完了後にスケジューラースレッドで1回実行され、タグを持たないレシピを
+ * IDの昇順にバッチ単位（1バッチ1トランザクション）で移行します。
+ * 移行済みのレシピは対象外のため、複数インスタンスで同時に実行されても結果は変わりません。
+ */
+@Component
+public class RecipeTagBackfillJob {
+    private static final Logger log = LoggerFactory.getLogger(RecipeTagBackfillJob.class);
+
+    private final RecipeService recipeService;
+    private final AppJobProps props;
+    private final TaskScheduler taskScheduler;
+
+    public RecipeTagBackfillJob(RecipeService recipeService, AppJobProps props, TaskScheduler taskScheduler) {
+        this.recipeService = recipeService;
+        this.props = props;
+        this.taskScheduler = taskScheduler;
+    }
+
+    /**
+     * 起動完了時に移行をスケジューラースレッドへ投入します（起動処理をブロックしない）。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleOnStartup() {
+        if (props.isTagBackfillEnabled()) {
+            taskScheduler.schedule(this::backfill, Instant.now());
+        }
+    }
+
+    /**
+     * 移行対象がなくなるまでバッチを繰り返します。
+     *
+     * @return 移行したレシピの数
+     */
+    public int backfill() {
+        log.info("Starting recipe tag backfill job...");
+
+        int total = 0;
+        long afterId = 0;
+        try {
+            List<Long> recipeIds;
+            while (!(recipeIds = recipeService.backfillTags(afterId, props.getTagBackfillBatchSize())).isEmpty()) {
+                total += recipeIds.size();
+                afterId = recipeIds.get(recipeIds.size() - 1);
+                log.debug("Backfilled tags of {} recipes (up to id {})", recipeIds.size(), afterId);
+            }
+            log.info("Recipe tag backfill job completed: {} recipes processed", total);
+        } catch (Exception e) {
+            log.error("Error during recipe tag backfill job (processed {} recipes up to id {})", total, afterId, e);
+        }
+        return total;
+    }
+}
@@ -4,6 +4,8 @@ import com.example.kitchenapi.entity.IngredientEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,6 +19,14 @@ public interface IngredientRepository extends JpaRepository<IngredientEntity, Lo
      */
     Optional<IngredientEntity> findByName(String name);
 
+    /**
+     * Find all ingredients whose name is in the given collection.
+     *
+     * @param names the ingredient names to search for
+     * @return a list of matching ingredients (names that do not exist are simply absent)
+     */
+    List<IngredientEntity> findByNameIn(Collection<String> names);
+
     /**
      * Check if an ingredient exists with the given name.
      *
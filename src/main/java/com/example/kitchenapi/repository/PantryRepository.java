@@ -1,14 +1,18 @@
 package com.example.kitchenapi.repository;
 
 import com.example.kitchenapi.entity.PantryItemEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PantryRepository extends JpaRepository<PantryItemEntity, Long> {
@@ -82,4 +86,22 @@ public interface PantryRepository extends JpaRepository<PantryItemEntity, Long>
      */
     @Query("SELECT p FROM PantryItemEntity p WHERE p.userId = :userId AND p.expiresOn < :today")
     List<PantryItemEntity> findExpiredItems(@Param("userId") Long userId, @Param("today") LocalDate today);
+
+    /**
+     * Stream all pantry items of a user in ID order through a server-side cursor,
+     * fetching each item's ingredient in the same query.
+     * Rows are fetched from the database in batches of the fetch size and loaded read-only,
+     * so the caller must consume the stream inside a transaction and close it afterwards.
+     * The second-level cache is bypassed so that a full export does not evict frequently read entries.
+     *
+     * @param userId the ID of the user
+     * @return a stream of the user's pantry items ordered by ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT p FROM PantryItemEntity p JOIN FETCH p.ingredient WHERE p.userId = :userId ORDER BY p.id")
+    Stream<PantryItemEntity> streamByUserId(@Param("userId") Long userId);
 }
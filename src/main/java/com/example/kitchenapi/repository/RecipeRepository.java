@@ -1,12 +1,18 @@
 package com.example.kitchenapi.repository;
 
 import com.example.kitchenapi.entity.RecipeEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RecipeRepository extends JpaRepository<RecipeEntity, Long> {
@@ -45,12 +51,14 @@ public interface RecipeRepository extends JpaRepository<RecipeEntity, Long> {
     List<RecipeEntity> findByCookTimeMinLessThanEqual(Integer cookTimeMin);
 
     /**
-     * Find recipes by tags containing a specific tag string.
+     * Find recipes that have a specific tag.
+     * The tag is matched exactly (ignoring case and surrounding whitespace) against the
+     * normalized tags in recipe_tags, so "rice" no longer matches "licorice".
      *
      * @param tag the tag to search for
-     * @return a list of recipes containing the tag
+     * @return a list of recipes having the tag
      */
-    @Query("SELECT r FROM RecipeEntity r WHERE r.tags LIKE %:tag%")
+    @Query("SELECT r FROM RecipeEntity r JOIN r.normalizedTags t WHERE t = lower(trim(:tag))")
     List<RecipeEntity> findByTagsContaining(@Param("tag") String tag);
 
     /**
@@ -60,4 +68,42 @@ public interface RecipeRepository extends JpaRepository<RecipeEntity, Long> {
      * @return a list of recipes ordered by newest first
      */
     List<RecipeEntity> findByOwnerIdOrderByCreatedAtDesc(Long ownerId);
+
+    /**
+     * Find recipes by ID together with their ingredient lines and ingredients in a single query.
+     * Used to initialize the ingredients of a search result page without per-recipe lazy loads.
+     *
+     * @param ids the recipe IDs
+     * @return the recipes with initialized ingredients (in no particular order)
+     */
+    @Query("SELECT DISTINCT r FROM RecipeEntity r "
+            + "LEFT JOIN FETCH r.ingredients ri LEFT JOIN FETCH ri.ingredient WHERE r.id IN :ids")
+    List<RecipeEntity> findWithIngredientsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream all recipes of an owner in ID order through a server-side cursor.
+     * Rows are fetched from the database in batches of the fetch size and loaded read-only,
+     * so the caller must consume the stream inside a transaction and close it afterwards.
+     * The second-level cache is bypassed so that a full export does not evict frequently read entries.
+     *
+     * @param ownerId the ID of the owner
+     * @return a stream of the owner's recipes ordered by ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT r FROM RecipeEntity r WHERE r.ownerId = :ownerId ORDER BY r.id")
+    Stream<RecipeEntity> streamByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Find only the version of a recipe.
+     * Used to answer conditional GETs without loading the recipe row or its collections.
+     *
+     * @param id the recipe ID
+     * @return the current version, or empty if the recipe does not exist
+     */
+    @Query("SELECT r.version FROM RecipeEntity r WHERE r.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
@@ -3,6 +3,8 @@ package com.example.kitchenapi.security;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * JWT認証に関する設定プロパティ
  * application.yml の app.security.* を読み込む
@@ -22,6 +24,28 @@ public class AppSecurityProps {
      */
     private int jwtExpMinutes;
 
+    /**
+     * BCryptのコスト（ログ2のラウンド数、4〜31）
+     * 1つ上げるとハッシュ計算時間がおよそ2倍になる
+     */
+    private int bcryptStrength = 10;
+
+    /**
+     * パスワードハッシュ計算専用スレッドの数
+     */
+    private int passwordHashingThreads = 2;
+
+    /**
+     * パスワードハッシュ計算の待ち行列の上限
+     * 上限を超えた要求は待たずに503を返す
+     */
+    private int passwordHashingQueueCapacity = 32;
+
+    /**
+     * パスワードハッシュ計算の完了を待つ最大時間
+     */
+    private Duration passwordHashingTimeout = Duration.ofSeconds(5);
+
     public String getJwtSecret() {
         return jwtSecret;
     }
@@ -37,4 +61,36 @@ public class AppSecurityProps {
     public void setJwtExpMinutes(int jwtExpMinutes) {
         this.jwtExpMinutes = jwtExpMinutes;
     }
+
+    public int getBcryptStrength() {
+        return bcryptStrength;
+    }
+
+    public void setBcryptStrength(int bcryptStrength) {
+        this.bcryptStrength = bcryptStrength;
+    }
+
+    public int getPasswordHashingThreads() {
+        return passwordHashingThreads;
+    }
+
+    public void setPasswordHashingThreads(int passwordHashingThreads) {
+        this.passwordHashingThreads = passwordHashingThreads;
+    }
+
+    public int getPasswordHashingQueueCapacity() {
+        return passwordHashingQueueCapacity;
+    }
+
+    public void setPasswordHashingQueueCapacity(int passwordHashingQueueCapacity) {
+        this.passwordHashingQueueCapacity = passwordHashingQueueCapacity;
+    }
+
+    public Duration getPasswordHashingTimeout() {
+        return passwordHashingTimeout;
+    }
+
+    public void setPasswordHashingTimeout(Duration passwordHashingTimeout) {
+        this.passwordHashingTimeout = passwordHashingTimeout;
+    }
 }
@@ -24,9 +24,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
 
     private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public JwtAuthFilter(JwtService jwtService) {
+    public JwtAuthFilter(JwtService jwtService, VerifiedTokenCache verifiedTokenCache) {
         this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     @Override
@@ -39,27 +41,22 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         // Authorization ヘッダーからトークンを抽出
         String token = extractToken(request);
 
-        // トークンが存在し、検証が成功した場合
-        if (token != null && jwtService.validateToken(token)) {
+        // トークンが存在する場合は検証済みトークンのキャッシュを参照し、
+        // キャッシュにない場合のみ1回の解析で検証とユーザー情報の取得を行う
+        if (token != null) {
             try {
-                // トークンからユーザー情報を取得
-                String email = jwtService.getEmailFromToken(token);
-                Long userId = jwtService.getUserIdFromToken(token);
-
-                // AuthUser オブジェクトを作成（nameは現時点でトークンに含まれていないためnullまたは空）
-                AuthUser authUser = new AuthUser(userId, email, null);
-
-                // Spring Security の Authentication オブジェクトを作成
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                authUser,
-                                null,
-                                Collections.emptyList()
-                        );
-
-                // SecurityContext に認証情報を設定
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                verifiedTokenCache.get(token, jwtService::verify).ifPresent(authUser -> {
+                    // Spring Security の Authentication オブジェクトを作成（nameはトークンに含まれていないためnull）
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    authUser,
+                                    null,
+                                    Collections.emptyList()
+                            );
 
+                    // SecurityContext に認証情報を設定
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                });
             } catch (Exception e) {
                 // トークン解析エラーの場合は認証情報を設定しない
                 logger.warn("Failed to process JWT token", e);
@@ -2,6 +2,7 @@ package com.example.kitchenapi.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 
 /**
  * JWT生成・検証を行うサービス
@@ -19,8 +21,16 @@ public class JwtService {
 
     private final AppSecurityProps props;
 
+    // 署名鍵とパーサーはスレッドセーフなため起動時に1度だけ構築し、リクエストごとに再生成しない
+    private final Key signingKey;
+    private final JwtParser parser;
+
     public JwtService(AppSecurityProps props) {
         this.props = props;
+        this.signingKey = Keys.hmacShaKeyFor(props.getJwtSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     /**
@@ -38,10 +48,37 @@ public class JwtService {
                 .claim("uid", userId)
                 .setIssuedAt(now)
                 .setExpiration(expiration)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * JWTトークンを検証し、認証済みユーザー情報を取得
+     * 署名・有効期限の検証とクレームの取得を1回の解析で行う
+     * @param token 検証対象のトークン
+     * @return 検証に成功した場合はユーザー情報（メールアドレスとユーザーID）、失敗した場合は空
+     */
+    public Optional<AuthUser> authenticate(String token) {
+        return verify(token).map(VerifiedToken::user);
+    }
+
+    /**
+     * JWTトークンを検証し、認証済みユーザー情報と有効期限を取得
+     * 検証結果をキャッシュする場合は有効期限を超えて保持しないこと
+     * @param token 検証対象のトークン
+     * @return 検証に成功した場合はユーザー情報と有効期限、失敗した場合は空
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            Claims claims = getClaims(token);
+            AuthUser authUser = new AuthUser(getUserId(claims), claims.getSubject(), null);
+            Date expiration = claims.getExpiration();
+            return Optional.of(new VerifiedToken(authUser, expiration == null ? null : expiration.toInstant()));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * JWTトークンを検証
      * @param token 検証対象のトークン
@@ -49,10 +86,7 @@ public class JwtService {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            getClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
@@ -75,7 +109,13 @@ public class JwtService {
      * @return ユーザーID (uid claim)
      */
     public Long getUserIdFromToken(String token) {
-        Claims claims = getClaims(token);
+        return getUserId(getClaims(token));
+    }
+
+    /**
+     * ClaimsからユーザーIDを取得
+     */
+    private Long getUserId(Claims claims) {
         Object uid = claims.get("uid");
         if (uid instanceof Number) {
             return ((Number) uid).longValue();
@@ -87,18 +127,6 @@ public class JwtService {
      * トークンからClaimsを取得
      */
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    /**
-     * 署名用のKeyを取得
-     */
-    private Key getSigningKey() {
-        byte[] keyBytes = props.getJwtSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return parser.parseClaimsJws(token).getBody();
     }
 }
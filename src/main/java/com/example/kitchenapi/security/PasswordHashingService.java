@@ -0,0 +1,103 @@
+package com.example.kitchenapi.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * パスワードのハッシュ化・照合を専用のスレッドプールで実行するサービス
+ * BCryptはCPU負荷が高いため、ログインが集中してもレシピや在庫APIの処理が遅れないよう
+ * 同時に実行するハッシュ計算の数と待ち行列の長さを制限します。
+ * 待ち行列が一杯の場合やタイムアウトした場合は、待たずに503を返します。
+ * プールの状態は executor.* メトリクス（name=password.hashing）で確認できます。
+ */
+@Component
+public class PasswordHashingService implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService executor;
+    private final Duration timeout;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, AppSecurityProps props, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = props.getPasswordHashingTimeout();
+        int threads = props.getPasswordHashingThreads();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.getPasswordHashingQueueCapacity()),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hashing");
+    }
+
+    /**
+     * パスワードをハッシュ化します。
+     *
+     * @param rawPassword 平文パスワード
+     * @return ハッシュ化されたパスワード
+     * @throws ResponseStatusException ハッシュ計算が混雑している場合は503
+     */
+    public String encode(CharSequence rawPassword) {
+        return call(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * 平文パスワードとハッシュが一致するかを照合します。
+     *
+     * @param rawPassword 平文パスワード
+     * @param encodedPassword ハッシュ化されたパスワード
+     * @return 一致する場合はtrue
+     * @throws ResponseStatusException ハッシュ計算が混雑している場合は503
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many authentication requests, please retry");
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.kitchenapi.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -50,6 +51,8 @@ public class SecurityConfig {
 
                 // エンドポイントの認証設定
                 .authorizeHttpRequests(auth -> auth
+                        // ストリーミング応答の完了時の非同期ディスパッチ（元のリクエストで認可済み、JWTフィルターは再実行されない）
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // 認証不要のエンドポイント
                         .requestMatchers("/", "/index.html", "/app.js*", "/*.css", "/*.ico").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
@@ -86,9 +89,10 @@ public class SecurityConfig {
     /**
      * パスワードエンコーダーの設定
      * パスワードのハッシュ化にBCryptアルゴリズムを使用します
+     * コストは app.security.bcrypt-strength で設定します（ハッシュ計算は {@link PasswordHashingService} 経由で行う）
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(AppSecurityProps props) {
+        return new BCryptPasswordEncoder(props.getBcryptStrength());
     }
 }
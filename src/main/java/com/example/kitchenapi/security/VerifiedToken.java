@@ -0,0 +1,12 @@
+package com.example.kitchenapi.security;
+
+import java.time.Instant;
+
+/**
+ * 署名と有効期限の検証に成功したJWTの内容
+ *
+ * @param user トークンから取得した認証済みユーザー情報
+ * @param expiresAt トークンの有効期限（exp claim、含まれない場合はnull）
+ */
+public record VerifiedToken(AuthUser user, Instant expiresAt) {
+}
@@ -0,0 +1,108 @@
+package com.example.kitchenapi.security;
+
+import com.example.kitchenapi.config.AppCacheProps;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 検証済みJWTのキャッシュ
+ * 同じBearerトークンが繰り返し送られる場合に、署名検証とクレームの解析を省略します。
+ * キーはトークンのSHA-256ハッシュで、トークン自体はメモリに保持しません。
+ * 各エントリはトークンの有効期限（exp）と app.cache.verified-token-max-ttl の早い方で失効し、
+ * 残り有効期間の計算とキャッシュの経過時間はどちらも同じ {@link Clock} で測ります。
+ * 件数が app.cache.verified-token-max-size を超えると使用頻度の低いものから破棄されます。
+ * 検証に失敗したトークンはキャッシュしません。
+ * ヒット/ミス数は cache.gets メトリクス（cache=jwt.verified-tokens）で確認できます。
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedToken> tokens;
+
+    @Autowired
+    public VerifiedTokenCache(AppCacheProps props, MeterRegistry meterRegistry) {
+        this(props, meterRegistry, ForkJoinPool.commonPool(), Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(AppCacheProps props, MeterRegistry meterRegistry, Executor executor, Clock clock) {
+        Duration maxTtl = props.getVerifiedTokenMaxTtl();
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(props.getVerifiedTokenMaxSize())
+                .expireAfter(Expiry.creating((String key, VerifiedToken token) -> ttlOf(token, maxTtl, clock)))
+                .executor(executor)
+                // exp と同じ時計で経過時間を測る（単調増加の Ticker だと時計とのずれで exp を過ぎても残りうる）
+                .ticker(tickerOf(clock))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "jwt.verified-tokens");
+    }
+
+    /**
+     * トークンに対応する認証済みユーザー情報を返します。
+     * キャッシュにない場合は verifier で検証し、成功した場合のみキャッシュします。
+     *
+     * @param token Bearerトークン
+     * @param verifier トークンの検証処理（通常は {@link JwtService#verify(String)}）
+     * @return 検証済みのユーザー情報（検証に失敗した場合は空）
+     */
+    public Optional<AuthUser> get(String token, Function<String, Optional<VerifiedToken>> verifier) {
+        VerifiedToken verified = tokens.get(hash(token), key -> verifier.apply(token).orElse(null));
+        return Optional.ofNullable(verified).map(VerifiedToken::user);
+    }
+
+    /**
+     * エントリの保持期間: トークンの残り有効期間と最大期間の短い方
+     */
+    private static Duration ttlOf(VerifiedToken token, Duration maxTtl, Clock clock) {
+        if (token.expiresAt() == null) {
+            return maxTtl;
+        }
+        Duration remaining = Duration.between(clock.instant(), token.expiresAt());
+        if (remaining.isNegative()) {
+            return Duration.ZERO;
+        }
+        return remaining.compareTo(maxTtl) < 0 ? remaining : maxTtl;
+    }
+
+    /**
+     * 時計の現在時刻をエポックからのナノ秒で返す Ticker
+     */
+    private static Ticker tickerOf(Clock clock) {
+        return () -> {
+            Instant now = clock.instant();
+            return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        };
+    }
+
+    /**
+     * トークンのSHA-256ハッシュ（Base64）を返します。
+     */
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 はすべてのJava実装で利用可能
+            throw new IllegalStateException(e);
+        }
+    }
+}
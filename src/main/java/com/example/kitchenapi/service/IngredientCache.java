@@ -0,0 +1,126 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.config.AppCacheProps;
+import com.example.kitchenapi.entity.IngredientEntity;
+import com.example.kitchenapi.repository.IngredientRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 材料辞書のプロセス内キャッシュ
+ * 材料名→IDとID→材料名の対応をサイズ上限付きで保持します。
+ * 材料は追加のみで更新・削除されないため、無効化は不要です。
+ * ヒット/ミス数は cache.gets メトリクス（cache=ingredient.ids / ingredient.names）で確認できます。
+ */
+@Component
+public class IngredientCache {
+    private static final Logger log = LoggerFactory.getLogger(IngredientCache.class);
+
+    private final IngredientRepository ingredientRepository;
+    private final int maxSize;
+    private final Cache<String, Long> idsByName;
+    private final Cache<Long, String> namesById;
+
+    public IngredientCache(IngredientRepository ingredientRepository,
+                           AppCacheProps props,
+                           MeterRegistry meterRegistry) {
+        this.ingredientRepository = ingredientRepository;
+        this.maxSize = props.getIngredientMaxSize();
+        this.idsByName = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        this.namesById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByName, "ingredient.ids");
+        CaffeineCacheMetrics.monitor(meterRegistry, namesById, "ingredient.names");
+    }
+
+    /**
+     * 起動完了時に既存の材料をキャッシュへ読み込みます（最大件数まで）。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            ingredientRepository.findAll(PageRequest.of(0, maxSize, Sort.by("id")))
+                    .forEach(this::store);
+            log.info("Ingredient cache warmed up with {} entries", idsByName.estimatedSize());
+        } catch (Exception e) {
+            // キャッシュは最適化にすぎないため、読み込みに失敗しても起動は継続する
+            log.warn("Failed to warm up ingredient cache", e);
+        }
+    }
+
+    /**
+     * 材料名からIDを取得します。
+     *
+     * @param name 材料名
+     * @return 材料ID（キャッシュにない場合はnull）
+     */
+    public Long getId(String name) {
+        return idsByName.getIfPresent(name);
+    }
+
+    /**
+     * IDから材料名を取得します。
+     *
+     * @param id 材料ID
+     * @return 材料名（キャッシュにない場合はnull）
+     */
+    public String getName(Long id) {
+        return namesById.getIfPresent(id);
+    }
+
+    /**
+     * 材料をキャッシュに書き込みます。
+     * トランザクション中の場合はコミット後に書き込み、ロールバックされた材料が残らないようにします。
+     *
+     * @param ingredient IDが確定した材料エンティティ
+     */
+    public void put(IngredientEntity ingredient) {
+        if (ingredient == null || ingredient.getId() == null || ingredient.getName() == null) {
+            return;
+        }
+        Long id = ingredient.getId();
+        String name = ingredient.getName();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(id, name);
+                }
+            });
+        } else {
+            store(id, name);
+        }
+    }
+
+    /**
+     * キャッシュされている材料名の概算件数を返します。
+     */
+    public long size() {
+        return idsByName.estimatedSize();
+    }
+
+    private void store(IngredientEntity ingredient) {
+        store(ingredient.getId(), ingredient.getName());
+    }
+
+    private void store(Long id, String name) {
+        idsByName.put(name, id);
+        namesById.put(id, name);
+    }
+}
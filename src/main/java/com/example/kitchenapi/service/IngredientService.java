@@ -2,9 +2,28 @@ package com.example.kitchenapi.service;
 
 import com.example.kitchenapi.entity.IngredientEntity;
 import com.example.kitchenapi.repository.IngredientRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 /**
  * 材料管理のサービス層
  * 材料の作成と取得操作を処理します。
@@ -12,15 +31,29 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class IngredientService {
 
+    /**
+     * 材料名をバインドする検索・INSERTの1文あたりの最大件数
+     * バインド変数の上限（32767個）を超えないよう、これを超える材料名は複数の文に分割する
+     */
+    static final int NAME_CHUNK_SIZE = 1000;
+
     private final IngredientRepository ingredientRepository;
+    private final IngredientCache ingredientCache;
+    private final EntityManager entityManager;
 
-    public IngredientService(IngredientRepository ingredientRepository) {
+    public IngredientService(IngredientRepository ingredientRepository,
+                             IngredientCache ingredientCache,
+                             EntityManager entityManager) {
         this.ingredientRepository = ingredientRepository;
+        this.ingredientCache = ingredientCache;
+        this.entityManager = entityManager;
     }
 
     /**
      * 名前で材料を検索し、存在しない場合は作成します。
      * このメソッドは材料の一意性を保証し、既存の材料を再利用します。
+     * 作成は {@code INSERT ... ON CONFLICT (name) DO NOTHING} で行うため、
+     * 同じ名前で並行して呼び出されても一意制約違反にはなりません。
      *
      * @param name 材料名
      * @return 見つかったまたは新しく作成されたIngredientEntity
@@ -32,12 +65,219 @@ public class IngredientService {
             throw new IllegalArgumentException("Ingredient name is required");
         }
 
-        // 既存の材料を検索
-        return ingredientRepository.findByName(name)
-                .orElseGet(() -> {
-                    // 見つからない場合は新しい材料を作成
-                    IngredientEntity newIngredient = new IngredientEntity(name);
-                    return ingredientRepository.save(newIngredient);
-                });
+        return findOrCreateAll(List.of(name)).get(name);
+    }
+
+    /**
+     * 複数の材料名をまとめて検索し、存在しないものは一括で作成します。
+     * 既存材料の検索は {@code WHERE name IN (...)}、作成は複数行の
+     * {@code INSERT ... ON CONFLICT (name) DO NOTHING RETURNING} で行い、どちらも {@link #NAME_CHUNK_SIZE} 件ごとに
+     * 1文にまとめます。材料が {@link #NAME_CHUNK_SIZE} 件以下ならラウンドトリップは高々3回で、
+     * 材料辞書キャッシュにある材料はDBにアクセスしません。
+     * キャッシュから解決した材料は未初期化の参照として返すため、名前の表示には
+     * {@link #findNamesByIds(Collection)} を使用してください。
+     *
+     * @param names 材料名のコレクション（重複は1つにまとめられます）
+     * @return 材料名をキー、IngredientEntityを値とするマップ（入力順）
+     * @throws IllegalArgumentException コレクションがnull、または空白の材料名を含む場合
+     */
+    @Transactional
+    public Map<String, IngredientEntity> findOrCreateAll(Collection<String> names) {
+        if (names == null) {
+            throw new IllegalArgumentException("Ingredient names are required");
+        }
+
+        Set<String> distinctNames = new LinkedHashSet<>();
+        for (String name : names) {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("Ingredient name is required");
+            }
+            distinctNames.add(name);
+        }
+        if (distinctNames.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+
+        // キャッシュにある材料はDBにアクセスせず参照（プロキシ）として取得する
+        Map<String, IngredientEntity> found = new HashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String name : distinctNames) {
+            Long cachedId = ingredientCache.getId(name);
+            if (cachedId != null) {
+                found.put(name, entityManager.getReference(IngredientEntity.class, cachedId));
+            } else {
+                uncached.add(name);
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            // 既存の材料を一括検索
+            findByNameIn(uncached, found);
+
+            // 見つからない材料を一括作成（ロック順序を揃えてデッドロックを避けるためソートする）
+            List<String> missing = uncached.stream()
+                    .filter(name -> !found.containsKey(name))
+                    .sorted()
+                    .toList();
+            if (!missing.isEmpty()) {
+                for (List<String> chunk : chunks(missing)) {
+                    insertMissing(chunk).forEach(i -> found.put(i.getName(), i));
+                }
+
+                // 並行して他のトランザクションが作成した材料はRETURNINGに含まれないため再検索する
+                List<String> conflicted = missing.stream()
+                        .filter(name -> !found.containsKey(name))
+                        .toList();
+                if (!conflicted.isEmpty()) {
+                    findByNameIn(conflicted, found);
+                }
+            }
+
+            // DBから解決した材料をキャッシュへ書き込む（コミット後に反映）
+            uncached.forEach(name -> ingredientCache.put(found.get(name)));
+        }
+
+        Map<String, IngredientEntity> result = new LinkedHashMap<>();
+        for (String name : distinctNames) {
+            IngredientEntity ingredient = found.get(name);
+            if (ingredient == null) {
+                throw new IllegalStateException("Failed to resolve ingredient: " + name);
+            }
+            result.put(name, ingredient);
+        }
+        return result;
+    }
+
+    /**
+     * 材料IDから材料名をまとめて取得します。
+     * 材料辞書キャッシュを優先し、キャッシュにないIDのみを1回のクエリで取得します。
+     *
+     * @param ids 材料IDのコレクション
+     * @return 材料IDをキーとする材料名のマップ（存在しないIDは含まれません）
+     * @throws IllegalArgumentException コレクションがnullの場合
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, String> findNamesByIds(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("Ingredient IDs are required");
+        }
+
+        Map<Long, String> names = new HashMap<>();
+        Set<Long> uncached = new LinkedHashSet<>();
+        for (Long id : ids) {
+            String cachedName = ingredientCache.getName(id);
+            if (cachedName != null) {
+                names.put(id, cachedName);
+            } else if (id != null) {
+                uncached.add(id);
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            for (IngredientEntity ingredient : ingredientRepository.findAllById(uncached)) {
+                names.put(ingredient.getId(), ingredient.getName());
+                ingredientCache.put(ingredient);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 材料名の部分文字列ごとに、その文字列を名前に含む材料のIDを検索します（大文字小文字を区別しない）。
+     * 全ての部分文字列を1回のクエリで検索し、{@code lower(name)} に対するトライグラムGINインデックスを使用します。
+     * 一致する材料が maxIds 件を超える場合は、IDの一覧を返さずに空を返します
+     * （短い部分文字列で大量のIDが一致した場合に、呼び出し側がIDのリストではなくサブクエリで絞り込むため）。
+     * 見つかった材料は材料辞書キャッシュにも書き込みます。
+     *
+     * @param fragments 材料名の部分文字列のコレクション
+     * @param maxIds 返す材料IDの最大数
+     * @return 部分文字列をキーとする一致した材料IDの集合のマップ（入力順、一致しない場合は空の集合）。
+     *         一致する材料が maxIds 件を超える場合は空
+     * @throws IllegalArgumentException コレクションがnull、または空白の部分文字列を含む場合
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Set<Long>>> findIdsByNameContaining(Collection<String> fragments, int maxIds) {
+        if (fragments == null) {
+            throw new IllegalArgumentException("Ingredient names are required");
+        }
+
+        Map<String, Set<Long>> result = new LinkedHashMap<>();
+        for (String fragment : fragments) {
+            if (fragment == null || fragment.isBlank()) {
+                throw new IllegalArgumentException("Ingredient name is required");
+            }
+            result.put(fragment, new LinkedHashSet<>());
+        }
+        if (result.isEmpty()) {
+            return Optional.of(result);
+        }
+
+        // lower(name) LIKE '%a%' OR lower(name) LIKE '%b%' ... を1回で検索する
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IngredientEntity> query = cb.createQuery(IngredientEntity.class);
+        Root<IngredientEntity> ingredient = query.from(IngredientEntity.class);
+        Expression<String> lowerName = cb.lower(ingredient.get("name"));
+        query.where(cb.or(result.keySet().stream()
+                .map(fragment -> cb.like(lowerName, "%" + fragment.toLowerCase() + "%"))
+                .toArray(Predicate[]::new)));
+
+        // 上限を超えたかどうかを判定するため1件多く取得する
+        List<IngredientEntity> matched = entityManager.createQuery(query)
+                .setMaxResults(maxIds + 1)
+                .getResultList();
+        if (matched.size() > maxIds) {
+            return Optional.empty();
+        }
+
+        // 見つかった材料をどの部分文字列に一致したかで振り分ける
+        for (IngredientEntity found : matched) {
+            String name = found.getName().toLowerCase();
+            result.forEach((fragment, ids) -> {
+                if (name.contains(fragment.toLowerCase())) {
+                    ids.add(found.getId());
+                }
+            });
+            ingredientCache.put(found);
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * 名前で材料を検索し、見つかった材料を材料名をキーとして found に追加します。
+     */
+    private void findByNameIn(List<String> names, Map<String, IngredientEntity> found) {
+        for (List<String> chunk : chunks(names)) {
+            ingredientRepository.findByNameIn(chunk).forEach(i -> found.put(i.getName(), i));
+        }
+    }
+
+    /**
+     * 材料名のリストを {@link #NAME_CHUNK_SIZE} 件ごとに分割します（順序は保持されます）。
+     */
+    private static List<List<String>> chunks(List<String> names) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < names.size(); from += NAME_CHUNK_SIZE) {
+            chunks.add(names.subList(from, Math.min(from + NAME_CHUNK_SIZE, names.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * 複数行INSERTで材料を作成し、実際に挿入された行を返します。
+     * 一意制約に衝突した名前は挿入されず、戻り値にも含まれません。
+     */
+    @SuppressWarnings("unchecked")
+    private List<IngredientEntity> insertMissing(List<String> names) {
+        String values = IntStream.rangeClosed(1, names.size())
+                .mapToObj(i -> "(?" + i + ")")
+                .collect(Collectors.joining(", "));
+        Query query = entityManager.createNativeQuery(
+                "INSERT INTO ingredients (name) VALUES " + values
+                        + " ON CONFLICT (name) DO NOTHING RETURNING id, name",
+                IngredientEntity.class);
+        for (int i = 0; i < names.size(); i++) {
+            query.setParameter(i + 1, names.get(i));
+        }
+        return query.getResultList();
     }
 }
@@ -0,0 +1,67 @@
+package com.example.kitchenapi.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * ユーザーごとのパントリーの世代
+ * パントリーへの書き込みのたびに、その書き込みと同じトランザクションで pantry_generations の世代を1つ増やします。
+ * 一覧のETagは世代から作るため、世代が変わっていなければ一覧の内容も変わっていないことが保証され、
+ * 主キーで1行を読むだけで 304 Not Modified を返せます。
+ */
+@Service
+public class PantryGenerationService {
+
+    private final EntityManager entityManager;
+
+    public PantryGenerationService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * ユーザーのパントリーの現在の世代を取得します。
+     *
+     * @param userId ユーザーID
+     * @return 現在の世代（一度も書き込みがない場合は0）
+     * @throws IllegalArgumentException ユーザーIDがnullの場合
+     */
+    @Transactional(readOnly = true)
+    public long current(Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+
+        List<?> rows = entityManager.createNativeQuery(
+                        "SELECT generation FROM pantry_generations WHERE user_id = ?1")
+                .setParameter(1, userId)
+                .getResultList();
+        return rows.isEmpty() ? 0L : ((Number) rows.get(0)).longValue();
+    }
+
+    /**
+     * ユーザーのパントリーの世代を1つ増やします。
+     * 呼び出し元のトランザクションに参加するため、書き込みがロールバックされた場合は世代も元に戻ります。
+     * 同じユーザーへの書き込みは世代の行ロックにより順に処理されます。
+     *
+     * @param userId ユーザーID
+     * @throws IllegalArgumentException ユーザーIDがnullの場合
+     */
+    @Transactional
+    public void increment(Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+
+        // 更新するテーブルを指定し、二次キャッシュ全体が無効化されないようにする
+        entityManager.createNativeQuery(
+                        "INSERT INTO pantry_generations (user_id, generation) VALUES (?1, 1) "
+                                + "ON CONFLICT (user_id) DO UPDATE SET generation = pantry_generations.generation + 1")
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "pantry_generations")
+                .setParameter(1, userId)
+                .executeUpdate();
+    }
+}
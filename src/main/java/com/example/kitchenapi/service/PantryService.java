@@ -1,22 +1,45 @@
 package com.example.kitchenapi.service;
 
+import com.example.kitchenapi.common.BatchOperation;
+import com.example.kitchenapi.common.CountMode;
+import com.example.kitchenapi.common.CursorPage;
+import com.example.kitchenapi.common.KeysetCursor;
+import com.example.kitchenapi.dto.PantryDto;
 import com.example.kitchenapi.entity.IngredientEntity;
 import com.example.kitchenapi.entity.PantryItemEntity;
 import com.example.kitchenapi.repository.PantryRepository;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * パントリー項目管理のサービス層
@@ -25,15 +48,26 @@ import java.util.List;
 @Service
 public class PantryService {
 
+    /**
+     * エクスポートで永続化コンテキストを空にするパントリー項目数
+     */
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final PantryRepository pantryRepository;
     private final IngredientService ingredientService;
+    private final SearchCountCache searchCountCache;
+    private final PantryGenerationService pantryGenerationService;
     private final EntityManager entityManager;
 
     public PantryService(PantryRepository pantryRepository,
                          IngredientService ingredientService,
+                         SearchCountCache searchCountCache,
+                         PantryGenerationService pantryGenerationService,
                          EntityManager entityManager) {
         this.pantryRepository = pantryRepository;
         this.ingredientService = ingredientService;
+        this.searchCountCache = searchCountCache;
+        this.pantryGenerationService = pantryGenerationService;
         this.entityManager = entityManager;
     }
 
@@ -59,6 +93,9 @@ public class PantryService {
             throw new IllegalArgumentException("Amount is required");
         }
 
+        // 一覧のETagが変わるよう世代を進める（同じユーザーへの書き込みはここで直列化される）
+        pantryGenerationService.increment(userId);
+
         // 材料を検索または作成
         IngredientEntity ingredient = ingredientService.findOrCreate(ingredientName);
 
@@ -84,30 +121,130 @@ public class PantryService {
             throw new IllegalArgumentException("User ID is required");
         }
 
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<PantryItemEntity> query = cb.createQuery(PantryItemEntity.class);
-        Root<PantryItemEntity> pantry = query.from(PantryItemEntity.class);
+        return findPage(userId, ingredient, expFrom, expTo, pageable, false, entities());
+    }
 
-        List<Predicate> predicates = new ArrayList<>();
+    /**
+     * 総件数の取得方法を指定してユーザーのパントリー項目を検索します。
+     * EXACTは正確な総件数、ESTIMATEはキャッシュされた総件数を含むPageを返し、
+     * NONEは総件数をカウントせずにページサイズ+1件の取得で次のページの有無のみを判定したSliceを返します。
+     *
+     * @param userId ユーザーID
+     * @param ingredient 材料名フィルター（部分一致、オプション）
+     * @param expFrom 賞味期限の開始日フィルター（オプション）
+     * @param expTo 賞味期限の終了日フィルター（オプション）
+     * @param pageable ページネーションパラメータ
+     * @param countMode 総件数の取得方法
+     * @return 条件に一致するPantryItemEntityのページ（NONEの場合は総件数を含まないSlice）
+     * @throws IllegalArgumentException userIdまたはcountModeがnullの場合
+     */
+    @Transactional(readOnly = true)
+    public Slice<PantryItemEntity> findByUserId(Long userId, String ingredient, LocalDate expFrom,
+                                                LocalDate expTo, Pageable pageable, CountMode countMode) {
+        return find(userId, ingredient, expFrom, expTo, pageable, countMode, entities());
+    }
 
-        // ユーザーIDでフィルタリング
-        predicates.add(cb.equal(pantry.get("userId"), userId));
+    /**
+     * ユーザーのパントリーの現在の世代を取得します。
+     * 世代はパントリーへの書き込みのたびに増えるため、一覧のETagに使用できます。
+     * 書き込み直後に更新前の世代で 304 を返さないよう、読み取り専用にせずプライマリで読み込みます
+     * （読み取り専用トランザクションは遅延のある読み取りレプリカで実行されるため）。
+     *
+     * @param userId ユーザーID
+     * @return 現在の世代（一度も書き込みがない場合は0）
+     * @throws IllegalArgumentException userIdがnullの場合
+     */
+    @Transactional
+    public long currentGeneration(Long userId) {
+        return pantryGenerationService.current(userId);
+    }
 
-        // 材料名でフィルタリング（部分一致、大文字小文字を区別しない）
-        if (ingredient != null && !ingredient.isBlank()) {
-            predicates.add(cb.like(cb.lower(pantry.get("ingredient").get("name")),
-                    "%" + ingredient.toLowerCase() + "%"));
+    /**
+     * 総件数の取得方法を指定してユーザーのパントリー項目を検索し、一覧表示用のDTOで返します。
+     * エンティティを読み込まずに必要な列（材料はIDのみ）だけを射影するため、
+     * 永続化コンテキストへの登録や材料エンティティの読み込みが発生しません。材料名は材料辞書キャッシュから解決します。
+     * 結果には {@link #currentGeneration} で確認した世代のETagが付くため、その世代より古い内容を返さないよう
+     * 読み取り専用にせずプライマリで検索します。
+     *
+     * @param userId ユーザーID
+     * @param ingredient 材料名フィルター（部分一致、オプション）
+     * @param expFrom 賞味期限の開始日フィルター（オプション）
+     * @param expTo 賞味期限の終了日フィルター（オプション）
+     * @param pageable ページネーションパラメータ
+     * @param countMode 総件数の取得方法
+     * @return 条件に一致するPantryViewのページ（NONEの場合は総件数を含まないSlice）
+     * @throws IllegalArgumentException userIdまたはcountModeがnullの場合
+     */
+    @Transactional
+    public Slice<PantryDto.PantryView> findViewsByUserId(Long userId, String ingredient, LocalDate expFrom,
+                                                         LocalDate expTo, Pageable pageable, CountMode countMode) {
+        return find(userId, ingredient, expFrom, expTo, pageable, countMode, views());
+    }
+
+    private <T, R> Slice<R> find(Long userId, String ingredient, LocalDate expFrom, LocalDate expTo,
+                                 Pageable pageable, CountMode countMode, SearchProjection<T, R> projection) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        if (countMode == null) {
+            throw new IllegalArgumentException("Count mode is required");
         }
 
-        // 賞味期限の範囲でフィルタリング
-        if (expFrom != null && expTo != null) {
-            predicates.add(cb.between(pantry.get("expiresOn"), expFrom, expTo));
-        } else if (expFrom != null) {
-            predicates.add(cb.greaterThanOrEqualTo(pantry.get("expiresOn"), expFrom));
-        } else if (expTo != null) {
-            predicates.add(cb.lessThanOrEqualTo(pantry.get("expiresOn"), expTo));
+        return switch (countMode) {
+            case EXACT -> findPage(userId, ingredient, expFrom, expTo, pageable, false, projection);
+            case ESTIMATE -> findPage(userId, ingredient, expFrom, expTo, pageable, true, projection);
+            case NONE -> findSlice(userId, ingredient, expFrom, expTo, pageable, projection);
+        };
+    }
+
+    /**
+     * ページを取得し、総件数を付けて返します。
+     * 総件数はページの内容から確定できる場合（最終ページ等）はカウントしません。
+     */
+    private <T, R> Page<R> findPage(Long userId, String ingredient, LocalDate expFrom, LocalDate expTo,
+                                    Pageable pageable, boolean estimate, SearchProjection<T, R> projection) {
+        TypedQuery<T> typedQuery = createSearchQuery(projection, userId, ingredient, expFrom, expTo, pageable);
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize());
+        List<R> results = projection.converter().apply(typedQuery.getResultList());
+
+        LongSupplier count = () -> countSearchResults(userId, ingredient, expFrom, expTo);
+        if (estimate) {
+            PantryCountKey key = new PantryCountKey(userId, ingredient, expFrom, expTo);
+            return PageableExecutionUtils.getPage(results, pageable, () -> searchCountCache.get(key, count));
         }
+        return PageableExecutionUtils.getPage(results, pageable, count);
+    }
 
+    /**
+     * ページサイズ+1件を取得して次のページの有無を判定し、総件数なしのSliceを返します。
+     */
+    private <T, R> Slice<R> findSlice(Long userId, String ingredient, LocalDate expFrom, LocalDate expTo,
+                                      Pageable pageable, SearchProjection<T, R> projection) {
+        TypedQuery<T> typedQuery = createSearchQuery(projection, userId, ingredient, expFrom, expTo, pageable);
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        List<T> rows = new ArrayList<>(typedQuery.getResultList());
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = new ArrayList<>(rows.subList(0, pageable.getPageSize()));
+        }
+
+        return new SliceImpl<>(projection.converter().apply(rows), pageable, hasNext);
+    }
+
+    /**
+     * 絞り込み条件とPageableのソートを適用したパントリー検索クエリを作成します。
+     */
+    private <T> TypedQuery<T> createSearchQuery(SearchProjection<T, ?> projection, Long userId, String ingredient,
+                                                LocalDate expFrom, LocalDate expTo, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(projection.rowType());
+        Root<PantryItemEntity> pantry = query.from(PantryItemEntity.class);
+        query.select(projection.selection().apply(cb, pantry));
+
+        List<Predicate> predicates = buildSearchPredicates(cb, pantry, userId, ingredient, expFrom, expTo);
         query.where(predicates.toArray(new Predicate[0]));
 
         // Pageableからソートを適用
@@ -123,35 +260,226 @@ public class PantryService {
             query.orderBy(orders);
         }
 
-        // ページネーションを適用してクエリを実行
-        TypedQuery<PantryItemEntity> typedQuery = entityManager.createQuery(query);
-        typedQuery.setFirstResult((int) pageable.getOffset());
-        typedQuery.setMaxResults(pageable.getPageSize());
-        List<PantryItemEntity> results = typedQuery.getResultList();
+        return entityManager.createQuery(query);
+    }
 
-        // 総件数をカウント
+    /**
+     * 絞り込み条件に一致するパントリー項目の総件数をカウントします。
+     */
+    private long countSearchResults(Long userId, String ingredient, LocalDate expFrom, LocalDate expTo) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
         Root<PantryItemEntity> countRoot = countQuery.from(PantryItemEntity.class);
         countQuery.select(cb.count(countRoot));
+        List<Predicate> countPredicates = buildSearchPredicates(cb, countRoot, userId, ingredient, expFrom, expTo);
+        countQuery.where(countPredicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+
+    /**
+     * キーセット（シーク）ページネーションでユーザーのパントリー項目を検索します。
+     * 賞味期限の昇順（賞味期限なしは末尾、同日はIDの昇順）で、カーソルが指す行の次から取得します。
+     * OFFSETと総件数のカウントを行わないため、どれだけ深いページでも取得コストは一定です。
+     *
+     * @param userId ユーザーID
+     * @param ingredient 材料名フィルター（部分一致、オプション）
+     * @param expFrom 賞味期限の開始日フィルター（オプション）
+     * @param expTo 賞味期限の終了日フィルター（オプション）
+     * @param cursor 前のページのnextCursor（先頭ページの場合はnullまたは空文字列）
+     * @param size ページサイズ
+     * @return 条件に一致するPantryItemEntityのページと次のページのカーソル
+     * @throws IllegalArgumentException カーソルの形式が不正な場合、またはページサイズが正でない場合
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PantryItemEntity> findByUserIdAfter(Long userId, String ingredient,
+                                                          LocalDate expFrom, LocalDate expTo,
+                                                          String cursor, int size) {
+        return findAfter(userId, ingredient, expFrom, expTo, cursor, size, entities());
+    }
+
+    /**
+     * キーセットページネーションでユーザーのパントリー項目を検索し、一覧表示用のDTOで返します。
+     * 取得する列とプライマリで検索する理由は {@link #findViewsByUserId} と同様です。
+     *
+     * @param userId ユーザーID
+     * @param ingredient 材料名フィルター（部分一致、オプション）
+     * @param expFrom 賞味期限の開始日フィルター（オプション）
+     * @param expTo 賞味期限の終了日フィルター（オプション）
+     * @param cursor 前のページのnextCursor（先頭ページの場合はnullまたは空文字列）
+     * @param size ページサイズ
+     * @return 条件に一致するPantryViewのページと次のページのカーソル
+     * @throws IllegalArgumentException カーソルの形式が不正な場合、またはページサイズが正でない場合
+     */
+    @Transactional
+    public CursorPage<PantryDto.PantryView> findViewsByUserIdAfter(Long userId, String ingredient,
+                                                                   LocalDate expFrom, LocalDate expTo,
+                                                                   String cursor, int size) {
+        return findAfter(userId, ingredient, expFrom, expTo, cursor, size, views());
+    }
 
-        List<Predicate> countPredicates = new ArrayList<>();
-        countPredicates.add(cb.equal(countRoot.get("userId"), userId));
+    /**
+     * ユーザーの全パントリー項目をPantryViewとしてID順に1件ずつ sink に渡します。
+     * 項目は材料と合わせてサーバーサイドカーソルで少しずつ読み込み、一定件数ごとに永続化コンテキストを空にするため、
+     * 項目数に関わらずメモリ使用量は一定です。
+     *
+     * @param userId ユーザーID
+     * @param sink 各パントリー項目の出力先
+     * @return 出力したパントリー項目の件数
+     * @throws IllegalArgumentException ユーザーIDがnullの場合
+     */
+    @Transactional(readOnly = true)
+    public long exportViews(Long userId, Consumer<PantryDto.PantryView> sink) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+
+        long count = 0;
+        try (Stream<PantryItemEntity> items = pantryRepository.streamByUserId(userId)) {
+            for (PantryItemEntity item : (Iterable<PantryItemEntity>) items::iterator) {
+                sink.accept(new PantryDto.PantryView(
+                        item.getId(),
+                        item.getIngredient().getName(),
+                        item.getAmount(),
+                        item.getExpiresOn()));
+                if (++count % EXPORT_CHUNK_SIZE == 0) {
+                    // 読み取り専用のため破棄しても失われる変更はない
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    private <T, R> CursorPage<R> findAfter(Long userId, String ingredient, LocalDate expFrom, LocalDate expTo,
+                                           String cursor, int size, SearchProjection<T, R> projection) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(projection.rowType());
+        Root<PantryItemEntity> pantry = query.from(PantryItemEntity.class);
+        query.select(projection.selection().apply(cb, pantry));
+
+        List<Predicate> predicates = buildSearchPredicates(cb, pantry, userId, ingredient, expFrom, expTo);
+
+        if (after != null) {
+            LocalDate expiresOn = after.parseKey(LocalDate::parse);
+            if (expiresOn != null) {
+                // expiresOn > :d OR (expiresOn = :d AND id > :id) OR expiresOn IS NULL
+                predicates.add(cb.or(
+                        cb.greaterThan(pantry.get("expiresOn"), expiresOn),
+                        cb.and(cb.equal(pantry.get("expiresOn"), expiresOn),
+                                cb.greaterThan(pantry.get("id"), after.id())),
+                        cb.isNull(pantry.get("expiresOn"))));
+            } else {
+                // 賞味期限なしの行まで進んでいる場合: expiresOn IS NULL AND id > :id
+                predicates.add(cb.and(
+                        cb.isNull(pantry.get("expiresOn")),
+                        cb.greaterThan(pantry.get("id"), after.id())));
+            }
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+        // PostgreSQLの昇順ではNULLは末尾に並ぶ
+        query.orderBy(cb.asc(pantry.get("expiresOn")), cb.asc(pantry.get("id")));
+
+        // 1件多く取得して次のページの有無を判定する
+        List<T> rows = new ArrayList<>(entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList());
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = new ArrayList<>(rows.subList(0, size));
+            nextCursor = projection.cursorKey().apply(rows.get(size - 1)).encode();
+        }
+
+        return new CursorPage<>(projection.converter().apply(rows), size, nextCursor);
+    }
+
+    /**
+     * パントリー項目のエンティティをそのまま取得する取得方法
+     */
+    private static SearchProjection<PantryItemEntity, PantryItemEntity> entities() {
+        return new SearchProjection<>(
+                PantryItemEntity.class,
+                (cb, pantry) -> pantry,
+                last -> cursorOf(last.getExpiresOn(), last.getId()),
+                Function.identity());
+    }
+
+    /**
+     * 一覧表示に必要な列（材料はIDのみ）をタプルで取得し、PantryViewに変換する取得方法
+     */
+    private SearchProjection<Tuple, PantryDto.PantryView> views() {
+        return new SearchProjection<>(
+                Tuple.class,
+                (cb, pantry) -> cb.tuple(
+                        pantry.get("id").alias("id"),
+                        pantry.get("ingredient").get("id").alias("ingredientId"),
+                        pantry.get("amount").alias("amount"),
+                        pantry.get("expiresOn").alias("expiresOn")),
+                last -> cursorOf(last.get("expiresOn", LocalDate.class), last.get("id", Long.class)),
+                this::toPantryViews);
+    }
+
+    /**
+     * タプルの行をPantryViewに変換します。材料名はページ分をまとめて解決します。
+     */
+    private List<PantryDto.PantryView> toPantryViews(List<Tuple> rows) {
+        Set<Long> ingredientIds = rows.stream()
+                .map(row -> row.get("ingredientId", Long.class))
+                .collect(Collectors.toSet());
+        Map<Long, String> names = ingredientIds.isEmpty() ? Map.of() : ingredientService.findNamesByIds(ingredientIds);
+
+        return rows.stream()
+                .map(row -> new PantryDto.PantryView(
+                        row.get("id", Long.class),
+                        names.get(row.get("ingredientId", Long.class)),
+                        row.get("amount", String.class),
+                        row.get("expiresOn", LocalDate.class)))
+                .toList();
+    }
+
+    /**
+     * 賞味期限の昇順（賞味期限なしは末尾）の並びでのキーセットカーソルを作成します。
+     */
+    private static KeysetCursor cursorOf(LocalDate expiresOn, Long id) {
+        return new KeysetCursor(expiresOn == null ? null : expiresOn.toString(), id);
+    }
+
+    /**
+     * パントリー検索の絞り込み条件を組み立てます。
+     * ページ取得・件数カウント・キーセット取得のクエリで共通に使用します。
+     */
+    private List<Predicate> buildSearchPredicates(CriteriaBuilder cb, Root<PantryItemEntity> pantry, Long userId,
+                                                  String ingredient, LocalDate expFrom, LocalDate expTo) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        // ユーザーIDでフィルタリング
+        predicates.add(cb.equal(pantry.get("userId"), userId));
+
+        // 材料名でフィルタリング（部分一致、大文字小文字を区別しない）
         if (ingredient != null && !ingredient.isBlank()) {
-            countPredicates.add(cb.like(cb.lower(countRoot.get("ingredient").get("name")),
+            predicates.add(cb.like(cb.lower(pantry.get("ingredient").get("name")),
                     "%" + ingredient.toLowerCase() + "%"));
         }
+
+        // 賞味期限の範囲でフィルタリング
         if (expFrom != null && expTo != null) {
-            countPredicates.add(cb.between(countRoot.get("expiresOn"), expFrom, expTo));
+            predicates.add(cb.between(pantry.get("expiresOn"), expFrom, expTo));
         } else if (expFrom != null) {
-            countPredicates.add(cb.greaterThanOrEqualTo(countRoot.get("expiresOn"), expFrom));
+            predicates.add(cb.greaterThanOrEqualTo(pantry.get("expiresOn"), expFrom));
         } else if (expTo != null) {
-            countPredicates.add(cb.lessThanOrEqualTo(countRoot.get("expiresOn"), expTo));
+            predicates.add(cb.lessThanOrEqualTo(pantry.get("expiresOn"), expTo));
         }
-        countQuery.where(countPredicates.toArray(new Predicate[0]));
 
-        Long total = entityManager.createQuery(countQuery).getSingleResult();
-
-        return new PageImpl<>(results, pageable, total);
+        return predicates;
     }
 
     /**
@@ -173,6 +501,9 @@ public class PantryService {
             throw new IllegalArgumentException("User ID is required");
         }
 
+        // 一覧のETagが変わるよう世代を進める（404・403の場合はロールバックされる）
+        pantryGenerationService.increment(userId);
+
         PantryItemEntity pantryItem = pantryRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pantry item not found"));
 
@@ -208,6 +539,9 @@ public class PantryService {
             throw new IllegalArgumentException("User ID is required");
         }
 
+        // 一覧のETagが変わるよう世代を進める（404・403の場合はロールバックされる）
+        pantryGenerationService.increment(userId);
+
         PantryItemEntity pantryItem = pantryRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pantry item not found"));
 
@@ -219,6 +553,221 @@ public class PantryService {
         pantryRepository.delete(pantryItem);
     }
 
+    /**
+     * 複数のパントリー項目の追加・更新・削除を1つのトランザクションでまとめて適用します。
+     * 追加は材料を一括で解決したうえで1回の複数行INSERT、更新は1回の {@code UPDATE ... FROM (VALUES ...)}、
+     * 削除は1回の {@code DELETE ... WHERE id IN (...)} で行い、所有者のチェックはDML自体の
+     * {@code WHERE user_id = ?} で行います（項目を事前に読み込みません）。
+     * 不正な操作と対象が見つからない操作はその操作だけを失敗として報告し、残りの操作は適用します。
+     * 他のユーザーの項目は存在しない項目と同様に not_found になります。
+     * 同じ項目を対象とする更新・削除は1つのバッチに1件までで、2件目以降は不正な操作として扱います。
+     *
+     * @param userId ユーザーID
+     * @param ops 適用する操作
+     * @return 適用した操作数、失敗した操作数、操作ごとの結果（リクエストの順）
+     * @throws IllegalArgumentException ユーザーIDまたは操作のリストがnullの場合
+     */
+    @Transactional
+    public PantryDto.BatchResult applyBatch(Long userId, List<PantryDto.BatchOp> ops) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        if (ops == null) {
+            throw new IllegalArgumentException("Operations are required");
+        }
+
+        PantryDto.BatchOpResult[] results = new PantryDto.BatchOpResult[ops.size()];
+        List<Integer> adds = new ArrayList<>();
+        Map<Long, Integer> updates = new LinkedHashMap<>();
+        Map<Long, Integer> deletes = new LinkedHashMap<>();
+
+        // 操作を検証し、種類ごとに振り分ける
+        for (int i = 0; i < ops.size(); i++) {
+            PantryDto.BatchOp op = ops.get(i);
+            try {
+                BatchOperation operation = checkBatchOp(op);
+                if (operation == BatchOperation.ADD) {
+                    adds.add(i);
+                } else if (updates.containsKey(op.id()) || deletes.containsKey(op.id())) {
+                    throw new IllegalArgumentException("Pantry item " + op.id() + " is targeted more than once");
+                } else {
+                    (operation == BatchOperation.UPDATE ? updates : deletes).put(op.id(), i);
+                }
+            } catch (IllegalArgumentException e) {
+                results[i] = new PantryDto.BatchOpResult(i, op == null ? null : op.op(), "invalid",
+                        op == null ? null : op.id(), null, e.getMessage());
+            }
+        }
+
+        // 一覧のETagが変わるよう世代を進める（同じユーザーへの書き込みはここで直列化される）
+        if (!adds.isEmpty() || !updates.isEmpty() || !deletes.isEmpty()) {
+            pantryGenerationService.increment(userId);
+        }
+
+        if (!adds.isEmpty()) {
+            applyBatchAdds(userId, ops, adds, results);
+        }
+        if (!updates.isEmpty()) {
+            applyBatchUpdates(userId, ops, updates, results);
+        }
+        if (!deletes.isEmpty()) {
+            applyBatchDeletes(userId, deletes, results);
+        }
+
+        int failed = 0;
+        for (PantryDto.BatchOpResult result : results) {
+            if (result.error() != null) {
+                failed++;
+            }
+        }
+        return new PantryDto.BatchResult(results.length - failed, failed, List.of(results));
+    }
+
+    /**
+     * 一括操作の必須フィールドを検証します。
+     *
+     * @return 操作の種類
+     * @throws IllegalArgumentException 操作が不正な場合
+     */
+    private static BatchOperation checkBatchOp(PantryDto.BatchOp op) {
+        if (op == null) {
+            throw new IllegalArgumentException("Operation is required");
+        }
+        BatchOperation operation = BatchOperation.parse(op.op());
+        if (operation == BatchOperation.ADD) {
+            if (op.ingredientName() == null || op.ingredientName().isBlank()) {
+                throw new IllegalArgumentException("Ingredient name is required");
+            }
+            if (op.amount() == null || op.amount().isBlank()) {
+                throw new IllegalArgumentException("Amount is required");
+            }
+            if (op.expiresOn() == null) {
+                throw new IllegalArgumentException("Expiration date is required");
+            }
+        } else if (op.id() == null) {
+            throw new IllegalArgumentException("Pantry item ID is required");
+        }
+        return operation;
+    }
+
+    /**
+     * 追加操作を、材料の一括解決と1回の複数行INSERTで適用します。
+     */
+    @SuppressWarnings("unchecked")
+    private void applyBatchAdds(Long userId, List<PantryDto.BatchOp> ops, List<Integer> adds,
+                                PantryDto.BatchOpResult[] results) {
+        Map<String, IngredientEntity> ingredients = ingredientService.findOrCreateAll(
+                adds.stream().map(i -> ops.get(i).ingredientName()).toList());
+
+        String values = IntStream.range(0, adds.size())
+                .mapToObj(i -> "(?1, ?" + (3 * i + 2) + ", ?" + (3 * i + 3) + ", CAST(?" + (3 * i + 4) + " AS date), now())")
+                .collect(Collectors.joining(", "));
+        Query insert = entityManager.createNativeQuery(
+                "INSERT INTO pantry_items (user_id, ingredient_id, amount, expires_on, created_at) VALUES " + values
+                        + " RETURNING id, ingredient_id, amount, expires_on");
+        insert.setParameter(1, userId);
+        for (int i = 0; i < adds.size(); i++) {
+            PantryDto.BatchOp op = ops.get(adds.get(i));
+            insert.setParameter(3 * i + 2, ingredients.get(op.ingredientName()).getId());
+            insert.setParameter(3 * i + 3, op.amount());
+            insert.setParameter(3 * i + 4, op.expiresOn());
+        }
+
+        // RETURNINGの行の順序は保証されないため、内容が同じ行ごとに作成されたIDを割り当てる
+        Map<BatchRow, ArrayDeque<Long>> createdIds = new HashMap<>();
+        for (Object[] row : (List<Object[]>) insert.getResultList()) {
+            createdIds.computeIfAbsent(toBatchRow(row), key -> new ArrayDeque<>())
+                    .add(((Number) row[0]).longValue());
+        }
+        for (int index : adds) {
+            PantryDto.BatchOp op = ops.get(index);
+            Long ingredientId = ingredients.get(op.ingredientName()).getId();
+            Long id = createdIds.get(new BatchRow(ingredientId, op.amount(), op.expiresOn())).poll();
+            results[index] = new PantryDto.BatchOpResult(index, "add", "created", id,
+                    new PantryDto.PantryView(id, op.ingredientName(), op.amount(), op.expiresOn()), null);
+        }
+    }
+
+    /**
+     * 更新操作を1回の {@code UPDATE ... FROM (VALUES ...)} で適用します。
+     * 指定されなかったフィールド（nullまたは空白の数量）は現在の値のままです。
+     * エンティティ経由の更新と同様にバージョンを1つ増やします。
+     */
+    @SuppressWarnings("unchecked")
+    private void applyBatchUpdates(Long userId, List<PantryDto.BatchOp> ops, Map<Long, Integer> updates,
+                                   PantryDto.BatchOpResult[] results) {
+        List<Integer> indexes = List.copyOf(updates.values());
+        String values = IntStream.range(0, indexes.size())
+                .mapToObj(i -> "(CAST(?" + (3 * i + 2) + " AS bigint), CAST(?" + (3 * i + 3)
+                        + " AS varchar), CAST(?" + (3 * i + 4) + " AS date))")
+                .collect(Collectors.joining(", "));
+        Query update = entityManager.createNativeQuery(
+                "UPDATE pantry_items p SET amount = COALESCE(v.amount, p.amount), "
+                        + "expires_on = COALESCE(v.expires_on, p.expires_on), version = p.version + 1 "
+                        + "FROM (VALUES " + values + ") AS v (id, amount, expires_on) "
+                        + "WHERE p.id = v.id AND p.user_id = ?1 "
+                        + "RETURNING p.id, p.ingredient_id, p.amount, p.expires_on");
+        update.setParameter(1, userId);
+        for (int i = 0; i < indexes.size(); i++) {
+            PantryDto.BatchOp op = ops.get(indexes.get(i));
+            update.setParameter(3 * i + 2, op.id());
+            update.setParameter(3 * i + 3, op.amount() == null || op.amount().isBlank() ? null : op.amount());
+            update.setParameter(3 * i + 4, op.expiresOn());
+        }
+
+        Map<Long, BatchRow> updated = new HashMap<>();
+        for (Object[] row : (List<Object[]>) update.getResultList()) {
+            updated.put(((Number) row[0]).longValue(), toBatchRow(row));
+        }
+        Map<Long, String> names = ingredientService.findNamesByIds(
+                updated.values().stream().map(BatchRow::ingredientId).collect(Collectors.toSet()));
+
+        updates.forEach((id, index) -> {
+            BatchRow row = updated.get(id);
+            results[index] = row == null
+                    ? new PantryDto.BatchOpResult(index, "update", "not_found", id, null, "Pantry item not found")
+                    : new PantryDto.BatchOpResult(index, "update", "updated", id,
+                            new PantryDto.PantryView(id, names.get(row.ingredientId()), row.amount(), row.expiresOn()),
+                            null);
+        });
+    }
+
+    /**
+     * 削除操作を1回の {@code DELETE ... WHERE id IN (...)} で適用します。
+     */
+    @SuppressWarnings("unchecked")
+    private void applyBatchDeletes(Long userId, Map<Long, Integer> deletes, PantryDto.BatchOpResult[] results) {
+        List<Long> ids = List.copyOf(deletes.keySet());
+        String placeholders = IntStream.range(0, ids.size())
+                .mapToObj(i -> "?" + (i + 2))
+                .collect(Collectors.joining(", "));
+        Query delete = entityManager.createNativeQuery(
+                "DELETE FROM pantry_items WHERE user_id = ?1 AND id IN (" + placeholders + ") RETURNING id");
+        delete.setParameter(1, userId);
+        for (int i = 0; i < ids.size(); i++) {
+            delete.setParameter(i + 2, ids.get(i));
+        }
+
+        Set<Long> deleted = new HashSet<>();
+        for (Object id : (List<Object>) delete.getResultList()) {
+            deleted.add(((Number) id).longValue());
+        }
+        deletes.forEach((id, index) -> results[index] = deleted.contains(id)
+                ? new PantryDto.BatchOpResult(index, "delete", "deleted", id, null, null)
+                : new PantryDto.BatchOpResult(index, "delete", "not_found", id, null, "Pantry item not found"));
+    }
+
+    /**
+     * RETURNING で返された (id, ingredient_id, amount, expires_on) の行から、ID以外の内容を取り出します。
+     */
+    private static BatchRow toBatchRow(Object[] row) {
+        Object expiresOn = row[3];
+        return new BatchRow(
+                ((Number) row[1]).longValue(),
+                (String) row[2],
+                expiresOn instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) expiresOn);
+    }
+
     /**
      * 間もなく期限切れになるパントリー項目を検索します（日付範囲内）。
      * このメソッドは、リマインダー通知が必要な項目を見つけるためにスケジュールされたジョブで使用されます。
@@ -249,4 +798,122 @@ public class PantryService {
 
         return entityManager.createQuery(query).getResultList();
     }
+
+    /**
+     * 日付範囲内に期限切れになるパントリー項目を持つユーザーのIDを、昇順に最大 limit 件取得します。
+     * 前のページの最後のユーザーIDを afterUserId に渡すことで、ユーザー単位のキーセットページングを行います。
+     * 期限切れチェックジョブが、全項目をメモリに読み込まずにユーザーを分割して処理するために使用します。
+     *
+     * @param from 範囲の開始日
+     * @param to 範囲の終了日
+     * @param afterUserId 前のページの最後のユーザーID（最初のページは0）
+     * @param limit 取得するユーザーIDの最大数
+     * @return ユーザーIDのリスト（昇順、空の場合は最後のページの後）
+     * @throws IllegalArgumentException 日付がnullの場合、または件数が正でない場合
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findUserIdsWithItemsExpiring(LocalDate from, LocalDate to, long afterUserId, int limit) {
+        if (from == null) {
+            throw new IllegalArgumentException("From date is required");
+        }
+        if (to == null) {
+            throw new IllegalArgumentException("To date is required");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<PantryItemEntity> pantry = query.from(PantryItemEntity.class);
+
+        // (user_id, expires_on) のインデックスをユーザーIDの順にたどり、期間内の項目を持つユーザーだけを返す
+        query.select(pantry.get("userId"))
+                .distinct(true)
+                .where(cb.between(pantry.get("expiresOn"), from, to),
+                        cb.greaterThan(pantry.get("userId"), afterUserId))
+                .orderBy(cb.asc(pantry.get("userId")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 指定したユーザーの、日付範囲内に期限切れになるパントリー項目を取得します。
+     * 材料名は結合して同じクエリで取得し、エンティティは読み込みません。
+     *
+     * @param userIds ユーザーIDのコレクション
+     * @param from 範囲の開始日
+     * @param to 範囲の終了日
+     * @return 期限切れ間近の項目のリスト（ユーザーID、賞味期限、IDの昇順）
+     * @throws IllegalArgumentException 引数がnullの場合
+     */
+    @Transactional(readOnly = true)
+    public List<PantryDto.ExpiringItem> findExpiringItemsByUserIds(Collection<Long> userIds,
+                                                                   LocalDate from, LocalDate to) {
+        if (userIds == null) {
+            throw new IllegalArgumentException("User IDs are required");
+        }
+        if (from == null) {
+            throw new IllegalArgumentException("From date is required");
+        }
+        if (to == null) {
+            throw new IllegalArgumentException("To date is required");
+        }
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<PantryItemEntity> pantry = query.from(PantryItemEntity.class);
+        Join<PantryItemEntity, IngredientEntity> ingredient = pantry.join("ingredient");
+
+        query.multiselect(
+                        pantry.get("id").alias("id"),
+                        pantry.get("userId").alias("userId"),
+                        ingredient.get("name").alias("ingredientName"),
+                        pantry.get("amount").alias("amount"),
+                        pantry.get("expiresOn").alias("expiresOn"))
+                .where(pantry.get("userId").in(userIds),
+                        cb.between(pantry.get("expiresOn"), from, to))
+                .orderBy(cb.asc(pantry.get("userId")), cb.asc(pantry.get("expiresOn")), cb.asc(pantry.get("id")));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(row -> new PantryDto.ExpiringItem(
+                        row.get("id", Long.class),
+                        row.get("userId", Long.class),
+                        row.get("ingredientName", String.class),
+                        row.get("amount", String.class),
+                        row.get("expiresOn", LocalDate.class)))
+                .toList();
+    }
+
+    /**
+     * 検索結果の取得方法
+     * 絞り込み条件・並び順・ページングは共通で、SELECT句と取得した行の変換だけを切り替えます。
+     *
+     * @param rowType 取得する行の型
+     * @param selection SELECT句
+     * @param cursorKey 行のキーセットカーソル
+     * @param converter 取得した行を結果に変換する処理
+     */
+    private record SearchProjection<T, R>(Class<T> rowType,
+                                          BiFunction<CriteriaBuilder, Root<PantryItemEntity>, Selection<T>> selection,
+                                          Function<T, KeysetCursor> cursorKey,
+                                          Function<List<T>, List<R>> converter) {
+    }
+
+    /**
+     * 総件数キャッシュのキー（パントリー検索の絞り込み条件）
+     */
+    private record PantryCountKey(Long userId, String ingredient, LocalDate expFrom, LocalDate expTo) {
+    }
+
+    /**
+     * 一括操作で書き込んだパントリー項目の内容
+     */
+    private record BatchRow(Long ingredientId, String amount, LocalDate expiresOn) {
+    }
 }
@@ -0,0 +1,207 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.config.AppImportProps;
+import com.example.kitchenapi.dto.RecipeDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * レシピの一括インポートのサービス層
+ * JSON配列またはNDJSONのレシピを先頭から1件ずつ読み込み、app.import.chunk-size 件ごとに
+ * {@link RecipeService#createAll} で1トランザクションとして登録します。
+ * 入力全体をメモリに読み込まないため、件数に関わらずメモリ使用量は一定です。
+ * 不正なレシピは該当するものだけをエラーとして報告し、残りのレシピの登録は続けます。
+ */
+@Service
+public class RecipeImportService {
+    private static final Logger log = LoggerFactory.getLogger(RecipeImportService.class);
+
+    private final RecipeService recipeService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final AppImportProps props;
+
+    public RecipeImportService(RecipeService recipeService, ObjectMapper objectMapper, Validator validator,
+                               AppImportProps props) {
+        this.recipeService = recipeService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.props = props;
+    }
+
+    /**
+     * レシピを一括で登録します。
+     * 入力はレシピ作成リクエストのJSON配列、または1行に1レシピのNDJSONです。
+     * 登録済みのチャンクは途中で失敗しても取り消されません。
+     * JSONの構文エラーを検出した場合は、それ以降の入力を読まずに終了します。
+     *
+     * @param ownerId レシピの所有者のID
+     * @param input リクエストボディ
+     * @return 受け取ったレシピ数、登録したレシピ数、登録できなかったレシピのエラー
+     * @throws IllegalArgumentException 所有者IDまたは入力がnullの場合
+     * @throws IOException 入力の読み込みに失敗した場合（クライアントの切断など）
+     */
+    public RecipeDto.BulkImportResult importRecipes(Long ownerId, InputStream input) throws IOException {
+        if (ownerId == null) {
+            throw new IllegalArgumentException("Owner ID is required");
+        }
+        if (input == null) {
+            throw new IllegalArgumentException("Input is required");
+        }
+        if (props.getChunkSize() <= 0) {
+            throw new IllegalStateException("app.import.chunk-size must be positive");
+        }
+
+        long startedAt = System.nanoTime();
+        ImportProgress progress = new ImportProgress(props.getMaxReportedErrors());
+        List<IndexedRequest> chunk = new ArrayList<>(props.getChunkSize());
+
+        // ルートが配列の場合は要素を、そうでない場合は連続するJSON値（NDJSON）を1件ずつ読む
+        try (MappingIterator<JsonNode> nodes = objectMapper.readerFor(JsonNode.class).readValues(input)) {
+            while (true) {
+                int index = progress.received;
+                JsonNode node;
+                try {
+                    if (!nodes.hasNextValue()) {
+                        break;
+                    }
+                    node = nodes.nextValue();
+                } catch (JsonProcessingException e) {
+                    // 構文エラー以降は要素の区切りが分からないため読み込みを中止する
+                    progress.received++;
+                    progress.fail(index, "Malformed JSON: " + e.getOriginalMessage());
+                    break;
+                }
+                progress.received++;
+
+                RecipeDto.CreateRequest request = toRequest(index, node, progress);
+                if (request != null) {
+                    chunk.add(new IndexedRequest(index, request));
+                    if (chunk.size() == props.getChunkSize()) {
+                        importChunk(ownerId, chunk, progress);
+                    }
+                }
+            }
+        }
+        importChunk(ownerId, chunk, progress);
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("Bulk recipe import for user {}: {} received, {} imported, {} failed in {} ms ({} recipes/s)",
+                ownerId, progress.received, progress.imported, progress.failed, elapsedMillis,
+                progress.imported * 1000L / elapsedMillis);
+        return progress.toResult();
+    }
+
+    /**
+     * JSONをレシピ作成リクエストに変換し、POST /recipes と同じ入力チェックを行います。
+     *
+     * @return 変換したリクエスト（不正な場合はエラーを記録してnull）
+     */
+    private RecipeDto.CreateRequest toRequest(int index, JsonNode node, ImportProgress progress) {
+        RecipeDto.CreateRequest request;
+        try {
+            request = objectMapper.treeToValue(node, RecipeDto.CreateRequest.class);
+        } catch (JsonProcessingException e) {
+            progress.fail(index, "Invalid recipe: " + e.getOriginalMessage());
+            return null;
+        }
+        if (request == null) {
+            progress.fail(index, "Invalid recipe: null");
+            return null;
+        }
+
+        Set<ConstraintViolation<RecipeDto.CreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            progress.fail(index, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+        return request;
+    }
+
+    /**
+     * チャンクを1トランザクションで登録します。
+     * 失敗した場合はチャンクがロールバックされるため、不正なレシピを特定するよう1件ずつ登録し直します。
+     * {@link RecipeService#createAll} 内のflushや材料のネイティブINSERTで発生した例外はリポジトリを経由せず、
+     * DataAccessExceptionに変換されないため、PersistenceExceptionも登録の失敗として扱います。
+     */
+    private void importChunk(Long ownerId, List<IndexedRequest> chunk, ImportProgress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            progress.imported += recipeService.createAll(ownerId,
+                    chunk.stream().map(IndexedRequest::request).toList());
+        } catch (IllegalArgumentException | DataAccessException | PersistenceException e) {
+            log.debug("Bulk import chunk failed, retrying {} recipes one by one: {}", chunk.size(), e.getMessage());
+            for (IndexedRequest item : chunk) {
+                RecipeDto.CreateRequest req = item.request();
+                try {
+                    recipeService.create(ownerId, req.title(), req.steps(), req.cookTimeMin(), req.tags(),
+                            req.ingredients());
+                    progress.imported++;
+                } catch (IllegalArgumentException ex) {
+                    progress.fail(item.index(), ex.getMessage());
+                } catch (DataAccessException | PersistenceException ex) {
+                    log.debug("Bulk import failed to save recipe at index {}", item.index(), ex);
+                    progress.fail(item.index(), "Could not save recipe");
+                }
+            }
+        }
+        chunk.clear();
+    }
+
+    /**
+     * 入力内の位置を付けたレシピ作成リクエスト
+     */
+    private record IndexedRequest(int index, RecipeDto.CreateRequest request) {}
+
+    /**
+     * インポートの進捗（件数と報告するエラー）
+     */
+    private static final class ImportProgress {
+        private final int maxReportedErrors;
+        private final List<RecipeDto.BulkImportError> errors = new ArrayList<>();
+        private int received;
+        private int imported;
+        private int failed;
+
+        ImportProgress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void fail(int index, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RecipeDto.BulkImportError(index, message));
+            }
+        }
+
+        RecipeDto.BulkImportResult toResult() {
+            // チャンクの登録し直しで記録したエラーは後の要素の入力エラーより後になるため、位置順に並べる
+            List<RecipeDto.BulkImportError> sorted = errors.stream()
+                    .sorted(Comparator.comparingInt(RecipeDto.BulkImportError::index))
+                    .toList();
+            return new RecipeDto.BulkImportResult(received, imported, failed, sorted);
+        }
+    }
+}
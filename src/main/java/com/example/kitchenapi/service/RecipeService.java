@@ -1,24 +1,48 @@
 package com.example.kitchenapi.service;
 
+import com.example.kitchenapi.common.CountMode;
+import com.example.kitchenapi.common.CursorPage;
+import com.example.kitchenapi.common.IngredientFilter;
+import com.example.kitchenapi.common.KeysetCursor;
+import com.example.kitchenapi.common.RecipeField;
+import com.example.kitchenapi.common.TagFilter;
 import com.example.kitchenapi.dto.RecipeDto;
 import com.example.kitchenapi.entity.IngredientEntity;
 import com.example.kitchenapi.entity.RecipeEntity;
 import com.example.kitchenapi.entity.RecipeIngredientEntity;
-import com.example.kitchenapi.repository.RecipeIngredientRepository;
 import com.example.kitchenapi.repository.RecipeRepository;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * レシピ管理のサービス層
@@ -27,18 +51,40 @@ import java.util.List;
 @Service
 public class RecipeService {
 
+    /**
+     * 関連度順（タイトル検索語との類似度順）を指定するソートプロパティ名
+     */
+    public static final String RELEVANCE = "relevance";
+
+    private static final int TAG_INSERT_CHUNK_SIZE = 1000;
+
+    /**
+     * 材料フィルターをIDのリストに解決する材料数の上限
+     * 部分文字列に一致する材料がこれを超える場合は、IDをバインドせずに検索クエリ内で材料名により絞り込む
+     * （IN句のバインド変数が増えすぎると実行計画が悪化し、PostgreSQLの上限65535個を超えると失敗するため）。
+     */
+    static final int MAX_INGREDIENT_FILTER_IDS = 1000;
+
+    /**
+     * エクスポートで材料をまとめて取得し、永続化コンテキストを空にするレシピ数
+     */
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final RecipeRepository recipeRepository;
-    private final RecipeIngredientRepository recipeIngredientRepository;
     private final IngredientService ingredientService;
+    private final SearchCountCache searchCountCache;
+    private final RecipeViewCache recipeViewCache;
     private final EntityManager entityManager;
 
     public RecipeService(RecipeRepository recipeRepository,
-                         RecipeIngredientRepository recipeIngredientRepository,
                          IngredientService ingredientService,
+                         SearchCountCache searchCountCache,
+                         RecipeViewCache recipeViewCache,
                          EntityManager entityManager) {
         this.recipeRepository = recipeRepository;
-        this.recipeIngredientRepository = recipeIngredientRepository;
         this.ingredientService = ingredientService;
+        this.searchCountCache = searchCountCache;
+        this.recipeViewCache = recipeViewCache;
         this.entityManager = entityManager;
     }
 
@@ -57,6 +103,69 @@ public class RecipeService {
     @Transactional
     public RecipeEntity create(Long ownerId, String title, String steps, Integer cookTimeMin,
                                String tags, List<RecipeDto.IngredientItem> ingredients) {
+        validateCreate(ownerId, title, steps, cookTimeMin, ingredients);
+        Map<String, String> quantities = quantitiesOf(ingredients);
+
+        // 材料を一括で検索または作成
+        Map<String, IngredientEntity> resolved = ingredientService.findOrCreateAll(quantities.keySet());
+
+        // レシピエンティティを作成し、材料をメモリ上で関連付ける
+        RecipeEntity recipe = new RecipeEntity(title, steps, cookTimeMin, tags, ownerId);
+        for (Map.Entry<String, String> entry : quantities.entrySet()) {
+            recipe.addIngredient(resolved.get(entry.getKey()), entry.getValue());
+        }
+
+        // レシピと材料はカスケードで永続化され、コミット時にJDBCバッチでまとめてINSERTされる。
+        // 集約はメモリ上で組み立て済みのため再取得は不要
+        return recipeRepository.save(recipe);
+    }
+
+    /**
+     * 複数のレシピを1つのトランザクションでまとめて登録します（一括インポート用）。
+     * 全レシピの材料を1回で検索または作成し、レシピと材料はJDBCバッチでINSERTします。
+     * 登録後は永続化コンテキストを空にするため、リクエスト全体で同じEntityManagerを使う場合でもメモリは蓄積しません。
+     * 1件でも不正なレシピがあればトランザクション全体がロールバックされます。
+     *
+     * @param ownerId レシピの所有者のID
+     * @param requests 登録するレシピ
+     * @return 登録したレシピ数
+     * @throws IllegalArgumentException 所有者IDがnullの場合、またはいずれかのレシピの必須フィールドがnullまたは空白の場合
+     */
+    @Transactional
+    public int createAll(Long ownerId, List<RecipeDto.CreateRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Recipes are required");
+        }
+
+        List<Map<String, String>> quantities = new ArrayList<>(requests.size());
+        Set<String> names = new LinkedHashSet<>();
+        for (RecipeDto.CreateRequest req : requests) {
+            validateCreate(ownerId, req.title(), req.steps(), req.cookTimeMin(), req.ingredients());
+            Map<String, String> recipeQuantities = quantitiesOf(req.ingredients());
+            quantities.add(recipeQuantities);
+            names.addAll(recipeQuantities.keySet());
+        }
+
+        // チャンク内の全レシピの材料を一括で検索または作成
+        Map<String, IngredientEntity> resolved = ingredientService.findOrCreateAll(names);
+
+        List<RecipeEntity> recipes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            RecipeDto.CreateRequest req = requests.get(i);
+            RecipeEntity recipe = new RecipeEntity(req.title(), req.steps(), req.cookTimeMin(), req.tags(), ownerId);
+            quantities.get(i).forEach((name, quantity) -> recipe.addIngredient(resolved.get(name), quantity));
+            recipes.add(recipe);
+        }
+        recipeRepository.saveAll(recipes);
+
+        // 書き込みを確定させてから、登録済みのエンティティを永続化コンテキストから外す
+        entityManager.flush();
+        entityManager.clear();
+        return recipes.size();
+    }
+
+    private static void validateCreate(Long ownerId, String title, String steps, Integer cookTimeMin,
+                                       List<RecipeDto.IngredientItem> ingredients) {
         if (ownerId == null) {
             throw new IllegalArgumentException("Owner ID is required");
         }
@@ -72,41 +181,31 @@ public class RecipeService {
         if (ingredients == null || ingredients.isEmpty()) {
             throw new IllegalArgumentException("Ingredients are required");
         }
+    }
 
-        // レシピエンティティを作成
-        RecipeEntity recipe = new RecipeEntity(title, steps, cookTimeMin, tags, ownerId);
-        RecipeEntity savedRecipe = recipeRepository.save(recipe);
-
-        // レシピIDが生成されることを確実にするためにフラッシュ
-        entityManager.flush();
-
-        // レシピ材料を作成（セッション問題を回避するため1つずつ保存）
-        List<RecipeIngredientEntity> recipeIngredients = new ArrayList<>();
+    /**
+     * 材料名ごとの分量を返します。
+     * 同じ材料名が複数回指定された場合は後の分量を採用する（複合キーの重複を防ぐ）
+     */
+    private static Map<String, String> quantitiesOf(List<RecipeDto.IngredientItem> ingredients) {
+        Map<String, String> quantities = new LinkedHashMap<>();
         for (RecipeDto.IngredientItem item : ingredients) {
-            IngredientEntity ingredient = ingredientService.findOrCreate(item.name());
-
-            RecipeIngredientEntity recipeIngredient = new RecipeIngredientEntity();
-            recipeIngredient.setRecipe(savedRecipe);
-            recipeIngredient.setIngredient(ingredient);
-            recipeIngredient.setQuantity(item.quantity());
-
-            // 重複キーの問題を回避するため個別に保存
-            RecipeIngredientEntity saved = recipeIngredientRepository.save(recipeIngredient);
-            recipeIngredients.add(saved);
+            quantities.put(item.name(), item.quantity());
         }
-
-        // 材料がロードされたレシピを再取得
-        return recipeRepository.findById(savedRecipe.getId()).orElse(savedRecipe);
+        return quantities;
     }
 
     /**
      * IDでレシピを検索します。
+     * 読み込んだ内容は {@link #findVersionById} で確認したバージョンのETagを付けて返され、
+     * シリアライズ済みレシピのキャッシュにも保存されるため、読み取りレプリカの遅延の影響を受けないよう
+     * 読み取り専用にせずプライマリで読み込みます。
      *
      * @param id レシピID
      * @return RecipeEntity
      * @throws ResponseStatusException レシピが見つからない場合は404
      */
-    @Transactional(readOnly = true)
+    @Transactional
     public RecipeEntity findById(Long id) {
         if (id == null) {
             throw new IllegalArgumentException("Recipe ID is required");
@@ -116,57 +215,175 @@ public class RecipeService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Recipe not found"));
     }
 
+    /**
+     * レシピの現在のバージョンだけを取得します。
+     * レシピの行やコレクションを読み込まないため、条件付きGETのETagの確認に使用します。
+     * 更新直後に更新前のバージョンで 304 を返さないよう、読み取り専用にせずプライマリで読み込みます
+     * （読み取り専用トランザクションは遅延のある読み取りレプリカで実行されるため）。
+     *
+     * @param id レシピID
+     * @return 現在のバージョン（レシピの更新のたびに増える）
+     * @throws ResponseStatusException レシピが見つからない場合は404
+     */
+    @Transactional
+    public long findVersionById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Recipe ID is required");
+        }
+
+        return recipeRepository.findVersionById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Recipe not found"));
+    }
+
     /**
      * フィルターとページネーションを使用してレシピを検索します。
-     * 所有者、タイトル（部分一致）、最大調理時間、材料名によるフィルタリングをサポートします。
+     * 所有者、タイトル（部分一致）、最大調理時間、材料名（部分一致、複数指定可）、
+     * タグ（完全一致、複数指定可）によるフィルタリングをサポートします。
+     * タイトルの部分一致はトライグラムGINインデックスで処理され、ソートに {@link #RELEVANCE} を指定すると
+     * 検索語との類似度順に並べます。
+     * 返却するレシピの材料は初期化済みのため、表示時に追加のクエリは発行されません。
      *
      * @param ownerId 所有者ID（オプション）
      * @param q タイトル検索クエリ（オプション）
      * @param maxTime 最大調理時間（分単位、オプション）
-     * @param ingredient 材料名（部分一致、オプション）
+     * @param ingredients 材料フィルター（オプション）
+     * @param tags タグフィルター（オプション）
      * @param pageable ページネーションパラメータ
      * @return 条件に一致するRecipeEntityのページ
      */
     @Transactional(readOnly = true)
-    public Page<RecipeEntity> search(Long ownerId, String q, Integer maxTime, String ingredient, Pageable pageable) {
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<RecipeEntity> query = cb.createQuery(RecipeEntity.class);
-        Root<RecipeEntity> recipe = query.from(RecipeEntity.class);
+    public Page<RecipeEntity> search(Long ownerId, String q, Integer maxTime, IngredientFilter ingredients,
+                                     TagFilter tags, Pageable pageable) {
+        return searchPage(ownerId, q, maxTime, ingredients, tags, pageable, false, entities());
+    }
 
-        List<Predicate> predicates = new ArrayList<>();
+    /**
+     * 総件数の取得方法を指定してレシピを検索します。
+     * EXACTは正確な総件数、ESTIMATEはキャッシュされた総件数を含むPageを返し、
+     * NONEは総件数をカウントせずにページサイズ+1件の取得で次のページの有無のみを判定したSliceを返します。
+     *
+     * @param ownerId 所有者ID（オプション）
+     * @param q タイトル検索クエリ（オプション）
+     * @param maxTime 最大調理時間（分単位、オプション）
+     * @param ingredients 材料フィルター（オプション）
+     * @param tags タグフィルター（オプション）
+     * @param pageable ページネーションパラメータ
+     * @param countMode 総件数の取得方法
+     * @return 条件に一致するRecipeEntityのページ（NONEの場合は総件数を含まないSlice）
+     * @throws IllegalArgumentException countModeがnullの場合
+     */
+    @Transactional(readOnly = true)
+    public Slice<RecipeEntity> search(Long ownerId, String q, Integer maxTime, IngredientFilter ingredients,
+                                      TagFilter tags, Pageable pageable, CountMode countMode) {
+        return search(ownerId, q, maxTime, ingredients, tags, pageable, countMode, entities());
+    }
 
-        // 所有者でフィルタリング
-        if (ownerId != null) {
-            predicates.add(cb.equal(recipe.get("ownerId"), ownerId));
-        }
+    /**
+     * 総件数の取得方法と取得するフィールドを指定してレシピを検索し、一覧表示用のDTOで返します。
+     * エンティティを読み込まずに必要な列だけを射影するため、永続化コンテキストへの登録や
+     * 変更検知の対象にならず、fieldsに含まれない列（特にTEXT型のsteps）はDBから読み込みません。
+     * 材料はfieldsに含まれる場合のみ、ページ分を1回のクエリでまとめて取得します。
+     *
+     * @param ownerId 所有者ID（オプション）
+     * @param q タイトル検索クエリ（オプション）
+     * @param maxTime 最大調理時間（分単位、オプション）
+     * @param ingredients 材料フィルター（オプション）
+     * @param tags タグフィルター（オプション）
+     * @param pageable ページネーションパラメータ
+     * @param countMode 総件数の取得方法
+     * @param fields 取得するフィールド（含まれないフィールドはnull）
+     * @return 条件に一致するRecipeViewのページ（NONEの場合は総件数を含まないSlice）
+     * @throws IllegalArgumentException countModeまたはfieldsがnullの場合
+     */
+    @Transactional(readOnly = true)
+    public Slice<RecipeDto.RecipeView> searchViews(Long ownerId, String q, Integer maxTime,
+                                                   IngredientFilter ingredients, TagFilter tags,
+                                                   Pageable pageable, CountMode countMode,
+                                                   Set<RecipeField> fields) {
+        return search(ownerId, q, maxTime, ingredients, tags, pageable, countMode, views(fields));
+    }
 
-        // タイトルでフィルタリング（部分一致、大文字小文字を区別しない）
-        if (q != null && !q.isBlank()) {
-            predicates.add(cb.like(cb.lower(recipe.get("title")), "%" + q.toLowerCase() + "%"));
+    private <T, R> Slice<R> search(Long ownerId, String q, Integer maxTime, IngredientFilter ingredients,
+                                   TagFilter tags, Pageable pageable, CountMode countMode,
+                                   SearchProjection<T, R> projection) {
+        if (countMode == null) {
+            throw new IllegalArgumentException("Count mode is required");
         }
 
-        // 最大調理時間でフィルタリング
-        if (maxTime != null) {
-            predicates.add(cb.lessThanOrEqualTo(recipe.get("cookTimeMin"), maxTime));
+        return switch (countMode) {
+            case EXACT -> searchPage(ownerId, q, maxTime, ingredients, tags, pageable, false, projection);
+            case ESTIMATE -> searchPage(ownerId, q, maxTime, ingredients, tags, pageable, true, projection);
+            case NONE -> searchSlice(ownerId, q, maxTime, ingredients, tags, pageable, projection);
+        };
+    }
+
+    /**
+     * ページを取得し、総件数を付けて返します。
+     * 総件数はページの内容から確定できる場合（最終ページ等）はカウントしません。
+     */
+    private <T, R> Page<R> searchPage(Long ownerId, String q, Integer maxTime, IngredientFilter ingredients,
+                                      TagFilter tags, Pageable pageable, boolean estimate,
+                                      SearchProjection<T, R> projection) {
+        List<IngredientGroup> ingredientGroups = resolveIngredientGroups(ingredients);
+        TypedQuery<T> typedQuery =
+                createSearchQuery(projection, ownerId, q, maxTime, ingredientGroups, tags, pageable);
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize());
+        List<R> results = projection.converter().apply(typedQuery.getResultList());
+
+        LongSupplier count = () -> countSearchResults(ownerId, q, maxTime, ingredientGroups, tags);
+        if (estimate) {
+            RecipeCountKey key = new RecipeCountKey(ownerId, q, maxTime, ingredients, tags);
+            return PageableExecutionUtils.getPage(results, pageable, () -> searchCountCache.get(key, count));
         }
+        return PageableExecutionUtils.getPage(results, pageable, count);
+    }
 
-        // 材料名でフィルタリング（部分一致）
-        if (ingredient != null && !ingredient.isBlank()) {
-            Subquery<Long> subquery = query.subquery(Long.class);
-            Root<RecipeIngredientEntity> recipeIngredient = subquery.from(RecipeIngredientEntity.class);
-            subquery.select(recipeIngredient.get("recipe").get("id"));
-            subquery.where(cb.like(cb.lower(recipeIngredient.get("ingredient").get("name")),
-                    "%" + ingredient.toLowerCase() + "%"));
-            predicates.add(recipe.get("id").in(subquery));
+    /**
+     * ページサイズ+1件を取得して次のページの有無を判定し、総件数なしのSliceを返します。
+     */
+    private <T, R> Slice<R> searchSlice(Long ownerId, String q, Integer maxTime, IngredientFilter ingredients,
+                                        TagFilter tags, Pageable pageable, SearchProjection<T, R> projection) {
+        TypedQuery<T> typedQuery = createSearchQuery(projection, ownerId, q, maxTime,
+                resolveIngredientGroups(ingredients), tags, pageable);
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        List<T> rows = new ArrayList<>(typedQuery.getResultList());
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = new ArrayList<>(rows.subList(0, pageable.getPageSize()));
         }
 
+        return new SliceImpl<>(projection.converter().apply(rows), pageable, hasNext);
+    }
+
+    /**
+     * 絞り込み条件とPageableのソートを適用したレシピ検索クエリを作成します。
+     */
+    private <T> TypedQuery<T> createSearchQuery(SearchProjection<T, ?> projection, Long ownerId, String q,
+                                                Integer maxTime, List<IngredientGroup> ingredientGroups, TagFilter tags,
+                                                Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(projection.rowType());
+        Root<RecipeEntity> recipe = query.from(RecipeEntity.class);
+        query.select(projection.selection().apply(cb, recipe));
+
+        List<Predicate> predicates =
+                buildSearchPredicates(cb, query, recipe, ownerId, q, maxTime, ingredientGroups, tags);
         query.where(predicates.toArray(new Predicate[0]));
 
         // Pageableからソートを適用
         if (pageable.getSort().isSorted()) {
             List<Order> orders = new ArrayList<>();
             pageable.getSort().forEach(order -> {
-                if (order.isAscending()) {
+                if (RELEVANCE.equals(order.getProperty())) {
+                    // 関連度順: タイトル検索時のみ、トライグラム類似度の高い順に並べる
+                    if (q != null && !q.isBlank()) {
+                        orders.add(cb.desc(titleSimilarity(cb, recipe, q)));
+                        orders.add(cb.desc(recipe.get("id")));
+                    }
+                } else if (order.isAscending()) {
                     orders.add(cb.asc(recipe.get(order.getProperty())));
                 } else {
                     orders.add(cb.desc(recipe.get(order.getProperty())));
@@ -175,40 +392,394 @@ public class RecipeService {
             query.orderBy(orders);
         }
 
-        // ページネーションを適用してクエリを実行
-        TypedQuery<RecipeEntity> typedQuery = entityManager.createQuery(query);
-        typedQuery.setFirstResult((int) pageable.getOffset());
-        typedQuery.setMaxResults(pageable.getPageSize());
-        List<RecipeEntity> results = typedQuery.getResultList();
+        return entityManager.createQuery(query);
+    }
 
-        // 総件数をカウント
+    /**
+     * 絞り込み条件に一致するレシピの総件数をカウントします。
+     */
+    private long countSearchResults(Long ownerId, String q, Integer maxTime, List<IngredientGroup> ingredientGroups,
+                                    TagFilter tags) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
         Root<RecipeEntity> countRoot = countQuery.from(RecipeEntity.class);
         countQuery.select(cb.count(countRoot));
+        List<Predicate> countPredicates =
+                buildSearchPredicates(cb, countQuery, countRoot, ownerId, q, maxTime, ingredientGroups, tags);
+        countQuery.where(countPredicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
 
-        List<Predicate> countPredicates = new ArrayList<>();
+    /**
+     * キーセット（シーク）ページネーションでレシピを検索します。
+     * 作成日時の降順（同時刻はIDの降順）で、カーソルが指す行の次から取得します。
+     * OFFSETと総件数のカウントを行わないため、どれだけ深いページでも取得コストは一定です。
+     *
+     * @param ownerId 所有者ID（オプション）
+     * @param q タイトル検索クエリ（オプション）
+     * @param maxTime 最大調理時間（分単位、オプション）
+     * @param ingredients 材料フィルター（オプション）
+     * @param tags タグフィルター（オプション）
+     * @param cursor 前のページのnextCursor（先頭ページの場合はnullまたは空文字列）
+     * @param size ページサイズ
+     * @return 条件に一致するRecipeEntityのページと次のページのカーソル
+     * @throws IllegalArgumentException カーソルの形式が不正な場合、またはページサイズが正でない場合
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<RecipeEntity> searchAfter(Long ownerId, String q, Integer maxTime,
+                                                IngredientFilter ingredients, TagFilter tags,
+                                                String cursor, int size) {
+        return searchAfter(ownerId, q, maxTime, ingredients, tags, cursor, size, entities());
+    }
+
+    /**
+     * キーセットページネーションでレシピを検索し、一覧表示用のDTOで返します。
+     * 取得する列は {@link #searchViews} と同様にfieldsで指定したものに限られます。
+     *
+     * @param ownerId 所有者ID（オプション）
+     * @param q タイトル検索クエリ（オプション）
+     * @param maxTime 最大調理時間（分単位、オプション）
+     * @param ingredients 材料フィルター（オプション）
+     * @param tags タグフィルター（オプション）
+     * @param cursor 前のページのnextCursor（先頭ページの場合はnullまたは空文字列）
+     * @param size ページサイズ
+     * @param fields 取得するフィールド（含まれないフィールドはnull）
+     * @return 条件に一致するRecipeViewのページと次のページのカーソル
+     * @throws IllegalArgumentException カーソルの形式が不正な場合、ページサイズが正でない場合、またはfieldsがnullの場合
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<RecipeDto.RecipeView> searchViewsAfter(Long ownerId, String q, Integer maxTime,
+                                                             IngredientFilter ingredients, TagFilter tags,
+                                                             String cursor, int size, Set<RecipeField> fields) {
+        return searchAfter(ownerId, q, maxTime, ingredients, tags, cursor, size, views(fields));
+    }
+
+    /**
+     * 所有者の全レシピを材料付きのRecipeViewとしてID順に1件ずつ sink に渡します。
+     * レシピはサーバーサイドカーソルで少しずつ読み込み、一定件数ごとに材料をまとめて取得して
+     * 永続化コンテキストから切り離すため、レシピ数に関わらずメモリ使用量は一定です。
+     * ページングを行わず1つのトランザクション内で読み切るため、結果は開始時点の一貫したスナップショットになります。
+     *
+     * @param ownerId 所有者ID
+     * @param sink 各レシピの出力先
+     * @return 出力したレシピの件数
+     * @throws IllegalArgumentException 所有者IDがnullの場合
+     */
+    @Transactional(readOnly = true)
+    public long exportViews(Long ownerId, Consumer<RecipeDto.RecipeView> sink) {
+        if (ownerId == null) {
+            throw new IllegalArgumentException("Owner ID is required");
+        }
+
+        long count = 0;
+        List<RecipeEntity> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<RecipeEntity> recipes = recipeRepository.streamByOwnerId(ownerId)) {
+            for (RecipeEntity recipe : (Iterable<RecipeEntity>) recipes::iterator) {
+                chunk.add(recipe);
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    count += exportChunk(chunk, sink);
+                }
+            }
+        }
+        return count + exportChunk(chunk, sink);
+    }
+
+    /**
+     * レシピのまとまりの材料を1回のクエリで取得してRecipeViewを出力し、永続化コンテキストを空にします。
+     */
+    private int exportChunk(List<RecipeEntity> chunk, Consumer<RecipeDto.RecipeView> sink) {
+        int size = chunk.size();
+        if (size == 0) {
+            return 0;
+        }
+        Map<Long, List<RecipeDto.IngredientItem>> ingredients =
+                findIngredientItems(chunk.stream().map(RecipeEntity::getId).toList());
+        for (RecipeEntity recipe : chunk) {
+            sink.accept(new RecipeDto.RecipeView(
+                    recipe.getId(),
+                    recipe.getTitle(),
+                    recipe.getSteps(),
+                    recipe.getCookTimeMin(),
+                    recipe.getTags(),
+                    ingredients.getOrDefault(recipe.getId(), List.of())));
+        }
+        chunk.clear();
+        // 読み取り専用のため破棄しても失われる変更はない
+        entityManager.clear();
+        return size;
+    }
+
+    private <T, R> CursorPage<R> searchAfter(Long ownerId, String q, Integer maxTime,
+                                             IngredientFilter ingredients, TagFilter tags,
+                                             String cursor, int size, SearchProjection<T, R> projection) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(projection.rowType());
+        Root<RecipeEntity> recipe = query.from(RecipeEntity.class);
+        query.select(projection.selection().apply(cb, recipe));
+
+        List<Predicate> predicates = buildSearchPredicates(cb, query, recipe, ownerId, q, maxTime,
+                resolveIngredientGroups(ingredients), tags);
+
+        // カーソルより後ろの行: createdAt < :createdAt OR (createdAt = :createdAt AND id < :id)
+        if (after != null) {
+            Instant createdAt = after.parseKey(Instant::parse);
+            if (createdAt == null) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            predicates.add(cb.or(
+                    cb.lessThan(recipe.get("createdAt"), createdAt),
+                    cb.and(cb.equal(recipe.get("createdAt"), createdAt),
+                            cb.lessThan(recipe.get("id"), after.id()))));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.desc(recipe.get("createdAt")), cb.desc(recipe.get("id")));
+
+        // 1件多く取得して次のページの有無を判定する
+        List<T> rows = new ArrayList<>(entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList());
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = new ArrayList<>(rows.subList(0, size));
+            nextCursor = projection.cursorKey().apply(rows.get(size - 1)).encode();
+        }
+
+        return new CursorPage<>(projection.converter().apply(rows), size, nextCursor);
+    }
+
+    /**
+     * レシピ検索の絞り込み条件を組み立てます。
+     * ページ取得・件数カウント・キーセット取得のクエリで共通に使用します。
+     * 材料は {@link #resolveIngredientGroups(IngredientFilter)} で解決済みのグループで指定します。
+     */
+    private List<Predicate> buildSearchPredicates(CriteriaBuilder cb, AbstractQuery<?> query,
+                                                  Root<RecipeEntity> recipe, Long ownerId, String q,
+                                                  Integer maxTime, List<IngredientGroup> ingredientGroups,
+                                                  TagFilter tags) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        // 所有者でフィルタリング
         if (ownerId != null) {
-            countPredicates.add(cb.equal(countRoot.get("ownerId"), ownerId));
+            predicates.add(cb.equal(recipe.get("ownerId"), ownerId));
         }
+
+        // タイトルでフィルタリング（部分一致、大文字小文字を区別しない）
         if (q != null && !q.isBlank()) {
-            countPredicates.add(cb.like(cb.lower(countRoot.get("title")), "%" + q.toLowerCase() + "%"));
+            predicates.add(cb.like(cb.lower(recipe.get("title")), "%" + q.toLowerCase() + "%"));
         }
+
+        // 最大調理時間でフィルタリング
         if (maxTime != null) {
-            countPredicates.add(cb.lessThanOrEqualTo(countRoot.get("cookTimeMin"), maxTime));
+            predicates.add(cb.lessThanOrEqualTo(recipe.get("cookTimeMin"), maxTime));
         }
-        if (ingredient != null && !ingredient.isBlank()) {
-            Subquery<Long> countSubquery = countQuery.subquery(Long.class);
-            Root<RecipeIngredientEntity> countRecipeIngredient = countSubquery.from(RecipeIngredientEntity.class);
-            countSubquery.select(countRecipeIngredient.get("recipe").get("id"));
-            countSubquery.where(cb.like(cb.lower(countRecipeIngredient.get("ingredient").get("name")),
-                    "%" + ingredient.toLowerCase() + "%"));
-            countPredicates.add(countRoot.get("id").in(countSubquery));
+
+        // 材料でフィルタリング: グループごとに、そのいずれかの材料を含むレシピに絞り込む。
+        // EXISTS (SELECT 1 FROM recipe_ingredients WHERE recipe_id = r.id AND ingredient_id IN (...)) は
+        // 主キー (ingredient_id, recipe_id) のインデックスで解決される。
+        // IDに解決しなかったグループは、同じEXISTS内で材料を結合して名前で絞り込む
+        for (IngredientGroup group : ingredientGroups) {
+            if (group.ids() != null && group.ids().isEmpty()) {
+                // 一致する材料が存在しないグループがある場合は結果なし
+                predicates.add(cb.disjunction());
+                continue;
+            }
+            Subquery<Integer> subquery = query.subquery(Integer.class);
+            Root<RecipeIngredientEntity> recipeIngredient = subquery.from(RecipeIngredientEntity.class);
+            subquery.select(cb.literal(1));
+            subquery.where(
+                    cb.equal(recipeIngredient.get("id").get("recipeId"), recipe.get("id")),
+                    group.ids() != null
+                            ? recipeIngredient.get("id").get("ingredientId").in(group.ids())
+                            : ingredientNameMatches(cb, recipeIngredient, group.fragments()));
+            predicates.add(cb.exists(subquery));
         }
-        countQuery.where(countPredicates.toArray(new Predicate[0]));
 
-        Long total = entityManager.createQuery(countQuery).getSingleResult();
+        // タグでフィルタリング（完全一致）: 全てに一致の場合はタグごと、いずれかに一致の場合はまとめて
+        // EXISTS (SELECT 1 FROM recipe_tags WHERE recipe_id = r.id AND tag IN (...)) で絞り込む
+        if (tags != null && !tags.isEmpty()) {
+            List<List<String>> tagGroups = tags.matchAll()
+                    ? tags.tags().stream().map(List::of).toList()
+                    : List.of(tags.tags());
+            for (List<String> group : tagGroups) {
+                Subquery<Integer> subquery = query.subquery(Integer.class);
+                Root<RecipeEntity> tagged = subquery.correlate(recipe);
+                Join<RecipeEntity, String> tag = tagged.join("normalizedTags");
+                subquery.select(cb.literal(1));
+                subquery.where(tag.in(group));
+                predicates.add(cb.exists(subquery));
+            }
+        }
+
+        return predicates;
+    }
+
+    /**
+     * 材料フィルターの部分文字列を材料IDに解決し、レシピが1つ以上含むべき材料のグループに変換します。
+     * 全ての部分文字列を1回のクエリで解決するため、ページ取得と件数カウントで材料名の検索を繰り返しません。
+     * 全てに一致（all）の場合は部分文字列ごとに1グループ、いずれかに一致（any）の場合は全体を1グループにまとめます。
+     * 一致する材料が {@link #MAX_INGREDIENT_FILTER_IDS} 件を超える場合は、IDではなく部分文字列のグループを返し、
+     * 検索クエリ内で材料を結合して名前で絞り込みます。
+     *
+     * @return 材料のグループのリスト（フィルターなしの場合は空のリスト）
+     */
+    private List<IngredientGroup> resolveIngredientGroups(IngredientFilter ingredients) {
+        if (ingredients == null || ingredients.isEmpty()) {
+            return List.of();
+        }
+
+        Optional<Map<String, Set<Long>>> idsByName =
+                ingredientService.findIdsByNameContaining(ingredients.names(), MAX_INGREDIENT_FILTER_IDS);
+        if (idsByName.isEmpty()) {
+            if (ingredients.matchAll()) {
+                return ingredients.names().stream()
+                        .map(name -> new IngredientGroup(null, List.of(name)))
+                        .toList();
+            }
+            return List.of(new IngredientGroup(null, ingredients.names()));
+        }
+
+        if (ingredients.matchAll()) {
+            return idsByName.get().values().stream()
+                    .map(ids -> new IngredientGroup(ids, null))
+                    .toList();
+        }
+        Set<Long> union = new LinkedHashSet<>();
+        idsByName.get().values().forEach(union::addAll);
+        return List.of(new IngredientGroup(union, null));
+    }
+
+    /**
+     * レシピの材料の名前がいずれかの部分文字列を含む条件を作成します。
+     * 材料を結合して {@code lower(name) LIKE ...} で絞り込み、材料IDをバインドしません。
+     */
+    private static Predicate ingredientNameMatches(CriteriaBuilder cb, Root<RecipeIngredientEntity> recipeIngredient,
+                                                   List<String> fragments) {
+        Join<RecipeIngredientEntity, IngredientEntity> ingredient = recipeIngredient.join("ingredient");
+        Expression<String> lowerName = cb.lower(ingredient.get("name"));
+        return cb.or(fragments.stream()
+                .map(fragment -> cb.like(lowerName, "%" + fragment.toLowerCase() + "%"))
+                .toArray(Predicate[]::new));
+    }
+
+    /**
+     * タイトルと検索語のトライグラム類似度（PostgreSQL pg_trgm の similarity 関数）を表す式を作成します。
+     * lower(title) に対するGINインデックス（idx_recipes_title_trgm）と同じ式を使用します。
+     */
+    private Expression<Double> titleSimilarity(CriteriaBuilder cb, Root<RecipeEntity> recipe, String q) {
+        return cb.function("similarity", Double.class, cb.lower(recipe.get("title")), cb.literal(q.toLowerCase()));
+    }
+
+    /**
+     * ページ内のレシピの材料を1回のクエリでまとめて初期化します（レシピごとの遅延読み込みを避ける）。
+     */
+    private void fetchIngredients(List<RecipeEntity> recipes) {
+        if (!recipes.isEmpty()) {
+            recipeRepository.findWithIngredientsByIdIn(recipes.stream().map(RecipeEntity::getId).toList());
+        }
+    }
+
+    /**
+     * レシピエンティティを取得し、ページ内の材料をまとめて初期化する取得方法
+     */
+    private SearchProjection<RecipeEntity, RecipeEntity> entities() {
+        return new SearchProjection<>(
+                RecipeEntity.class,
+                (cb, recipe) -> recipe,
+                last -> new KeysetCursor(last.getCreatedAt().toString(), last.getId()),
+                recipes -> {
+                    fetchIngredients(recipes);
+                    return recipes;
+                });
+    }
+
+    /**
+     * 指定されたフィールドの列だけをタプルで取得し、RecipeViewに変換する取得方法
+     * idとcreatedAt（カーソル用）は常に取得します。
+     */
+    private SearchProjection<Tuple, RecipeDto.RecipeView> views(Set<RecipeField> fields) {
+        if (fields == null) {
+            throw new IllegalArgumentException("Fields are required");
+        }
+        return new SearchProjection<>(
+                Tuple.class,
+                (cb, recipe) -> {
+                    List<Selection<?>> selections = new ArrayList<>();
+                    selections.add(recipe.get("id").alias("id"));
+                    selections.add(recipe.get("createdAt").alias("createdAt"));
+                    for (RecipeField field : fields) {
+                        if (field != RecipeField.INGREDIENTS) {
+                            selections.add(recipe.get(field.property()).alias(field.property()));
+                        }
+                    }
+                    return cb.tuple(selections.toArray(new Selection<?>[0]));
+                },
+                last -> new KeysetCursor(last.get("createdAt", Instant.class).toString(), last.get("id", Long.class)),
+                rows -> toRecipeViews(rows, fields));
+    }
 
-        return new PageImpl<>(results, pageable, total);
+    /**
+     * タプルの行をRecipeViewに変換します。材料はfieldsに含まれる場合のみまとめて取得します。
+     */
+    private List<RecipeDto.RecipeView> toRecipeViews(List<Tuple> rows, Set<RecipeField> fields) {
+        Map<Long, List<RecipeDto.IngredientItem>> ingredients = fields.contains(RecipeField.INGREDIENTS)
+                ? findIngredientItems(rows.stream().map(row -> row.get("id", Long.class)).toList())
+                : Map.of();
+
+        List<RecipeDto.RecipeView> views = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Long id = row.get("id", Long.class);
+            views.add(new RecipeDto.RecipeView(
+                    id,
+                    valueOf(row, fields, RecipeField.TITLE, String.class),
+                    valueOf(row, fields, RecipeField.STEPS, String.class),
+                    valueOf(row, fields, RecipeField.COOK_TIME_MIN, Integer.class),
+                    valueOf(row, fields, RecipeField.TAGS, String.class),
+                    fields.contains(RecipeField.INGREDIENTS) ? ingredients.getOrDefault(id, List.of()) : null));
+        }
+        return views;
+    }
+
+    private static <V> V valueOf(Tuple row, Set<RecipeField> fields, RecipeField field, Class<V> type) {
+        return fields.contains(field) ? row.get(field.property(), type) : null;
+    }
+
+    /**
+     * レシピの材料（材料名と分量）を1回のクエリでまとめて取得します。
+     * 材料エンティティは読み込まず、材料名は材料辞書キャッシュから解決します。
+     *
+     * @return レシピIDをキーとする材料のリストのマップ
+     */
+    private Map<Long, List<RecipeDto.IngredientItem>> findIngredientItems(List<Long> recipeIds) {
+        if (recipeIds.isEmpty()) {
+            return Map.of();
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<RecipeIngredientEntity> recipeIngredient = query.from(RecipeIngredientEntity.class);
+        Path<Long> recipeId = recipeIngredient.get("id").get("recipeId");
+        Path<Long> ingredientId = recipeIngredient.get("id").get("ingredientId");
+        query.multiselect(recipeId, ingredientId, recipeIngredient.get("quantity"));
+        query.where(recipeId.in(recipeIds));
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+
+        Set<Long> ingredientIds = new HashSet<>();
+        rows.forEach(row -> ingredientIds.add(row.get(1, Long.class)));
+        Map<Long, String> names = ingredientService.findNamesByIds(ingredientIds);
+
+        Map<Long, List<RecipeDto.IngredientItem>> items = new LinkedHashMap<>();
+        for (Tuple row : rows) {
+            items.computeIfAbsent(row.get(0, Long.class), id -> new ArrayList<>())
+                    .add(new RecipeDto.IngredientItem(names.get(row.get(1, Long.class)), row.get(2, String.class)));
+        }
+        return items;
     }
 
     /**
@@ -258,6 +829,9 @@ public class RecipeService {
             recipe.setTags(req.tags());
         }
 
+        // シリアライズ済みのレシピを破棄する（並行して古いバージョンが書き込まれても、バージョンが異なるため返されない）
+        recipeViewCache.invalidate(id);
+
         return recipeRepository.save(recipe);
     }
 
@@ -286,5 +860,98 @@ public class RecipeService {
         }
 
         recipeRepository.delete(recipe);
+        recipeViewCache.invalidate(id);
+    }
+
+    /**
+     * 正規化タグ（recipe_tags）を持たない既存レシピについて、tags 列からタグを1バッチ分移行します。
+     * IDの昇順に afterId より後ろのレシピを最大 batchSize 件ロックして読み込み、
+     * {@link RecipeEntity#normalizeTags(String)} で正規化したタグを1回の複数行INSERTで書き込みます。
+     * 既にタグを持つレシピは対象外のため、何度実行しても結果は変わりません。
+     *
+     * @param afterId 前のバッチで処理した最後のレシピID（最初のバッチは0）
+     * @param batchSize 1バッチで処理するレシピの最大数
+     * @return 処理したレシピのIDのリスト（IDの昇順、空の場合は移行完了）
+     * @throws IllegalArgumentException バッチサイズが正でない場合
+     */
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<Long> backfillTags(long afterId, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        // 並行する更新とタグが食い違わないよう、対象のレシピ行をロックして読み込む
+        List<Object[]> rows = entityManager.createNativeQuery(
+                        "SELECT r.id, r.tags FROM recipes r "
+                                + "WHERE r.id > ?1 AND r.tags IS NOT NULL "
+                                + "AND NOT EXISTS (SELECT 1 FROM recipe_tags t WHERE t.recipe_id = r.id) "
+                                + "ORDER BY r.id LIMIT ?2 FOR UPDATE")
+                .setParameter(1, afterId)
+                .setParameter(2, batchSize)
+                .getResultList();
+
+        List<Long> recipeIds = new ArrayList<>();
+        List<Object[]> tagRows = new ArrayList<>();
+        for (Object[] row : rows) {
+            Long recipeId = ((Number) row[0]).longValue();
+            recipeIds.add(recipeId);
+            for (String tag : RecipeEntity.normalizeTags((String) row[1])) {
+                tagRows.add(new Object[]{recipeId, tag});
+            }
+        }
+
+        // バインド変数の上限（32767個）を超えないよう、INSERTを一定行数ごとに分割する
+        for (int from = 0; from < tagRows.size(); from += TAG_INSERT_CHUNK_SIZE) {
+            insertTags(tagRows.subList(from, Math.min(from + TAG_INSERT_CHUNK_SIZE, tagRows.size())));
+        }
+        return recipeIds;
+    }
+
+    /**
+     * (recipe_id, tag) の行を複数行INSERTで書き込みます。既に存在する行は無視されます。
+     */
+    private void insertTags(List<Object[]> tagRows) {
+        String values = IntStream.range(0, tagRows.size())
+                .mapToObj(i -> "(?" + (2 * i + 1) + ", ?" + (2 * i + 2) + ")")
+                .collect(Collectors.joining(", "));
+        Query insert = entityManager.createNativeQuery(
+                "INSERT INTO recipe_tags (recipe_id, tag) VALUES " + values + " ON CONFLICT DO NOTHING");
+        // 書き込むテーブルを指定し、二次キャッシュはレシピのタグのリージョンだけを無効化する
+        insert.setHint(HibernateHints.HINT_NATIVE_SPACES, "recipe_tags");
+        for (int i = 0; i < tagRows.size(); i++) {
+            insert.setParameter(2 * i + 1, tagRows.get(i)[0]);
+            insert.setParameter(2 * i + 2, tagRows.get(i)[1]);
+        }
+        insert.executeUpdate();
+    }
+
+    /**
+     * 検索結果の取得方法
+     * 絞り込み条件・並び順・ページングは共通で、SELECT句と取得した行の変換だけを切り替えます。
+     *
+     * @param rowType 取得する行の型
+     * @param selection SELECT句
+     * @param cursorKey 行のキーセットカーソル
+     * @param converter 取得した行を結果に変換する処理
+     */
+    private record SearchProjection<T, R>(Class<T> rowType,
+                                          BiFunction<CriteriaBuilder, Root<RecipeEntity>, Selection<T>> selection,
+                                          Function<T, KeysetCursor> cursorKey,
+                                          Function<List<T>, List<R>> converter) {
+    }
+
+    /**
+     * 材料フィルターの1グループ（レシピはいずれかの材料を含む必要がある）
+     * ids が解決済みの材料ID、ids がnullの場合は fragments を名前に含む材料で絞り込む。
+     */
+    private record IngredientGroup(Set<Long> ids, List<String> fragments) {
+    }
+
+    /**
+     * 総件数キャッシュのキー（レシピ検索の絞り込み条件）
+     */
+    private record RecipeCountKey(Long ownerId, String q, Integer maxTime, IngredientFilter ingredients,
+                                  TagFilter tags) {
     }
 }
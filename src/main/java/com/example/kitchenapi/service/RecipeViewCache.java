@@ -0,0 +1,116 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.config.AppCacheProps;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * シリアライズ済みレシピのキャッシュ
+ * GET /api/recipes/{id} の応答本体（RecipeViewのJSON）をレシピIDごとにバイト列で保持し、
+ * 読み込みの多いレシピでエンティティの読み込み・DTOへの変換・JSONのシリアライズを省略します。
+ * 各エントリは作成時のレシピのバージョンを持ち、要求されたバージョンと一致する場合にだけ返すため、
+ * 更新の直前に読み込んだ古い内容が無効化の後に書き込まれても、古い内容を返すことはありません。
+ * JSONのバイト数の合計が app.cache.recipe-view-max-size を超えると使用頻度の低いものから破棄されます。
+ * ヒット/ミス数は cache.gets メトリクス（cache=recipe.views）、保持しているバイト数は recipe.view.cache.size で確認できます。
+ */
+@Component
+public class RecipeViewCache {
+
+    /**
+     * 1エントリあたりのJSON以外のおおよそのメモリ使用量（キー、エントリ、配列ヘッダー）
+     */
+    static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final Cache<Long, Entry> views;
+    private final boolean enabled;
+
+    @Autowired
+    public RecipeViewCache(AppCacheProps props, MeterRegistry meterRegistry) {
+        this(props, meterRegistry, ForkJoinPool.commonPool());
+    }
+
+    RecipeViewCache(AppCacheProps props, MeterRegistry meterRegistry, Executor executor) {
+        long maxBytes = props.getRecipeViewMaxSize().toBytes();
+        this.enabled = maxBytes > 0;
+        this.views = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Entry entry) -> entry.json().length + ENTRY_OVERHEAD_BYTES)
+                .executor(executor)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, views, "recipe.views");
+        Gauge.builder("recipe.view.cache.size", views, RecipeViewCache::weightedSize)
+                .description("Approximate memory held by serialized recipe views")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("recipe.view.cache.max.size", () -> maxBytes)
+                .description("Upper bound of memory held by serialized recipe views")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 指定したバージョンのシリアライズ済みレシピを返します。
+     * 返されたバイト列は他のリクエストと共有されるため、変更しないでください。
+     *
+     * @param id レシピID
+     * @param version レシピのバージョン
+     * @return JSONのバイト列（キャッシュにない場合、またはバージョンが異なる場合はnull）
+     */
+    public byte[] get(Long id, long version) {
+        Entry entry = views.getIfPresent(id);
+        return entry != null && entry.version() == version ? entry.json() : null;
+    }
+
+    /**
+     * シリアライズ済みレシピをキャッシュします。
+     * バイト列はコピーせずに共有されるため、呼び出し後に変更しないでください。
+     *
+     * @param id レシピID
+     * @param version JSONの作成に使用したレシピのバージョン
+     * @param json RecipeViewのJSON
+     */
+    public void put(Long id, long version, byte[] json) {
+        if (enabled) {
+            views.put(id, new Entry(version, json));
+        }
+    }
+
+    /**
+     * レシピのキャッシュを破棄します。レシピの更新・削除時に呼び出します。
+     *
+     * @param id レシピID
+     */
+    public void invalidate(Long id) {
+        views.invalidate(id);
+    }
+
+    /**
+     * 保持しているJSONのおおよそのバイト数を返します。
+     *
+     * @return エントリの重みの合計（バイト）
+     */
+    public long weightedSize() {
+        return weightedSize(views);
+    }
+
+    private static long weightedSize(Cache<Long, Entry> views) {
+        return views.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    /**
+     * 作成時のバージョンとJSON
+     */
+    private record Entry(long version, byte[] json) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.config.AppCacheProps;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 検索結果の総件数のキャッシュ
+ * count=estimate の検索で、絞り込み条件ごとの総件数を一定時間（app.cache.search-count-ttl）再利用します。
+ * 期間内の追加・削除は反映されないため、値は概算として扱ってください。
+ * ヒット/ミス数は cache.gets メトリクス（cache=search.counts）で確認できます。
+ */
+@Component
+public class SearchCountCache {
+
+    private final Cache<Object, Long> counts;
+
+    public SearchCountCache(AppCacheProps props, MeterRegistry meterRegistry) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(props.getSearchCountMaxSize())
+                .expireAfterWrite(props.getSearchCountTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "search.counts");
+    }
+
+    /**
+     * 絞り込み条件に対応する総件数を返します。
+     * キャッシュにない場合は loader でカウントしてキャッシュします。
+     *
+     * @param key 絞り込み条件を表すキー（equals/hashCodeを実装したレコード等）
+     * @param loader 総件数を数える処理
+     * @return 総件数
+     */
+    public long get(Object key, LongSupplier loader) {
+        return counts.get(key, k -> loader.getAsLong());
+    }
+}
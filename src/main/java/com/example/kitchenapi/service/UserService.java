@@ -2,8 +2,9 @@ package com.example.kitchenapi.service;
 
 import com.example.kitchenapi.entity.UserEntity;
 import com.example.kitchenapi.repository.UserRepository;
+import com.example.kitchenapi.security.PasswordHashingService;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
@@ -11,29 +12,31 @@ import org.springframework.web.server.ResponseStatusException;
 /**
  * ユーザー管理のサービス層
  * ユーザーの登録、ログイン、およびユーザー取得操作を処理します。
+ * 登録とログインはハッシュ計算中にDB接続を保持しないよう、メソッド全体のトランザクションを張りません。
+ * Open Session in View の間も接続はトランザクションの終了ごとに返却されるため（hibernate.connection.handling_mode）、
+ * ユーザーの検索後、ハッシュ計算の完了を待つ間は接続プールの接続を使用しません。
  */
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordHashingService passwordHashingService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
     }
 
     /**
      * メールアドレス、名前、パスワードを使用して新しいユーザーを登録します。
-     * パスワードはBCryptPasswordEncoderを使用してハッシュ化されます。
+     * パスワードは専用スレッドでBCryptを使用してハッシュ化されます。
      *
      * @param email ユーザーのメールアドレス
      * @param name ユーザーの名前
      * @param password ユーザーの平文パスワード
      * @return 作成されたUserEntity
-     * @throws ResponseStatusException メールアドレスが既に存在する場合は409
+     * @throws ResponseStatusException メールアドレスが既に存在する場合は409、ハッシュ計算が混雑している場合は503
      */
-    @Transactional
     public UserEntity signup(String email, String name, String password) {
         if (email == null || email.isBlank()) {
             throw new IllegalArgumentException("Email is required");
@@ -51,11 +54,15 @@ public class UserService {
         }
 
         // パスワードをハッシュ化
-        String passwordHash = passwordEncoder.encode(password);
+        String passwordHash = passwordHashingService.encode(password);
 
-        // ユーザーを作成して保存
+        // ユーザーを作成して保存（ハッシュ計算中に同じメールアドレスで登録された場合は一意制約で検出）
         UserEntity user = new UserEntity(email, name, passwordHash);
-        return userRepository.save(user);
+        try {
+            return userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already exists");
+        }
     }
 
     /**
@@ -64,9 +71,8 @@ public class UserService {
      * @param email ユーザーのメールアドレス
      * @param password ユーザーの平文パスワード
      * @return 認証されたUserEntity
-     * @throws ResponseStatusException 認証に失敗した場合は401
+     * @throws ResponseStatusException 認証に失敗した場合は401、ハッシュ計算が混雑している場合は503
      */
-    @Transactional(readOnly = true)
     public UserEntity login(String email, String password) {
         if (email == null || email.isBlank()) {
             throw new IllegalArgumentException("Email is required");
@@ -79,7 +85,7 @@ public class UserService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
 
         // パスワードを検証
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHashingService.matches(password, user.getPasswordHash())) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
         }
 
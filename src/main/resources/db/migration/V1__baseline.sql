@@ -0,0 +1,70 @@
+-- ベースラインスキーマ
+-- これまで Hibernate の ddl-auto で作成していたスキーマと同一。
+-- 既存の開発DBにも適用できるよう、すべて IF NOT EXISTS で作成する。
+
+CREATE SEQUENCE IF NOT EXISTS recipes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    created_at timestamp(6) with time zone NOT NULL,
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    email varchar(255) NOT NULL UNIQUE,
+    name varchar(255) NOT NULL,
+    password_hash varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS ingredients (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    name varchar(255) NOT NULL UNIQUE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS recipes (
+    cook_time_min integer,
+    created_at timestamp(6) with time zone NOT NULL,
+    id bigint NOT NULL,
+    owner_id bigint NOT NULL,
+    steps text,
+    tags varchar(255),
+    title varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS recipe_ingredients (
+    ingredient_id bigint NOT NULL,
+    recipe_id bigint NOT NULL,
+    quantity varchar(255) NOT NULL,
+    PRIMARY KEY (ingredient_id, recipe_id)
+);
+
+CREATE TABLE IF NOT EXISTS pantry_items (
+    expires_on date,
+    created_at timestamp(6) with time zone NOT NULL,
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    ingredient_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    amount varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- 外部キー（制約名は Hibernate が生成していた名前に合わせる）
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkw4jrgw1pfwxf9co3gvcw56r0') THEN
+        ALTER TABLE pantry_items ADD CONSTRAINT fkw4jrgw1pfwxf9co3gvcw56r0
+            FOREIGN KEY (ingredient_id) REFERENCES ingredients;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkgukrw6na9f61kb8djkkuvyxy8') THEN
+        ALTER TABLE recipe_ingredients ADD CONSTRAINT fkgukrw6na9f61kb8djkkuvyxy8
+            FOREIGN KEY (ingredient_id) REFERENCES ingredients;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkcqlw8sor5ut10xsuj3jnttkc') THEN
+        ALTER TABLE recipe_ingredients ADD CONSTRAINT fkcqlw8sor5ut10xsuj3jnttkc
+            FOREIGN KEY (recipe_id) REFERENCES recipes;
+    END IF;
+END $$;
+
+-- 既存データがある場合、recipes_seq を既存の最大IDより先に進める
+-- （Hibernate の pooled オプティマイザは nextval の値を割り当て範囲の上端として使うため、1ブロック分余裕を持たせる）
+SELECT setval('recipes_seq', (SELECT MAX(id) FROM recipes) + 50)
+WHERE EXISTS (SELECT 1 FROM recipes);
@@ -0,0 +1,3 @@
+-- タイトルの部分一致検索用に pg_trgm 拡張を有効化する
+-- （PostgreSQL 13 以降は trusted 拡張のため、DBオーナー権限で作成できる）
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,5 @@
+-- レシピタイトルのトライグラムGINインデックス
+-- lower(title) LIKE '%q%' と similarity(lower(title), q) の両方で使用される。
+-- 稼働中のテーブルをロックしないよう CONCURRENTLY で作成する（Flyway はこのスクリプトをトランザクション外で実行する）。
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_recipes_title_trgm
+    ON recipes USING gin (lower(title) gin_trgm_ops);
@@ -0,0 +1,5 @@
+-- 材料名のトライグラムGINインデックス
+-- レシピ検索の材料フィルターは lower(name) LIKE '%x%' で先に材料IDを解決し、
+-- recipe_ingredients の主キー (ingredient_id, recipe_id) を使ってレシピに準結合する。
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ingredients_name_trgm
+    ON ingredients USING gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,12 @@
+-- レシピタグの正規化テーブル
+-- recipes.tags（カンマ区切り）を1タグ1行で保持し、タグ検索は LIKE ではなく完全一致で行う。
+-- 既存レシピのタグはアプリケーションの RecipeTagBackfillJob がバッチで移行する。
+CREATE TABLE IF NOT EXISTS recipe_tags (
+    recipe_id bigint NOT NULL,
+    tag varchar(255) NOT NULL,
+    PRIMARY KEY (recipe_id, tag),
+    CONSTRAINT fk_recipe_tags_recipe FOREIGN KEY (recipe_id) REFERENCES recipes
+);
+
+-- タグからレシピを探す場合（主キーはレシピからタグを探す場合に使用される）
+CREATE INDEX IF NOT EXISTS idx_recipe_tags_tag ON recipe_tags (tag, recipe_id);
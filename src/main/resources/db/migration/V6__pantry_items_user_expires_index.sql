@@ -0,0 +1,6 @@
+-- パントリー項目の (user_id, expires_on) インデックス
+-- 期限切れチェックジョブはこのインデックスをユーザーIDの順にたどって対象ユーザーをキーセットで分割し、
+-- チャンクごとに user_id IN (...) AND expires_on BETWEEN ... で項目を取得する。
+-- ユーザーごとの在庫検索（賞味期限の昇順）でも使用される。
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pantry_items_user_expires
+    ON pantry_items (user_id, expires_on);
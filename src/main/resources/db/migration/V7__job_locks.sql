@@ -0,0 +1,10 @@
+-- スケジュールジョブの実行ロック（リース）
+-- 複数のインスタンスで同じ時刻に起動したジョブのうち、locked_until を過ぎたロックを取得できた1台だけが実行する。
+-- 時刻はすべてDBの now() で比較するため、インスタンス間の時計のずれに影響されない。
+CREATE TABLE IF NOT EXISTS job_locks (
+    name varchar(64) NOT NULL,
+    locked_until timestamp(6) with time zone NOT NULL,
+    locked_at timestamp(6) with time zone NOT NULL,
+    locked_by varchar(255) NOT NULL,
+    PRIMARY KEY (name)
+);
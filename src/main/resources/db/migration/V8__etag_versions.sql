@@ -0,0 +1,12 @@
+-- 条件付きGET（ETag / If-None-Match）用のバージョン列と、ユーザーごとのパントリーの世代
+-- 定数のデフォルト値を持つ列の追加はカタログの更新だけで済み、既存の行は書き換えない。
+ALTER TABLE recipes ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE pantry_items ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+-- パントリーへの書き込み（追加・更新・削除・一括操作）のたびに同じトランザクションで増やす。
+-- 一覧のETagはこの値から作るため、304 を返す場合はこの1行を読むだけで済む。
+CREATE TABLE IF NOT EXISTS pantry_generations (
+    user_id bigint NOT NULL,
+    generation bigint NOT NULL,
+    PRIMARY KEY (user_id)
+);
@@ -0,0 +1,18 @@
+-- レシピ一覧と材料の読み込みに使用するインデックス
+-- 既存のテーブルへの書き込みを止めないよう、すべて CONCURRENTLY で作成する。
+
+-- 所有者ごとのレシピ検索（作成日時の降順、カーソルの id を含む）。
+-- owner_id = ? ORDER BY created_at DESC, id DESC をこのインデックスの逆順走査だけで解決する。
+-- エクスポート（owner_id = ? ORDER BY id）でも所有者の行の特定に使用される。
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_recipes_owner_created
+    ON recipes (owner_id, created_at, id);
+
+-- 所有者を指定しないレシピ一覧（作成日時の降順）。
+-- 先頭のページを読むだけで済むよう、ORDER BY created_at DESC, id DESC LIMIT ... をこのインデックスで返す。
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_recipes_created
+    ON recipes (created_at, id);
+
+-- レシピの材料の読み込み（recipe_id = ?）とレシピ削除時のカスケード。
+-- 主キー (ingredient_id, recipe_id) は材料IDで絞り込む場合にしか使えないため、recipe_id を先頭にした索引を追加する。
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_recipe_ingredients_recipe
+    ON recipe_ingredients (recipe_id);
@@ -0,0 +1,34 @@
+package com.example.kitchenapi;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Base class for integration tests against a real PostgreSQL instance.
+ * One container is started for the whole test run and shared by every subclass (it is stopped when the JVM exits),
+ * so Spring can also reuse one application context across test classes whose configuration is otherwise the same.
+ * Since the database is shared, tests must scope their data (e.g. a fresh owner or user id) instead of assuming
+ * empty tables. Subclasses declare {@code @SpringBootTest} and may add properties with their own
+ * {@code @DynamicPropertySource} method.
+ */
+@ActiveProfiles("test")
+public abstract class AbstractPostgresIT {
+
+    protected static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("kitchen_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    static {
+        postgres.start();
+    }
+
+    @DynamicPropertySource
+    static void configureDataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.kitchenapi.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BatchOperation 単体テスト")
+class BatchOperationTest {
+
+    @Test
+    @DisplayName("parse - 大文字小文字を区別せずに解析できる")
+    void parse_CaseInsensitive() {
+        assertThat(BatchOperation.parse("add")).isEqualTo(BatchOperation.ADD);
+        assertThat(BatchOperation.parse("Update")).isEqualTo(BatchOperation.UPDATE);
+        assertThat(BatchOperation.parse(" DELETE ")).isEqualTo(BatchOperation.DELETE);
+    }
+
+    @Test
+    @DisplayName("parse - 異常系: nullまたは空白")
+    void parse_Missing() {
+        assertThatThrownBy(() -> BatchOperation.parse(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Operation is required");
+        assertThatThrownBy(() -> BatchOperation.parse(" "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Operation is required");
+    }
+
+    @Test
+    @DisplayName("parse - 異常系: 不明な値")
+    void parse_UnknownValue() {
+        assertThatThrownBy(() -> BatchOperation.parse("upsert"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid operation: upsert");
+    }
+
+    @Test
+    @DisplayName("value - 小文字の操作名を返す")
+    void value_Lowercase() {
+        assertThat(BatchOperation.ADD.value()).isEqualTo("add");
+        assertThat(BatchOperation.DELETE.value()).isEqualTo("delete");
+    }
+}
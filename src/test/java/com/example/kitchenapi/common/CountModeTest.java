@@ -0,0 +1,34 @@
+package com.example.kitchenapi.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CountMode 単体テスト")
+class CountModeTest {
+
+    @Test
+    @DisplayName("parse - 大文字小文字を区別せずに解析できる")
+    void parse_CaseInsensitive() {
+        assertThat(CountMode.parse("exact")).isEqualTo(CountMode.EXACT);
+        assertThat(CountMode.parse("Estimate")).isEqualTo(CountMode.ESTIMATE);
+        assertThat(CountMode.parse(" NONE ")).isEqualTo(CountMode.NONE);
+    }
+
+    @Test
+    @DisplayName("parse - nullまたは空白はEXACTになる")
+    void parse_DefaultsToExact() {
+        assertThat(CountMode.parse(null)).isEqualTo(CountMode.EXACT);
+        assertThat(CountMode.parse("")).isEqualTo(CountMode.EXACT);
+    }
+
+    @Test
+    @DisplayName("parse - 異常系: 不明な値")
+    void parse_UnknownValue() {
+        assertThatThrownBy(() -> CountMode.parse("approx"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid count mode: approx");
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.kitchenapi.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CursorPage 単体テスト")
+class CursorPageTest {
+
+    @Test
+    @DisplayName("map - 内容を変換し、サイズとカーソルを引き継ぐ")
+    void map_ConvertsContent() {
+        // Given
+        CursorPage<Integer> page = new CursorPage<>(List.of(1, 2, 3), 3, "next");
+
+        // When
+        CursorPage<String> mapped = page.map(i -> "#" + i);
+
+        // Then
+        assertThat(mapped.content()).containsExactly("#1", "#2", "#3");
+        assertThat(mapped.size()).isEqualTo(3);
+        assertThat(mapped.nextCursor()).isEqualTo("next");
+    }
+
+    @Test
+    @DisplayName("map - 最終ページのカーソルはnullのまま")
+    void map_LastPage() {
+        // Given
+        CursorPage<Integer> page = new CursorPage<>(List.of(), 20, null);
+
+        // When
+        CursorPage<String> mapped = page.map(String::valueOf);
+
+        // Then
+        assertThat(mapped.content()).isEmpty();
+        assertThat(mapped.nextCursor()).isNull();
+    }
+}
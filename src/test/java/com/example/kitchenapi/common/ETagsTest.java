@@ -0,0 +1,73 @@
+package com.example.kitchenapi.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ETags 単体テスト")
+class ETagsTest {
+
+    @Test
+    @DisplayName("of - 同じ値からは同じ強いETagを作る")
+    void of_SameParts() {
+        // When
+        String first = ETags.of("pantry", 1L, 3L, "たまねぎ", LocalDate.of(2025, 12, 31));
+        String second = ETags.of("pantry", 1L, 3L, "たまねぎ", LocalDate.of(2025, 12, 31));
+
+        // Then
+        assertThat(first).isEqualTo(second);
+        assertThat(first).matches("\"[0-9a-f]{32}\"");
+    }
+
+    @Test
+    @DisplayName("of - 世代や検索条件が変わるとETagも変わる")
+    void of_DifferentParts() {
+        // When
+        String etag = ETags.of("pantry", 1L, 3L, null, 20);
+
+        // Then
+        assertThat(ETags.of("pantry", 1L, 4L, null, 20)).isNotEqualTo(etag);
+        assertThat(ETags.of("pantry", 2L, 3L, null, 20)).isNotEqualTo(etag);
+        assertThat(ETags.of("pantry", 1L, 3L, "たまねぎ", 20)).isNotEqualTo(etag);
+        assertThat(ETags.of("pantry", 1L, 3L, null, 50)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("of - 値の区切りと順序を区別する")
+    void of_DistinguishesBoundaries() {
+        // Then
+        assertThat(ETags.of("ab", "c")).isNotEqualTo(ETags.of("a", "bc"));
+        assertThat(ETags.of(1L, 2L)).isNotEqualTo(ETags.of(2L, 1L));
+    }
+
+    @Test
+    @DisplayName("ok - ETagと再検証を求めるCache-Controlを付けて200を返す")
+    void ok_SetsHeaders() {
+        // When
+        ResponseEntity<String> response = ETags.ok("\"abc\"", "body");
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("body");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"abc\"");
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-cache, private");
+    }
+
+    @Test
+    @DisplayName("notModified - 本体を持たない304を返す")
+    void notModified_HasNoBody() {
+        // When
+        ResponseEntity<String> response = ETags.notModified("\"abc\"");
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"abc\"");
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-cache, private");
+    }
+}
@@ -3,6 +3,7 @@ package com.example.kitchenapi.common;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.validation.BindingResult;
@@ -121,6 +122,21 @@ class GlobalExceptionHandlerTest {
         assertThat(result.getDetail()).isEqualTo("Invalid credentials");
     }
 
+    @Test
+    @DisplayName("handleOptimisticLockingFailure - 同時更新の競合を409として処理する")
+    void handleOptimisticLockingFailure_ReturnsConflict() {
+        // Given
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("Row was updated");
+
+        // When
+        ProblemDetail result = handler.handleOptimisticLockingFailure(ex);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(409);
+        assertThat(result.getTitle()).isEqualTo("Conflict");
+        assertThat(result.getDetail()).isEqualTo("The resource was modified concurrently, please retry");
+    }
+
     @Test
     @DisplayName("handleIllegalArgumentException - 不正な引数エラーを正しく処理する")
     void handleIllegalArgumentException_ReturnsBadRequest() {
@@ -0,0 +1,93 @@
+package com.example.kitchenapi.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("IngredientFilter 単体テスト")
+class IngredientFilterTest {
+
+    @Test
+    @DisplayName("parse - 一致方法を大文字小文字を区別せずに解析できる")
+    void parse_CaseInsensitive() {
+        assertThat(IngredientFilter.parse(List.of("onion"), "all").matchAll()).isTrue();
+        assertThat(IngredientFilter.parse(List.of("onion"), " ANY ").matchAll()).isFalse();
+    }
+
+    @Test
+    @DisplayName("parse - 一致方法がnullまたは空白の場合はallになる")
+    void parse_DefaultsToAll() {
+        assertThat(IngredientFilter.parse(List.of("onion"), null).matchAll()).isTrue();
+        assertThat(IngredientFilter.parse(List.of("onion"), "").matchAll()).isTrue();
+    }
+
+    @Test
+    @DisplayName("parse - 材料名がnullの場合は絞り込みなし")
+    void parse_NullNames() {
+        // When
+        IngredientFilter filter = IngredientFilter.parse(null, "all");
+
+        // Then
+        assertThat(filter.isEmpty()).isTrue();
+        assertThat(filter.names()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("new - 前後の空白を除去し、空白のみの値と重複を除く")
+    void new_NormalizesNames() {
+        // When
+        IngredientFilter filter = new IngredientFilter(Arrays.asList(" onion ", "", null, "garlic", "onion"), true);
+
+        // Then
+        assertThat(filter.names()).containsExactly("onion", "garlic");
+        assertThat(filter.isEmpty()).isFalse();
+    }
+
+    @Test
+    @DisplayName("equals - 正規化後の内容が同じであれば等しい（総件数キャッシュのキーに使用）")
+    void equals_AfterNormalization() {
+        assertThat(new IngredientFilter(List.of("onion ", "garlic"), true))
+                .isEqualTo(new IngredientFilter(List.of("onion", "garlic", "garlic"), true))
+                .isNotEqualTo(new IngredientFilter(List.of("onion", "garlic"), false));
+    }
+
+    @Test
+    @DisplayName("new - 最大数までの材料を指定できる")
+    void new_MaxNames() {
+        // Given
+        List<String> names = IntStream.range(0, IngredientFilter.MAX_NAMES).mapToObj(i -> "item" + i).toList();
+
+        // When
+        IngredientFilter filter = new IngredientFilter(names, false);
+
+        // Then
+        assertThat(filter.names()).hasSize(IngredientFilter.MAX_NAMES);
+    }
+
+    @Test
+    @DisplayName("new - 異常系: 材料が多すぎる")
+    void new_TooManyNames() {
+        // Given
+        List<String> names = IntStream.rangeClosed(0, IngredientFilter.MAX_NAMES).mapToObj(i -> "item" + i).toList();
+
+        // When & Then
+        assertThatThrownBy(() -> new IngredientFilter(names, true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Too many ingredients (max 10)");
+    }
+
+    @Test
+    @DisplayName("parse - 異常系: 不明な一致方法")
+    void parse_UnknownMatch() {
+        assertThatThrownBy(() -> IngredientFilter.parse(Collections.singletonList("onion"), "some"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid ingredient match: some (expected all or any)");
+    }
+}
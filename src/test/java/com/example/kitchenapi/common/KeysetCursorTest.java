@@ -0,0 +1,96 @@
+package com.example.kitchenapi.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("KeysetCursor 単体テスト")
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("encode/decode - ソートキーとIDを往復できる")
+    void encodeDecode_RoundTrip() {
+        // Given
+        KeysetCursor cursor = new KeysetCursor("2024-01-02T03:04:05.123456Z", 42L);
+
+        // When
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.parseKey(Instant::parse)).isEqualTo(Instant.parse("2024-01-02T03:04:05.123456Z"));
+    }
+
+    @Test
+    @DisplayName("encode/decode - ソートキーがnullでも往復できる")
+    void encodeDecode_NullKey() {
+        // Given
+        KeysetCursor cursor = new KeysetCursor(null, 7L);
+
+        // When
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded.key()).isNull();
+        assertThat(decoded.id()).isEqualTo(7L);
+        LocalDate key = decoded.parseKey(LocalDate::parse);
+        assertThat(key).isNull();
+    }
+
+    @Test
+    @DisplayName("encode - URLセーフな文字のみを含む")
+    void encode_IsUrlSafe() {
+        // When
+        String encoded = new KeysetCursor("2024-01-02T03:04:05Z", 123456789L).encode();
+
+        // Then
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    @DisplayName("decode - nullまたは空文字列は先頭ページとしてnullを返す")
+    void decode_BlankMeansFirstPage() {
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode("")).isNull();
+        assertThat(KeysetCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    @DisplayName("decode - 異常系: Base64として不正")
+    void decode_InvalidBase64() {
+        assertThatThrownBy(() -> KeysetCursor.decode("!!!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    @DisplayName("decode - 異常系: IDが数値でない")
+    void decode_InvalidId() {
+        // Given
+        String cursor = Base64.getUrlEncoder().encodeToString("2024-01-01|abc".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    @DisplayName("parseKey - 異常系: ソートキーの形式が不正")
+    void parseKey_InvalidKey() {
+        // Given
+        KeysetCursor cursor = new KeysetCursor("yesterday", 1L);
+
+        // When & Then
+        assertThatThrownBy(() -> cursor.parseKey(LocalDate::parse))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.kitchenapi.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("NdjsonWriter 単体テスト")
+class NdjsonWriterTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @Test
+    @DisplayName("write - 1オブジェクトを1行のJSONとして書き込む")
+    void write_OneJsonPerLine() {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+
+        // When
+        Map<String, Object> recipe = new LinkedHashMap<>();
+        recipe.put("id", 1);
+        recipe.put("title", "複数\n行");
+        writer.write(recipe);
+        writer.write(List.of("a", "b"));
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"id\":1,\"title\":\"複数\\n行\"}\n[\"a\",\"b\"]\n");
+    }
+
+    @Test
+    @DisplayName("write - 書き込みごとに出力ストリームを閉じない")
+    void write_DoesNotCloseStream() {
+        // Given
+        boolean[] closed = {false};
+        OutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        // When
+        new NdjsonWriter(objectMapper, out).write(Map.of("id", 1));
+
+        // Then
+        assertThat(closed[0]).isFalse();
+    }
+
+    @Test
+    @DisplayName("write - 異常系: 書き込みに失敗した場合はUncheckedIOException")
+    void write_IOException() {
+        // Given
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+
+        // When & Then
+        assertThatThrownBy(() -> writer.write(Map.of("id", 1)))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseMessage("Broken pipe");
+    }
+}
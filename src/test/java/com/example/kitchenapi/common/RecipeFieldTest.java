@@ -0,0 +1,42 @@
+package com.example.kitchenapi.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RecipeField 単体テスト")
+class RecipeFieldTest {
+
+    @Test
+    @DisplayName("parse - カンマ区切りのフィールド名を大文字小文字を区別せずに解析できる")
+    void parse_CommaSeparatedCaseInsensitive() {
+        assertThat(RecipeField.parse("title, COOKTIMEMIN,tags"))
+                .containsExactlyInAnyOrder(RecipeField.TITLE, RecipeField.COOK_TIME_MIN, RecipeField.TAGS);
+    }
+
+    @Test
+    @DisplayName("parse - nullまたは空白は全フィールドになる")
+    void parse_DefaultsToAllFields() {
+        assertThat(RecipeField.parse(null)).isEqualTo(EnumSet.allOf(RecipeField.class));
+        assertThat(RecipeField.parse(" ")).isEqualTo(EnumSet.allOf(RecipeField.class));
+    }
+
+    @Test
+    @DisplayName("parse - idと空の要素は無視する（idは常に含まれる）")
+    void parse_IgnoresIdAndEmptyElements() {
+        assertThat(RecipeField.parse("id,,steps,")).containsExactly(RecipeField.STEPS);
+        assertThat(RecipeField.parse("id")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("parse - 異常系: 不明なフィールド名")
+    void parse_UnknownField() {
+        assertThatThrownBy(() -> RecipeField.parse("title,ownerId"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid field: ownerId (expected id, title, steps, cookTimeMin, tags, ingredients)");
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.kitchenapi.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TagFilter 単体テスト")
+class TagFilterTest {
+
+    @Test
+    @DisplayName("parse - 一致方法を大文字小文字を区別せずに解析できる")
+    void parse_CaseInsensitive() {
+        assertThat(TagFilter.parse(List.of("quick"), "ALL").matchAll()).isTrue();
+        assertThat(TagFilter.parse(List.of("quick"), "any").matchAll()).isFalse();
+    }
+
+    @Test
+    @DisplayName("parse - 一致方法がnullまたは空白の場合はallになる")
+    void parse_DefaultsToAll() {
+        assertThat(TagFilter.parse(List.of("quick"), null).matchAll()).isTrue();
+        assertThat(TagFilter.parse(List.of("quick"), " ").matchAll()).isTrue();
+    }
+
+    @Test
+    @DisplayName("parse - タグがnullの場合は絞り込みなし")
+    void parse_NullTags() {
+        assertThat(TagFilter.parse(null, "any").isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("new - タグをレシピと同じ規則で正規化する")
+    void new_NormalizesTags() {
+        // When
+        TagFilter filter = new TagFilter(Arrays.asList(" Quick ", "", null, "quick", "簡単"), true);
+
+        // Then
+        assertThat(filter.tags()).containsExactly("quick", "簡単");
+    }
+
+    @Test
+    @DisplayName("new - 異常系: タグが多すぎる")
+    void new_TooManyTags() {
+        // Given
+        List<String> tags = IntStream.rangeClosed(0, TagFilter.MAX_TAGS).mapToObj(i -> "tag" + i).toList();
+
+        // When & Then
+        assertThatThrownBy(() -> new TagFilter(tags, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Too many tags (max 10)");
+    }
+
+    @Test
+    @DisplayName("parse - 異常系: 不明な一致方法")
+    void parse_UnknownMatch() {
+        assertThatThrownBy(() -> TagFilter.parse(List.of("quick"), "none"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid tag match: none (expected all or any)");
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.kitchenapi.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ReadReplicaJpaTransactionManager 単体テスト")
+class ReadReplicaJpaTransactionManagerTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EntityTransaction entityTransaction;
+
+    @Mock
+    private Session session;
+
+    private ReadReplicaJpaTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new ReadReplicaJpaTransactionManager();
+        transactionManager.setEntityManagerFactory(entityManagerFactory);
+
+        AtomicReference<CacheMode> cacheMode = new AtomicReference<>(CacheMode.NORMAL);
+        doAnswer(invocation -> {
+            cacheMode.set(invocation.getArgument(0));
+            return null;
+        }).when(session).setCacheMode(any());
+        when(session.getCacheMode()).thenAnswer(invocation -> cacheMode.get());
+
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        when(entityManager.getTransaction()).thenReturn(entityTransaction);
+        when(entityManager.isOpen()).thenReturn(true);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        }
+    }
+
+    @Test
+    @DisplayName("読み取り専用トランザクション: 二次キャッシュから読み込むだけで書き込まない")
+    void readOnlyTransaction_UsesCacheModeGet() {
+        // Given
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+
+        // When
+        CacheMode during = template.execute(status -> session.getCacheMode());
+
+        // Then
+        assertThat(during).isEqualTo(CacheMode.GET);
+        verify(entityTransaction).begin();
+        verify(entityTransaction).commit();
+    }
+
+    @Test
+    @DisplayName("書き込みトランザクション: キャッシュモードを変更しない")
+    void readWriteTransaction_KeepsCacheModeNormal() {
+        // Given
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+
+        // When
+        CacheMode during = template.execute(status -> session.getCacheMode());
+
+        // Then
+        assertThat(during).isEqualTo(CacheMode.NORMAL);
+        verify(session, never()).setCacheMode(any());
+    }
+
+    @Test
+    @DisplayName("Open Session in View: 読み取り専用トランザクションの終了後はセッションのキャッシュモードを元に戻す")
+    void readOnlyTransaction_OnSharedSession_RestoresCacheMode() {
+        // Given: Open Session in View と同様に、リクエストのセッションがバインド済み
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        // When
+        CacheMode duringReadOnly = readOnly.execute(status -> session.getCacheMode());
+        CacheMode duringWrite = readWrite.execute(status -> session.getCacheMode());
+
+        // Then
+        assertThat(duringReadOnly).isEqualTo(CacheMode.GET);
+        assertThat(duringWrite).isEqualTo(CacheMode.NORMAL);
+        assertThat(session.getCacheMode()).isEqualTo(CacheMode.NORMAL);
+        verify(entityManager, never()).close();
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.kitchenapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ReadReplicaRoutingDataSource 単体テスト")
+class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @Mock
+    private Connection healthCheckConnection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new ReadReplicaRoutingDataSource(primary, replica, Duration.ofSeconds(5), meterRegistry);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(healthCheckConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReadReplicaRoutingDataSource.LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("getConnection - 状態確認が成功するまでは読み取り専用でもプライマリを使用する")
+    void getConnection_BeforeHealthCheck_UsesPrimary() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertThat(connection).isSameAs(primaryConnection);
+        assertThat(dataSource.isReplicaAvailable()).isFalse();
+        assertThat(meterRegistry.get("datasource.replica.fallbacks").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("getConnection - 遅延が許容範囲内なら読み取り専用トランザクションはレプリカを使用する")
+    void getConnection_ReadOnly_UsesReplica() throws SQLException {
+        // Given
+        givenReplicaLag(1_200);
+        dataSource.checkHealth();
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertThat(connection).isSameAs(replicaConnection);
+        assertThat(meterRegistry.get("datasource.replica.available").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("datasource.replica.lag").timeGauge().value()).isEqualTo(1.2);
+    }
+
+    @Test
+    @DisplayName("getConnection - 読み取り専用でないトランザクションは常にプライマリを使用する")
+    void getConnection_ReadWrite_UsesPrimary() throws SQLException {
+        // Given
+        givenReplicaLag(0);
+        dataSource.checkHealth();
+
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertThat(connection).isSameAs(primaryConnection);
+        assertThat(meterRegistry.get("datasource.replica.fallbacks").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("checkHealth - 遅延が上限を超えている間はプライマリで読み込む")
+    void checkHealth_Lagging_FallsBackToPrimary() throws SQLException {
+        // Given
+        givenReplicaLag(0);
+        dataSource.checkHealth();
+        givenReplicaLag(6_000);
+
+        // When
+        dataSource.checkHealth();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertThat(dataSource.isReplicaAvailable()).isFalse();
+        assertThat(connection).isSameAs(primaryConnection);
+        verify(replica, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("checkHealth - レプリカに接続できない場合はプライマリで読み込み、回復すればレプリカに戻す")
+    void checkHealth_Unreachable_FallsBackAndRecovers() throws SQLException {
+        // Given
+        givenReplicaLag(0);
+        dataSource.checkHealth();
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // When
+        dataSource.checkHealth();
+
+        // Then
+        assertThat(dataSource.isReplicaAvailable()).isFalse();
+
+        // When: レプリカが回復する
+        reset(replica);
+        givenReplicaLag(0);
+        dataSource.checkHealth();
+
+        // Then
+        assertThat(dataSource.isReplicaAvailable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("getConnection - レプリカの接続の取得に失敗した場合はプライマリを使用し、次の確認まで切り替える")
+    void getConnection_ReplicaFails_FallsBackToPrimary() throws SQLException {
+        // Given
+        givenReplicaLag(0);
+        dataSource.checkHealth();
+        when(replica.getConnection()).thenThrow(new SQLException("Connection is not available"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // Then
+        assertThat(first).isSameAs(primaryConnection);
+        assertThat(second).isSameAs(primaryConnection);
+        assertThat(dataSource.isReplicaAvailable()).isFalse();
+        assertThat(meterRegistry.get("datasource.replica.fallbacks").counter().count()).isEqualTo(2.0);
+        // 2回目はレプリカに問い合わせない
+        verify(replica, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("close - レプリカの接続プールを閉じる")
+    void close_ClosesReplicaPool() throws Exception {
+        // Given
+        HikariDataSource pool = mock(HikariDataSource.class);
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(
+                primary, pool, Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+        // When
+        routing.close();
+
+        // Then
+        verify(pool).close();
+    }
+
+    private void givenReplicaLag(long lagMillis) throws SQLException {
+        when(replica.getConnection()).thenReturn(healthCheckConnection);
+        when(resultSet.getLong(1)).thenReturn(lagMillis);
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.kitchenapi.config;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.common.CountMode;
+import com.example.kitchenapi.dto.RecipeDto;
+import com.example.kitchenapi.entity.RecipeEntity;
+import com.example.kitchenapi.service.PantryService;
+import com.example.kitchenapi.service.RecipeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read-replica routing test against two PostgreSQL instances.
+ * The two containers are independent databases with the same schema (no physical replication),
+ * which makes it observable where each transaction ran: read-only transactions must use the replica
+ * while it is healthy, writes must always use the primary, and reads must fall back to the primary
+ * once the replica stops answering. Rows copied to the replica by hand stand in for a lagging replica:
+ * conditional GET checks must still see the primary's state, and replica reads must not refill the
+ * second-level cache. The shared container of {@link AbstractPostgresIT} is the primary.
+ */
+@SpringBootTest
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReadReplicaRoutingIT extends AbstractPostgresIT {
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("kitchen_replica")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.datasource.replica-url", replica::getJdbcUrl);
+        registry.add("app.datasource.replica-username", replica::getUsername);
+        registry.add("app.datasource.replica-password", replica::getPassword);
+        // The application only migrates the primary; a real replica receives the schema through replication
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+    }
+
+    @Autowired
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private PantryService pantryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @Order(1)
+    void readOnlyTransactions_useTheReplica_andWritesUseThePrimary() {
+        routingDataSource.checkHealth();
+        assertThat(routingDataSource.isReplicaAvailable()).isTrue();
+
+        assertThat(currentDatabase(true)).isEqualTo("kitchen_replica");
+        assertThat(currentDatabase(false)).isEqualTo(postgres.getDatabaseName());
+        // Outside of a transaction (e.g. lazy loading in open-session-in-view) the primary is used
+        assertThat(jdbcTemplate.queryForObject("SELECT current_database()", String.class))
+                .isEqualTo(postgres.getDatabaseName());
+    }
+
+    @Test
+    @Order(2)
+    void readOnlyServiceMethods_readFromTheReplica() {
+        routingDataSource.checkHealth();
+        Long ownerId = System.nanoTime();
+
+        // Written to the primary only: the replica in this test never receives it
+        RecipeEntity recipe = recipeService.create(ownerId, "Replica stew", "Simmer", 30, null,
+                List.of(new RecipeDto.IngredientItem("replica-onion", "1")));
+        pantryService.add(ownerId, "replica-milk", "1L", LocalDate.now().plusDays(1));
+
+        assertThat(recipeService.search(ownerId, null, null, null, null, PageRequest.of(0, 10), CountMode.NONE))
+                .isEmpty();
+        assertThat(pantryService.findExpiringSoon(LocalDate.now(), LocalDate.now().plusDays(2))).isEmpty();
+        // Conditional GET checks read the primary
+        assertThat(recipeService.findVersionById(recipe.getId())).isEqualTo(recipe.getVersion());
+        assertThat(pantryService.currentGeneration(ownerId)).isEqualTo(1L);
+    }
+
+    @Test
+    @Order(3)
+    void writeTransactions_afterAReadOnlyTransaction_stillUseThePrimary() {
+        routingDataSource.checkHealth();
+        Long ownerId = System.nanoTime();
+
+        // Same thread, read-only transaction first: its replica connection must not be reused for the write
+        assertThat(pantryService.findByUserId(ownerId, null, null, null, PageRequest.of(0, 10), CountMode.NONE))
+                .isEmpty();
+        pantryService.add(ownerId, "replica-eggs", "6", null);
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT generation FROM pantry_generations WHERE user_id = ?", Long.class, ownerId)).isEqualTo(1L);
+    }
+
+    @Test
+    @Order(4)
+    void laggingReplica_doesNotLeakIntoConditionalGetsOrTheSecondLevelCache() {
+        routingDataSource.checkHealth();
+        Long ownerId = System.nanoTime();
+        RecipeEntity recipe = recipeService.create(ownerId, "Lagging stew", "Simmer", 30, "Hearty",
+                List.of(new RecipeDto.IngredientItem("lagging-onion", "1")));
+        Long id = recipe.getId();
+
+        // The replica has applied the recipe but not the writes below
+        copyToReplica("ingredients", "id IN (SELECT ingredient_id FROM recipe_ingredients WHERE recipe_id = ?)", id);
+        copyToReplica("recipes", "id = ?", id);
+        copyToReplica("recipe_ingredients", "recipe_id = ?", id);
+        copyToReplica("recipe_tags", "recipe_id = ?", id);
+        recipeService.update(id, ownerId, new RecipeDto.UpdateRequest("Updated stew", null, null, "Light"));
+        pantryService.add(ownerId, "lagging-milk", "1L", null);
+        entityManagerFactory.getCache().evictAll();
+
+        // A read-only search reads the old state from the replica but keeps it out of the second-level cache
+        Slice<RecipeEntity> replicaRead =
+                recipeService.search(ownerId, null, null, null, null, PageRequest.of(0, 10), CountMode.NONE);
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+
+        assertThat(replicaRead.getContent()).extracting(RecipeEntity::getTitle).containsExactly("Lagging stew");
+        assertThat(cache.containsEntity(RecipeEntity.class, id)).isFalse();
+        assertThat(cache.containsCollection(RecipeEntity.class.getName() + ".ingredients", id)).isFalse();
+        assertThat(cache.containsCollection(RecipeEntity.class.getName() + ".normalizedTags", id)).isFalse();
+
+        // The version and generation behind the ETags, and the bodies sent with them, come from the primary
+        assertThat(recipeService.findVersionById(id)).isGreaterThan(recipe.getVersion());
+        assertThat(pantryService.currentGeneration(ownerId)).isEqualTo(1L);
+        RecipeEntity current = new TransactionTemplate(transactionManager).execute(status -> {
+            RecipeEntity found = recipeService.findById(id);
+            found.getNormalizedTags().size();
+            return found;
+        });
+        assertThat(current.getTitle()).isEqualTo("Updated stew");
+        assertThat(current.getNormalizedTags()).containsExactly("light");
+        assertThat(cache.containsEntity(RecipeEntity.class, id)).isTrue();
+        assertThat(pantryService.findViewsByUserId(ownerId, null, null, null, PageRequest.of(0, 10), CountMode.NONE))
+                .hasSize(1);
+    }
+
+    @Test
+    @Order(5)
+    void readOnlyTransactions_fallBackToThePrimary_whenTheReplicaIsDown() {
+        replica.stop();
+
+        routingDataSource.checkHealth();
+
+        assertThat(routingDataSource.isReplicaAvailable()).isFalse();
+        assertThat(currentDatabase(true)).isEqualTo(postgres.getDatabaseName());
+    }
+
+    /**
+     * Copies the primary's rows of a table to the replica, as replication would have.
+     */
+    private void copyToReplica(String table, String where, Object... args) {
+        JdbcTemplate replicaJdbcTemplate = new JdbcTemplate(
+                new DriverManagerDataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()));
+        for (Map<String, Object> row : jdbcTemplate.queryForList("SELECT * FROM " + table + " WHERE " + where, args)) {
+            String columns = String.join(", ", row.keySet());
+            String values = row.keySet().stream().map(column -> "?").collect(Collectors.joining(", "));
+            replicaJdbcTemplate.update("INSERT INTO " + table + " (" + columns + ") VALUES (" + values + ")",
+                    row.values().toArray());
+        }
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+}
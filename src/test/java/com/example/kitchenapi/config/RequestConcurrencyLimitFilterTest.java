@@ -0,0 +1,180 @@
+package com.example.kitchenapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestConcurrencyLimitFilter 単体テスト")
+class RequestConcurrencyLimitFilterTest {
+
+    private AppWebProps props;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        props = new AppWebProps();
+        props.setMaxConcurrentRequests(1);
+        props.setConcurrencyAcquireTimeout(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private RequestConcurrencyLimitFilter createFilter() {
+        return new RequestConcurrencyLimitFilter(props, meterRegistry, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("doFilter - 正常系: 上限内のリクエストはそのまま処理し、終了後に枠を返却する")
+    void doFilter_WithinLimit_PassesThrough() throws Exception {
+        // Given
+        RequestConcurrencyLimitFilter filter = createFilter();
+
+        // When
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/recipes"), first, new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/recipes"), second, new MockFilterChain());
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("app.web.concurrency.active").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("doFilter - 異常系: 上限に達していて待機時間内に空かない場合は503を返す")
+    void doFilter_LimitReached_Returns503() throws Exception {
+        // Given
+        RequestConcurrencyLimitFilter filter = createFilter();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blockingChain = (request, response) -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/pantry"), new MockHttpServletResponse(), blockingChain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/recipes"), response, chain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(response.getContentType()).isEqualTo("application/problem+json");
+        assertThat(response.getContentAsString()).contains("\"status\":503");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(meterRegistry.get("app.web.concurrency.rejected").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("doFilter - 正常系: 非同期の応答は書き出しが完了するまで枠を保持する")
+    void doFilter_AsyncResponse_HoldsPermitUntilComplete() throws Exception {
+        // Given: StreamingResponseBody と同様に、非同期処理を開始して別スレッドで応答を書き出す
+        RequestConcurrencyLimitFilter filter = createFilter();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<CompletableFuture<Void>> writer = new AtomicReference<>();
+        FilterChain streamingChain = (request, response) -> {
+            AsyncContext asyncContext = request.startAsync();
+            writer.set(CompletableFuture.runAsync(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                    response.getOutputStream().write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    asyncContext.complete();
+                }
+            }));
+        };
+        MockHttpServletRequest streamingRequest = new MockHttpServletRequest("GET", "/api/recipes/1");
+        streamingRequest.setAsyncSupported(true);
+
+        // When: 最初のディスパッチが戻った時点（書き出しは未完了）
+        filter.doFilter(streamingRequest, new MockHttpServletResponse(), streamingChain);
+        MockHttpServletResponse duringStreaming = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/recipes"), duringStreaming, new MockFilterChain());
+
+        // Then
+        assertThat(meterRegistry.get("app.web.concurrency.active").gauge().value()).isEqualTo(1.0);
+        assertThat(duringStreaming.getStatus()).isEqualTo(503);
+
+        // When: 書き出しが完了する
+        release.countDown();
+        writer.get().get(5, TimeUnit.SECONDS);
+        MockHttpServletResponse afterStreaming = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/recipes"), afterStreaming, new MockFilterChain());
+
+        // Then
+        assertThat(afterStreaming.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("app.web.concurrency.active").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("doFilter - 正常系: 非同期処理のエラーと完了が両方通知されても枠は1回だけ返却する")
+    void doFilter_AsyncErrorThenComplete_ReleasesOnce() throws Exception {
+        // Given
+        RequestConcurrencyLimitFilter filter = createFilter();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pantry");
+        request.setAsyncSupported(true);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+
+        // When
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onError(new AsyncEvent(asyncContext, new IllegalStateException("client disconnected")));
+        }
+        asyncContext.complete();
+
+        // Then
+        assertThat(meterRegistry.get("app.web.concurrency.active").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("shouldNotFilter - 上限が0以下の場合や /api 以外のパスは制限しない")
+    void shouldNotFilter_DisabledOrNonApiPath() throws Exception {
+        // Given
+        props.setMaxConcurrentRequests(0);
+        RequestConcurrencyLimitFilter unlimited = createFilter();
+        props.setMaxConcurrentRequests(1);
+        RequestConcurrencyLimitFilter limited = new RequestConcurrencyLimitFilter(props, new SimpleMeterRegistry(), new ObjectMapper());
+
+        // When & Then
+        assertThat(unlimited.shouldNotFilter(new MockHttpServletRequest("GET", "/api/recipes"))).isTrue();
+        assertThat(limited.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/health"))).isTrue();
+        assertThat(limited.shouldNotFilter(new MockHttpServletRequest("GET", "/api/recipes"))).isFalse();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.kitchenapi.controller;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.dto.AuthDto;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Connection pool usage of signup and login through the full HTTP stack (including Open Session in View).
+ * BCrypt runs with a high cost here so each hash takes seconds; while a request waits for its hash,
+ * it must not hold a pooled connection, otherwise a burst of logins could starve every other endpoint.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AuthConnectionPoolIT extends AbstractPostgresIT {
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        // About a second per hash, long enough to observe the pool while the request waits
+        registry.add("app.security.bcrypt-strength", () -> "14");
+        registry.add("app.security.password-hashing-timeout", () -> "30s");
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void signupAndLogin_doNotHoldAConnectionWhileHashing() throws Exception {
+        String email = "pool-" + System.nanoTime() + "@example.com";
+
+        int activeDuringSignup = activeConnectionsWhileHashing(() -> restTemplate.postForEntity(
+                "/api/auth/signup", new AuthDto.SignupRequest(email, "Pool", "password123"), AuthDto.UserView.class));
+        int activeDuringLogin = activeConnectionsWhileHashing(() -> restTemplate.postForEntity(
+                "/api/auth/login", new AuthDto.LoginRequest(email, "password123"), AuthDto.LoginResponse.class));
+
+        assertThat(activeDuringSignup).isZero();
+        assertThat(activeDuringLogin).isZero();
+    }
+
+    /**
+     * Sends the request on another thread and samples the pool once its hash is running.
+     */
+    private int activeConnectionsWhileHashing(Supplier<ResponseEntity<?>> request) throws Exception {
+        CompletableFuture<ResponseEntity<?>> response = CompletableFuture.supplyAsync(request);
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (activeHashes() == 0) {
+            assertThat(System.nanoTime()).as("hash started").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        int active = activeConnections();
+
+        assertThat(response.get().getStatusCode()).isEqualTo(HttpStatus.OK);
+        return active;
+    }
+
+    private double activeHashes() {
+        return meterRegistry.get("executor.active").tag("name", "password.hashing").gauge().value();
+    }
+
+    private int activeConnections() throws SQLException {
+        return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections();
+    }
+}
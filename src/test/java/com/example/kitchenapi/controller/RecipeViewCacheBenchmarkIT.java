@@ -0,0 +1,170 @@
+package com.example.kitchenapi.controller;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.dto.RecipeDto;
+import com.example.kitchenapi.entity.RecipeEntity;
+import com.example.kitchenapi.security.JwtService;
+import com.example.kitchenapi.service.RecipeService;
+import com.example.kitchenapi.service.RecipeViewCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput benchmark for GET /api/recipes/{id} with and without the serialized-response cache.
+ * Each client thread repeatedly reads its own recipe over HTTP. In the uncached run the thread evicts
+ * its recipe from {@link RecipeViewCache} before every request, so every response goes through entity loading,
+ * DTO mapping and JSON serialization (the second-level cache stays enabled in both runs, as in production).
+ * Both paths must return identical bodies, and a cache hit must allocate less per request than a miss
+ * (allocation is measured across all JVM threads, so it covers the server side of each request and does not
+ * depend on the machine's speed). Requests per second and bytes allocated per request for both runs are logged;
+ * run with {@code mvn test -Dtest=RecipeViewCacheBenchmarkIT} (requires Docker) to reproduce.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RecipeViewCacheBenchmarkIT extends AbstractPostgresIT {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeViewCacheBenchmarkIT.class);
+
+    private static final int THREADS = 4;
+    private static final int WARMUP_REQUESTS_PER_THREAD = 500;
+    private static final int REQUESTS_PER_THREAD = 2_500;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeViewCache recipeViewCache;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    @Test
+    void getRecipe_cacheHitAllocatesLessPerRequestThanMiss() throws Exception {
+        long ownerId = System.nanoTime();
+        String token = jwtService.generateToken("bench@example.com", ownerId);
+        List<Long> recipeIds = IntStream.range(0, THREADS)
+                .mapToObj(i -> createRecipe(ownerId, i).getId())
+                .toList();
+
+        // Bodies must be byte-for-byte identical whether served from the cache or serialized per request
+        recipeViewCache.invalidate(recipeIds.get(0));
+        String uncached = get(token, recipeIds.get(0)).body();
+        String cached = get(token, recipeIds.get(0)).body();
+        assertThat(cached).isEqualTo(uncached);
+
+        // One set of client threads for every run, so their allocation counters are not lost between runs
+        ExecutorService clients = Executors.newFixedThreadPool(THREADS);
+        try {
+            run(clients, token, recipeIds, WARMUP_REQUESTS_PER_THREAD, false);
+            run(clients, token, recipeIds, WARMUP_REQUESTS_PER_THREAD, true);
+
+            RunResult withoutCache = run(clients, token, recipeIds, REQUESTS_PER_THREAD, false);
+            RunResult withCache = run(clients, token, recipeIds, REQUESTS_PER_THREAD, true);
+
+            log.info("GET /api/recipes/{id} ({} threads x {} requests): without cache {} req/s, {} bytes/request; "
+                            + "with cache {} req/s, {} bytes/request; cached bytes {}",
+                    THREADS, REQUESTS_PER_THREAD,
+                    Math.round(withoutCache.requestsPerSecond()), withoutCache.bytesPerRequest(),
+                    Math.round(withCache.requestsPerSecond()), withCache.bytesPerRequest(),
+                    recipeViewCache.weightedSize());
+
+            assertThat(withCache.bytesPerRequest()).isLessThan(withoutCache.bytesPerRequest());
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "recipe.views").tag("result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(THREADS * REQUESTS_PER_THREAD);
+    }
+
+    /**
+     * Sends the given number of requests from each thread and returns the overall requests per second
+     * and the bytes allocated by the whole JVM per request.
+     */
+    private RunResult run(ExecutorService clients, String token, List<Long> recipeIds, int requestsPerThread,
+                          boolean cached) throws Exception {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long recipeId : recipeIds) {
+            futures.add(clients.submit(() -> {
+                for (int i = 0; i < requestsPerThread; i++) {
+                    if (!cached) {
+                        recipeViewCache.invalidate(recipeId);
+                    }
+                    assertThat(get(token, recipeId).statusCode()).isEqualTo(200);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long requests = (long) recipeIds.size() * requestsPerThread;
+        return new RunResult(requests / seconds, (allocatedBytes() - allocatedBefore) / requests);
+    }
+
+    /**
+     * Total bytes allocated so far by the live threads of this JVM (server and client threads alike).
+     */
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return Arrays.stream(threads.getThreadAllocatedBytes(threads.getAllThreadIds()))
+                .filter(bytes -> bytes > 0)
+                .sum();
+    }
+
+    private HttpResponse<String> get(String token, Long recipeId) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/recipes/" + recipeId))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Creates a recipe of typical size: a dozen ingredients, tags and a few paragraphs of steps.
+     */
+    private RecipeEntity createRecipe(long ownerId, int index) {
+        List<RecipeDto.IngredientItem> ingredients = IntStream.range(0, 12)
+                .mapToObj(i -> new RecipeDto.IngredientItem("bench-ingredient-" + i, (i + 1) + "00g"))
+                .toList();
+        String steps = "Chop the vegetables, brown the meat and simmer everything for an hour. ".repeat(20);
+        return recipeService.create(ownerId, "Benchmark stew " + index, steps, 60, "dinner,stew,winter",
+                ingredients);
+    }
+
+    private record RunResult(double requestsPerSecond, long bytesPerRequest) {
+    }
+}
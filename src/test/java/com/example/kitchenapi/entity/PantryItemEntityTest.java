@@ -59,6 +59,7 @@ class PantryItemEntityTest {
         pantryItem.setAmount("3本");
         pantryItem.setExpiresOn(LocalDate.of(2026, 1, 1));
         pantryItem.setCreatedAt(now);
+        pantryItem.setVersion(3L);
 
         // Then
         assertThat(pantryItem.getId()).isEqualTo(1L);
@@ -67,6 +68,7 @@ class PantryItemEntityTest {
         assertThat(pantryItem.getAmount()).isEqualTo("3本");
         assertThat(pantryItem.getExpiresOn()).isEqualTo(LocalDate.of(2026, 1, 1));
         assertThat(pantryItem.getCreatedAt()).isEqualTo(now);
+        assertThat(pantryItem.getVersion()).isEqualTo(3L);
     }
 
     @Test
@@ -62,6 +62,7 @@ class RecipeEntityTest {
         recipe.setTags("イタリアン");
         recipe.setOwnerId(2L);
         recipe.setCreatedAt(now);
+        recipe.setVersion(2L);
         recipe.setIngredients(ingredients);
 
         // Then
@@ -72,9 +73,49 @@ class RecipeEntityTest {
         assertThat(recipe.getTags()).isEqualTo("イタリアン");
         assertThat(recipe.getOwnerId()).isEqualTo(2L);
         assertThat(recipe.getCreatedAt()).isEqualTo(now);
+        assertThat(recipe.getVersion()).isEqualTo(2L);
         assertThat(recipe.getIngredients()).isEqualTo(ingredients);
     }
 
+    @Test
+    @DisplayName("setTags - 正規化したタグの集合を同期する（空白除去・小文字化・空要素と重複の除去）")
+    void setTags_SyncsNormalizedTags() {
+        // Given
+        RecipeEntity recipe = new RecipeEntity("パスタ", "茹でる", 15, " Italian, quick ,,italian, 簡単 ", 1L);
+
+        // Then
+        assertThat(recipe.getTags()).isEqualTo(" Italian, quick ,,italian, 簡単 ");
+        assertThat(recipe.getNormalizedTags()).containsExactly("italian", "quick", "簡単");
+
+        // When
+        recipe.setTags("quick,Dinner");
+
+        // Then
+        assertThat(recipe.getNormalizedTags()).containsExactlyInAnyOrder("quick", "dinner");
+    }
+
+    @Test
+    @DisplayName("setTags - nullを設定するとタグの集合は空になる")
+    void setTags_Null() {
+        // Given
+        RecipeEntity recipe = new RecipeEntity("パスタ", "茹でる", 15, "italian", 1L);
+
+        // When
+        recipe.setTags(null);
+
+        // Then
+        assertThat(recipe.getTags()).isNull();
+        assertThat(recipe.getNormalizedTags()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("normalizeTags - 部分文字列ではなくタグ単位で分割する")
+    void normalizeTags_SplitsOnComma() {
+        assertThat(RecipeEntity.normalizeTags("licorice,Rice")).containsExactly("licorice", "rice");
+        assertThat(RecipeEntity.normalizeTags(null)).isEmpty();
+        assertThat(RecipeEntity.normalizeTags(" , ")).isEmpty();
+    }
+
     @Test
     @DisplayName("equals()とhashCode()が正しく動作する")
     void equalsAndHashCode() {
@@ -149,4 +190,23 @@ class RecipeEntityTest {
         assertThat(recipe.getIngredients()).hasSize(1);
         assertThat(recipe.getIngredients().get(0).getQuantity()).isEqualTo("1個");
     }
+
+    @Test
+    @DisplayName("addIngredient()で双方向の関連が設定される")
+    void addIngredient() {
+        // Given
+        RecipeEntity recipe = new RecipeEntity("Recipe", "Steps", 30, "tags", 1L);
+
+        IngredientEntity ingredient = new IngredientEntity("にんじん");
+        ingredient.setId(2L);
+
+        // When
+        RecipeIngredientEntity added = recipe.addIngredient(ingredient, "1本");
+
+        // Then
+        assertThat(recipe.getIngredients()).containsExactly(added);
+        assertThat(added.getRecipe()).isSameAs(recipe);
+        assertThat(added.getIngredient()).isSameAs(ingredient);
+        assertThat(added.getQuantity()).isEqualTo("1本");
+    }
 }
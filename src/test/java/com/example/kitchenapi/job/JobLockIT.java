@@ -0,0 +1,138 @@
+package com.example.kitchenapi.job;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Job lock test against a real PostgreSQL instance.
+ * Several instances (JobLock beans with different owners) race for the same lock,
+ * and exactly one of them must win each occurrence.
+ */
+@SpringBootTest
+class JobLockIT extends AbstractPostgresIT {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String lockName;
+
+    @BeforeEach
+    void setUp() {
+        lockName = "test-" + System.nanoTime();
+    }
+
+    /**
+     * Creates a lock for another instance. @Transactional is not applied outside the Spring proxy,
+     * so each call runs in its own transaction like the bean would.
+     */
+    private Instance newInstance() {
+        return new Instance(new JobLock(entityManager));
+    }
+
+    @Test
+    void tryLock_onlyOneOfConcurrentInstancesAcquiresTheLock() throws Exception {
+        int instances = 6;
+        List<Instance> nodes = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            nodes.add(newInstance());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(instances);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Instance node : nodes) {
+            Callable<Boolean> attempt = () -> {
+                start.await();
+                return node.tryLock(lockName, Duration.ofMinutes(5));
+            };
+            results.add(pool.submit(attempt));
+        }
+        start.countDown();
+
+        int acquired = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                acquired++;
+            }
+        }
+        pool.shutdown();
+
+        assertThat(acquired).isEqualTo(1);
+    }
+
+    @Test
+    void unlock_keepsTheLockForAtLeastTheGivenDuration() {
+        Instance first = newInstance();
+        Instance second = newInstance();
+
+        assertThat(first.tryLock(lockName, Duration.ofMinutes(5))).isTrue();
+        assertThat(second.tryLock(lockName, Duration.ofMinutes(5))).isFalse();
+
+        // A late instance must not run the same occurrence again
+        first.unlock(lockName, Duration.ofMinutes(1));
+        assertThat(second.tryLock(lockName, Duration.ofMinutes(5))).isFalse();
+
+        first.unlock(lockName, Duration.ZERO);
+        assertThat(second.tryLock(lockName, Duration.ofMinutes(5))).isTrue();
+    }
+
+    @Test
+    void unlock_doesNotReleaseALockTakenOverByAnotherInstance() {
+        Instance first = newInstance();
+        Instance second = newInstance();
+
+        assertThat(first.tryLock(lockName, Duration.ofMillis(1))).isTrue();
+        // The lease expires, so another instance takes over
+        await(Duration.ofMillis(50));
+        assertThat(second.tryLock(lockName, Duration.ofMinutes(5))).isTrue();
+
+        first.unlock(lockName, Duration.ZERO);
+        assertThat(newInstance().tryLock(lockName, Duration.ofMinutes(5))).isFalse();
+    }
+
+    private static void await(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A JobLock with its own owner, run in a transaction per call
+     */
+    private final class Instance {
+        private final JobLock lock;
+
+        Instance(JobLock lock) {
+            this.lock = lock;
+        }
+
+        boolean tryLock(String name, Duration lockAtMostFor) {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> lock.tryLock(name, lockAtMostFor)));
+        }
+
+        void unlock(String name, Duration lockAtLeastFor) {
+            transactionTemplate.executeWithoutResult(status -> lock.unlock(name, lockAtLeastFor));
+        }
+    }
+}
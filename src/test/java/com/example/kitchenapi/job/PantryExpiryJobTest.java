@@ -1,8 +1,9 @@
 package com.example.kitchenapi.job;
 
-import com.example.kitchenapi.entity.IngredientEntity;
-import com.example.kitchenapi.entity.PantryItemEntity;
+import com.example.kitchenapi.config.AppJobProps;
+import com.example.kitchenapi.dto.PantryDto;
 import com.example.kitchenapi.service.PantryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,12 +11,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,155 +30,152 @@ class PantryExpiryJobTest {
     @Mock
     private PantryService pantryService;
 
+    @Mock
+    private JobLock jobLock;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private PantryExpiryJob pantryExpiryJob;
 
     @BeforeEach
     void setUp() {
-        pantryExpiryJob = new PantryExpiryJob(pantryService);
+        AppJobProps props = new AppJobProps();
+        props.setPantryExpiryChunkSize(2);
+        props.setPantryExpiryThreads(2);
+        meterRegistry = new SimpleMeterRegistry();
+        pantryExpiryJob = new PantryExpiryJob(pantryService, jobLock, props, meterRegistry);
+        lenient().when(jobLock.tryLock(eq("pantry-expiry"), any(Duration.class))).thenReturn(true);
     }
 
     @Test
-    @DisplayName("checkExpiringItems - 期限切れ間近の項目がある場合、正しくログを出力する")
-    void checkExpiringItems_WithExpiringItems_LogsWarnings() {
+    @DisplayName("checkExpiringItems - ユーザーをキーセットでチャンクに分けて全項目を処理する")
+    void checkExpiringItems_ProcessesEveryChunk() {
         // Given
         LocalDate today = LocalDate.now();
-        LocalDate expiryDate1 = today.plusDays(1);
-        LocalDate expiryDate2 = today.plusDays(2);
-
-        IngredientEntity ingredient1 = new IngredientEntity("たまねぎ");
-        ingredient1.setId(1L);
-        IngredientEntity ingredient2 = new IngredientEntity("にんじん");
-        ingredient2.setId(2L);
-
-        PantryItemEntity item1 = new PantryItemEntity(1L, ingredient1, "2個", expiryDate1);
-        item1.setId(1L);
-        PantryItemEntity item2 = new PantryItemEntity(1L, ingredient2, "3本", expiryDate2);
-        item2.setId(2L);
-
-        List<PantryItemEntity> expiringItems = Arrays.asList(item1, item2);
-
-        when(pantryService.findExpiringSoon(any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(expiringItems);
+        when(pantryService.findUserIdsWithItemsExpiring(any(LocalDate.class), any(LocalDate.class), eq(0L), eq(2)))
+                .thenReturn(List.of(1L, 2L));
+        when(pantryService.findUserIdsWithItemsExpiring(any(LocalDate.class), any(LocalDate.class), eq(2L), eq(2)))
+                .thenReturn(List.of(5L));
+        when(pantryService.findUserIdsWithItemsExpiring(any(LocalDate.class), any(LocalDate.class), eq(5L), eq(2)))
+                .thenReturn(Collections.emptyList());
+        when(pantryService.findExpiringItemsByUserIds(eq(List.of(1L, 2L)), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(
+                        new PantryDto.ExpiringItem(1L, 1L, "たまねぎ", "2個", today),
+                        new PantryDto.ExpiringItem(2L, 1L, "にんじん", "3本", today.plusDays(1)),
+                        new PantryDto.ExpiringItem(3L, 2L, "じゃがいも", "5個", today.plusDays(3))));
+        when(pantryService.findExpiringItemsByUserIds(eq(List.of(5L)), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(new PantryDto.ExpiringItem(4L, 5L, "牛乳", "1本", today.plusDays(2))));
 
         // When
         pantryExpiryJob.checkExpiringItems();
 
         // Then
-        verify(pantryService).findExpiringSoon(any(LocalDate.class), any(LocalDate.class));
+        verify(pantryService).findUserIdsWithItemsExpiring(today, today.plusDays(3), 0L, 2);
+        assertThat(meterRegistry.get("pantry.expiry.job.items").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("pantry.expiry.job.users").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("pantry.expiry.job.failed.chunks").counter().count()).isZero();
+        assertThat(meterRegistry.get("pantry.expiry.job.duration").timer().count()).isEqualTo(1);
     }
 
     @Test
-    @DisplayName("checkExpiringItems - 期限切れ間近の項目がない場合、警告をログに記録しない")
-    void checkExpiringItems_NoExpiringItems_LogsInfo() {
+    @DisplayName("checkExpiringItems - 期限切れ間近の項目がない場合、項目を取得しない")
+    void checkExpiringItems_NoExpiringItems() {
         // Given
-        when(pantryService.findExpiringSoon(any(LocalDate.class), any(LocalDate.class)))
+        when(pantryService.findUserIdsWithItemsExpiring(any(LocalDate.class), any(LocalDate.class), anyLong(), anyInt()))
                 .thenReturn(Collections.emptyList());
 
         // When
         pantryExpiryJob.checkExpiringItems();
 
         // Then
-        verify(pantryService).findExpiringSoon(any(LocalDate.class), any(LocalDate.class));
+        verify(pantryService, never()).findExpiringItemsByUserIds(any(), any(), any());
+        assertThat(meterRegistry.get("pantry.expiry.job.items").counter().count()).isZero();
+        assertThat(meterRegistry.get("pantry.expiry.job.duration").timer().count()).isEqualTo(1);
     }
 
     @Test
-    @DisplayName("checkExpiringItems - 複数ユーザーの期限切れ項目を正しく処理する")
-    void checkExpiringItems_MultipleUsers_ProcessesCorrectly() {
+    @DisplayName("checkExpiringItems - 失敗したチャンクを記録して他のチャンクの処理を続ける")
+    void checkExpiringItems_ChunkFails_ContinuesWithOtherChunks() {
         // Given
-        LocalDate expiryDate = LocalDate.now().plusDays(2);
-
-        IngredientEntity ingredient1 = new IngredientEntity("たまねぎ");
-        ingredient1.setId(1L);
-        IngredientEntity ingredient2 = new IngredientEntity("にんじん");
-        ingredient2.setId(2L);
-
-        PantryItemEntity item1 = new PantryItemEntity(1L, ingredient1, "2個", expiryDate);
-        item1.setId(1L);
-        PantryItemEntity item2 = new PantryItemEntity(2L, ingredient2, "3本", expiryDate);
-        item2.setId(2L);
-
-        List<PantryItemEntity> expiringItems = Arrays.asList(item1, item2);
-
-        when(pantryService.findExpiringSoon(any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(expiringItems);
+        when(pantryService.findUserIdsWithItemsExpiring(any(LocalDate.class), any(LocalDate.class), eq(0L), eq(2)))
+                .thenReturn(List.of(1L, 2L));
+        when(pantryService.findUserIdsWithItemsExpiring(any(LocalDate.class), any(LocalDate.class), eq(2L), eq(2)))
+                .thenReturn(List.of(3L));
+        when(pantryService.findUserIdsWithItemsExpiring(any(LocalDate.class), any(LocalDate.class), eq(3L), eq(2)))
+                .thenReturn(Collections.emptyList());
+        when(pantryService.findExpiringItemsByUserIds(eq(List.of(1L, 2L)), any(LocalDate.class), any(LocalDate.class)))
+                .thenThrow(new RuntimeException("Database error"));
+        when(pantryService.findExpiringItemsByUserIds(eq(List.of(3L)), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(new PantryDto.ExpiringItem(7L, 3L, "たまねぎ", "2個", LocalDate.now())));
 
         // When
         pantryExpiryJob.checkExpiringItems();
 
         // Then
-        verify(pantryService).findExpiringSoon(any(LocalDate.class), any(LocalDate.class));
+        assertThat(meterRegistry.get("pantry.expiry.job.failed.chunks").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("pantry.expiry.job.items").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("pantry.expiry.job.users").counter().count()).isEqualTo(1);
     }
 
     @Test
     @DisplayName("checkExpiringItems - サービスで例外が発生しても正常に処理を継続する")
     void checkExpiringItems_ServiceThrowsException_HandlesGracefully() {
         // Given
-        when(pantryService.findExpiringSoon(any(LocalDate.class), any(LocalDate.class)))
+        when(pantryService.findUserIdsWithItemsExpiring(any(LocalDate.class), any(LocalDate.class), anyLong(), anyInt()))
                 .thenThrow(new RuntimeException("Database error"));
 
         // When
         pantryExpiryJob.checkExpiringItems();
 
         // Then
-        verify(pantryService).findExpiringSoon(any(LocalDate.class), any(LocalDate.class));
         // ジョブは例外をキャッチしてログに記録し、正常に終了する
+        verify(pantryService, never()).findExpiringItemsByUserIds(any(), any(), any());
+        assertThat(meterRegistry.get("pantry.expiry.job.duration").timer().count()).isEqualTo(1);
     }
 
     @Test
-    @DisplayName("checkExpiringItems - 今日期限切れの項目も検出する")
-    void checkExpiringItems_ItemsExpiringToday_AreDetected() {
+    @DisplayName("checkExpiringItems - 他のインスタンスがロックを保持している場合は実行しない")
+    void checkExpiringItems_LockHeldElsewhere_Skips() {
         // Given
-        LocalDate today = LocalDate.now();
-
-        IngredientEntity ingredient = new IngredientEntity("たまねぎ");
-        ingredient.setId(1L);
-
-        PantryItemEntity item = new PantryItemEntity(1L, ingredient, "2個", today);
-        item.setId(1L);
-
-        List<PantryItemEntity> expiringItems = Collections.singletonList(item);
-
-        when(pantryService.findExpiringSoon(any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(expiringItems);
+        when(jobLock.tryLock(eq("pantry-expiry"), any(Duration.class))).thenReturn(false);
 
         // When
         pantryExpiryJob.checkExpiringItems();
 
         // Then
-        verify(pantryService).findExpiringSoon(any(LocalDate.class), any(LocalDate.class));
+        verifyNoInteractions(pantryService);
+        verify(jobLock, never()).unlock(any(), any());
+        assertThat(meterRegistry.get("pantry.expiry.job.skipped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("pantry.expiry.job.duration").timer().count()).isZero();
     }
 
     @Test
-    @DisplayName("checkExpiringItems - 同じユーザーの複数の項目をグループ化する")
-    void checkExpiringItems_MultipleItemsSameUser_GroupsCorrectly() {
+    @DisplayName("checkExpiringItems - 実行後に最低保持期間を指定してロックを解放する")
+    void checkExpiringItems_ReleasesLockAfterRun() {
         // Given
-        LocalDate expiryDate1 = LocalDate.now().plusDays(1);
-        LocalDate expiryDate2 = LocalDate.now().plusDays(2);
-
-        IngredientEntity ingredient1 = new IngredientEntity("たまねぎ");
-        ingredient1.setId(1L);
-        IngredientEntity ingredient2 = new IngredientEntity("にんじん");
-        ingredient2.setId(2L);
-        IngredientEntity ingredient3 = new IngredientEntity("じゃがいも");
-        ingredient3.setId(3L);
+        when(pantryService.findUserIdsWithItemsExpiring(any(LocalDate.class), any(LocalDate.class), anyLong(), anyInt()))
+                .thenThrow(new RuntimeException("Database error"));
 
-        // すべて同じユーザー(userId=1)の項目
-        PantryItemEntity item1 = new PantryItemEntity(1L, ingredient1, "2個", expiryDate1);
-        item1.setId(1L);
-        PantryItemEntity item2 = new PantryItemEntity(1L, ingredient2, "3本", expiryDate2);
-        item2.setId(2L);
-        PantryItemEntity item3 = new PantryItemEntity(1L, ingredient3, "5個", expiryDate1);
-        item3.setId(3L);
+        // When
+        pantryExpiryJob.checkExpiringItems();
 
-        List<PantryItemEntity> expiringItems = Arrays.asList(item1, item2, item3);
+        // Then
+        verify(jobLock).tryLock("pantry-expiry", Duration.ofHours(1));
+        verify(jobLock).unlock("pantry-expiry", Duration.ofMinutes(10));
+    }
 
-        when(pantryService.findExpiringSoon(any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(expiringItems);
+    @Test
+    @DisplayName("checkExpiringItems - ロックを取得できない場合は例外を記録して終了する")
+    void checkExpiringItems_LockFails_HandlesGracefully() {
+        // Given
+        when(jobLock.tryLock(eq("pantry-expiry"), any(Duration.class)))
+                .thenThrow(new RuntimeException("Database error"));
 
         // When
         pantryExpiryJob.checkExpiringItems();
 
         // Then
-        verify(pantryService).findExpiringSoon(any(LocalDate.class), any(LocalDate.class));
+        verifyNoInteractions(pantryService);
+        verify(jobLock, never()).unlock(any(), any());
     }
 }
@@ -0,0 +1,96 @@
+package com.example.kitchenapi.job;
+
+import com.example.kitchenapi.config.AppJobProps;
+import com.example.kitchenapi.service.RecipeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecipeTagBackfillJob 単体テスト")
+class RecipeTagBackfillJobTest {
+
+    @Mock
+    private RecipeService recipeService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private AppJobProps props;
+
+    private RecipeTagBackfillJob job;
+
+    @BeforeEach
+    void setUp() {
+        props = new AppJobProps();
+        props.setTagBackfillBatchSize(2);
+        job = new RecipeTagBackfillJob(recipeService, props, taskScheduler);
+    }
+
+    @Test
+    @DisplayName("backfill - 最後に処理したIDから次のバッチを続け、空になったら終了する")
+    void backfill_ContinuesFromLastId() {
+        // Given
+        when(recipeService.backfillTags(0L, 2)).thenReturn(List.of(3L, 5L));
+        when(recipeService.backfillTags(5L, 2)).thenReturn(List.of(8L));
+        when(recipeService.backfillTags(8L, 2)).thenReturn(List.of());
+
+        // When
+        int processed = job.backfill();
+
+        // Then
+        assertThat(processed).isEqualTo(3);
+        verify(recipeService, times(3)).backfillTags(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("backfill - 途中で例外が発生してもジョブは例外を投げない")
+    void backfill_HandlesException() {
+        // Given
+        when(recipeService.backfillTags(0L, 2)).thenReturn(List.of(1L, 2L));
+        when(recipeService.backfillTags(2L, 2)).thenThrow(new RuntimeException("Database error"));
+
+        // When
+        int processed = job.backfill();
+
+        // Then
+        assertThat(processed).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("scheduleOnStartup - 有効な場合はスケジューラーに投入する")
+    void scheduleOnStartup_Enabled() {
+        // When
+        job.scheduleOnStartup();
+
+        // Then
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    @DisplayName("scheduleOnStartup - 無効な場合は何もしない")
+    void scheduleOnStartup_Disabled() {
+        // Given
+        props.setTagBackfillEnabled(false);
+
+        // When
+        job.scheduleOnStartup();
+
+        // Then
+        verifyNoInteractions(taskScheduler, recipeService);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.kitchenapi.security;
 
+import com.example.kitchenapi.config.AppCacheProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,6 +16,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -36,9 +40,12 @@ class JwtAuthFilterTest {
 
     private JwtAuthFilter jwtAuthFilter;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
-        jwtAuthFilter = new JwtAuthFilter(jwtService);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtAuthFilter = new JwtAuthFilter(jwtService, new VerifiedTokenCache(new AppCacheProps(), meterRegistry));
         SecurityContextHolder.clearContext();
     }
 
@@ -51,9 +58,7 @@ class JwtAuthFilterTest {
         Long userId = 1L;
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.validateToken(token)).thenReturn(true);
-        when(jwtService.getEmailFromToken(token)).thenReturn(email);
-        when(jwtService.getUserIdFromToken(token)).thenReturn(userId);
+        when(jwtService.verify(token)).thenReturn(verified(userId, email));
 
         // When
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
@@ -68,33 +73,55 @@ class JwtAuthFilterTest {
         assertThat(authUser.getEmail()).isEqualTo(email);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).validateToken(token);
-        verify(jwtService).getEmailFromToken(token);
-        verify(jwtService).getUserIdFromToken(token);
+        // トークンの解析（署名検証）はリクエストごとに1回だけ行う
+        verify(jwtService, times(1)).verify(token);
+        verifyNoMoreInteractions(jwtService);
     }
 
     @Test
-    @DisplayName("doFilterInternal - Authorizationヘッダーがない場合、認証情報を設定しない")
-    void doFilterInternal_WithoutAuthorizationHeader_DoesNotSetAuthentication() throws ServletException, IOException {
+    @DisplayName("doFilterInternal - 同じトークンの2回目以降は検証済みキャッシュを使用し、署名を再検証しない")
+    void doFilterInternal_RepeatedToken_UsesVerifiedCache() throws ServletException, IOException {
         // Given
-        when(request.getHeader("Authorization")).thenReturn(null);
+        String token = "repeated-token";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenReturn(verified(7L, "repeat@example.com"));
 
         // When
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
         // Then
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        assertThat(authentication).isNull();
+        assertThat(((AuthUser) authentication.getPrincipal()).getUserId()).isEqualTo(7L);
+        verify(jwtService, times(1)).verify(token);
+        verify(filterChain, times(2)).doFilter(request, response);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.verified-tokens").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
 
-        verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).validateToken(anyString());
+    @Test
+    @DisplayName("doFilterInternal - 無効なトークンはキャッシュせず、毎回検証する")
+    void doFilterInternal_InvalidToken_IsNotCached() throws ServletException, IOException {
+        // Given
+        String token = "invalid-token";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenReturn(Optional.empty());
+
+        // When
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(jwtService, times(2)).verify(token);
     }
 
     @Test
-    @DisplayName("doFilterInternal - Bearerプレフィックスがない場合、認証情報を設定しない")
-    void doFilterInternal_WithoutBearerPrefix_DoesNotSetAuthentication() throws ServletException, IOException {
+    @DisplayName("doFilterInternal - Authorizationヘッダーがない場合、認証情報を設定しない")
+    void doFilterInternal_WithoutAuthorizationHeader_DoesNotSetAuthentication() throws ServletException, IOException {
         // Given
-        when(request.getHeader("Authorization")).thenReturn("InvalidPrefix token");
+        when(request.getHeader("Authorization")).thenReturn(null);
 
         // When
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
@@ -104,16 +131,14 @@ class JwtAuthFilterTest {
         assertThat(authentication).isNull();
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).validateToken(anyString());
+        verify(jwtService, never()).verify(anyString());
     }
 
     @Test
-    @DisplayName("doFilterInternal - 無効なトークンの場合、認証情報を設定しない")
-    void doFilterInternal_WithInvalidToken_DoesNotSetAuthentication() throws ServletException, IOException {
+    @DisplayName("doFilterInternal - Bearerプレフィックスがない場合、認証情報を設定しない")
+    void doFilterInternal_WithoutBearerPrefix_DoesNotSetAuthentication() throws ServletException, IOException {
         // Given
-        String token = "invalid-token";
-        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.validateToken(token)).thenReturn(false);
+        when(request.getHeader("Authorization")).thenReturn("InvalidPrefix token");
 
         // When
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
@@ -123,19 +148,16 @@ class JwtAuthFilterTest {
         assertThat(authentication).isNull();
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).validateToken(token);
-        verify(jwtService, never()).getEmailFromToken(anyString());
-        verify(jwtService, never()).getUserIdFromToken(anyString());
+        verify(jwtService, never()).verify(anyString());
     }
 
     @Test
-    @DisplayName("doFilterInternal - トークン解析で例外が発生した場合、認証情報を設定せずに処理を継続する")
-    void doFilterInternal_WhenTokenParsingThrowsException_DoesNotSetAuthentication() throws ServletException, IOException {
+    @DisplayName("doFilterInternal - 無効なトークンの場合、認証情報を設定しない")
+    void doFilterInternal_WithInvalidToken_DoesNotSetAuthentication() throws ServletException, IOException {
         // Given
-        String token = "valid-token";
+        String token = "invalid-token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.validateToken(token)).thenReturn(true);
-        when(jwtService.getEmailFromToken(token)).thenThrow(new RuntimeException("Token parsing error"));
+        when(jwtService.verify(token)).thenReturn(Optional.empty());
 
         // When
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
@@ -145,21 +167,16 @@ class JwtAuthFilterTest {
         assertThat(authentication).isNull();
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).validateToken(token);
-        verify(jwtService).getEmailFromToken(token);
+        verify(jwtService).verify(token);
     }
 
     @Test
-    @DisplayName("doFilterInternal - getUserIdFromTokenで例外が発生した場合、認証情報を設定しない")
-    void doFilterInternal_WhenGetUserIdThrowsException_DoesNotSetAuthentication() throws ServletException, IOException {
+    @DisplayName("doFilterInternal - トークン解析で例外が発生した場合、認証情報を設定せずに処理を継続する")
+    void doFilterInternal_WhenTokenParsingThrowsException_DoesNotSetAuthentication() throws ServletException, IOException {
         // Given
         String token = "valid-token";
-        String email = "test@example.com";
-
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.validateToken(token)).thenReturn(true);
-        when(jwtService.getEmailFromToken(token)).thenReturn(email);
-        when(jwtService.getUserIdFromToken(token)).thenThrow(new RuntimeException("UserId extraction error"));
+        when(jwtService.verify(token)).thenThrow(new RuntimeException("Token parsing error"));
 
         // When
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
@@ -169,9 +186,7 @@ class JwtAuthFilterTest {
         assertThat(authentication).isNull();
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService).validateToken(token);
-        verify(jwtService).getEmailFromToken(token);
-        verify(jwtService).getUserIdFromToken(token);
+        verify(jwtService).verify(token);
     }
 
     @Test
@@ -209,15 +224,13 @@ class JwtAuthFilterTest {
         // Given
         String token = "valid-token-12345";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.validateToken(token)).thenReturn(true);
-        when(jwtService.getEmailFromToken(token)).thenReturn("test@example.com");
-        when(jwtService.getUserIdFromToken(token)).thenReturn(1L);
+        when(jwtService.verify(token)).thenReturn(verified(1L, "test@example.com"));
 
         // When
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).validateToken(token);
+        verify(jwtService).verify(token);
     }
 
     @Test
@@ -234,6 +247,10 @@ class JwtAuthFilterTest {
         assertThat(authentication).isNull();
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).validateToken(anyString());
+        verify(jwtService, never()).verify(anyString());
+    }
+
+    private Optional<VerifiedToken> verified(Long userId, String email) {
+        return Optional.of(new VerifiedToken(new AuthUser(userId, email, null), Instant.now().plusSeconds(600)));
     }
 }
@@ -7,7 +7,10 @@ import org.junit.jupiter.api.Test;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -171,6 +174,79 @@ class JwtServiceTest {
                 .hasMessage("Invalid uid claim");
     }
 
+    @Test
+    @DisplayName("authenticate - 正常系: 1回の解析でメールアドレスとユーザーIDを取得できる")
+    void authenticate_ValidToken() {
+        // Given
+        JwtService jwtService = createJwtService();
+        String token = jwtService.generateToken("test@example.com", 123L);
+
+        // When
+        Optional<AuthUser> authUser = jwtService.authenticate(token);
+
+        // Then
+        assertThat(authUser).isPresent();
+        assertThat(authUser.get().getEmail()).isEqualTo("test@example.com");
+        assertThat(authUser.get().getUserId()).isEqualTo(123L);
+        assertThat(authUser.get().getName()).isNull();
+    }
+
+    @Test
+    @DisplayName("verify - 正常系: ユーザー情報とトークンの有効期限を返す")
+    void verify_ValidToken_ReturnsExpiration() {
+        // Given
+        JwtService jwtService = createJwtService();
+        Instant before = Instant.now().minusSeconds(1);
+        String token = jwtService.generateToken("test@example.com", 123L);
+
+        // When
+        Optional<VerifiedToken> verified = jwtService.verify(token);
+
+        // Then
+        assertThat(verified).isPresent();
+        assertThat(verified.get().user().getUserId()).isEqualTo(123L);
+        assertThat(verified.get().expiresAt())
+                .isAfter(before.plus(Duration.ofMinutes(JWT_EXP_MINUTES)))
+                .isBefore(Instant.now().plus(Duration.ofMinutes(JWT_EXP_MINUTES)).plusSeconds(1));
+    }
+
+    @Test
+    @DisplayName("authenticate - 異常系: 不正な形式・署名が不正なトークンは空を返す")
+    void authenticate_InvalidToken() {
+        // Given
+        JwtService jwtService = createJwtService();
+        Key wrongKey = Keys.hmacShaKeyFor(
+                "wrong-secret-key-with-at-least-32-characters-for-hs256-abc".getBytes(StandardCharsets.UTF_8));
+        String tokenWithWrongSignature = Jwts.builder()
+                .setSubject("test@example.com")
+                .claim("uid", 1L)
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(wrongKey)
+                .compact();
+
+        // When & Then
+        assertThat(jwtService.authenticate("invalid.token.format")).isEmpty();
+        assertThat(jwtService.authenticate("")).isEmpty();
+        assertThat(jwtService.authenticate(tokenWithWrongSignature)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("authenticate - 異常系: uidクレームがNumber型でない場合は空を返す")
+    void authenticate_InvalidUidType() {
+        // Given
+        JwtService jwtService = createJwtService();
+        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        String tokenWithInvalidUid = Jwts.builder()
+                .setSubject("test@example.com")
+                .claim("uid", "not-a-number")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(key)
+                .compact();
+
+        // When & Then
+        assertThat(jwtService.authenticate(tokenWithInvalidUid)).isEmpty();
+    }
+
     @Test
     @DisplayName("トークンの有効期限が正しく設定される")
     void tokenExpiration_IsCorrect() throws InterruptedException {
@@ -0,0 +1,121 @@
+package com.example.kitchenapi.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PasswordHashingService 単体テスト")
+class PasswordHashingServiceTest {
+
+    private PasswordHashingService service;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (service != null) {
+            service.destroy();
+        }
+    }
+
+    private PasswordHashingService createService(PasswordEncoder encoder, int threads, int queueCapacity, Duration timeout) {
+        AppSecurityProps props = new AppSecurityProps();
+        props.setPasswordHashingThreads(threads);
+        props.setPasswordHashingQueueCapacity(queueCapacity);
+        props.setPasswordHashingTimeout(timeout);
+        service = new PasswordHashingService(encoder, props, new SimpleMeterRegistry());
+        return service;
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch started) {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "hashed";
+        });
+        return encoder;
+    }
+
+    @Test
+    @DisplayName("encode/matches - 正常系: 専用スレッドでハッシュ化・照合した結果を返す")
+    void encodeAndMatches_Success() {
+        // Given
+        PasswordHashingService service = createService(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5));
+
+        // When
+        String hash = service.encode("password123");
+
+        // Then
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(service.matches("password123", hash)).isTrue();
+        assertThat(service.matches("wrong", hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("encode - 異常系: スレッドと待ち行列が埋まっている場合は待たずに503")
+    void encode_QueueFull_RejectsWith503() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordHashingService service = createService(blockingEncoder(started), 1, 1, Duration.ofSeconds(10));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("b"));
+        Thread.sleep(100);
+
+        // When & Then
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> service.encode("c"))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(ex -> assertThat(((ResponseStatusException) ex).getStatusCode())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed");
+    }
+
+    @Test
+    @DisplayName("encode - 異常系: タイムアウトまでに完了しない場合は503")
+    void encode_Timeout_Returns503() {
+        // Given
+        PasswordHashingService service = createService(blockingEncoder(new CountDownLatch(1)), 1, 1, Duration.ofMillis(50));
+
+        // When & Then
+        assertThatThrownBy(() -> service.encode("a"))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(ex -> assertThat(((ResponseStatusException) ex).getStatusCode())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @Test
+    @DisplayName("matches - 異常系: エンコーダーの例外はそのまま伝播する")
+    void matches_EncoderException_Propagates() {
+        // Given
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches(any(), any())).thenThrow(new IllegalArgumentException("Encoded password does not look like BCrypt"));
+        PasswordHashingService service = createService(encoder, 1, 1, Duration.ofSeconds(5));
+
+        // When & Then
+        assertThatThrownBy(() -> service.matches("a", "not-a-hash"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Encoded password does not look like BCrypt");
+    }
+}
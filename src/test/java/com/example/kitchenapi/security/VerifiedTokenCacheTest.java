@@ -0,0 +1,215 @@
+package com.example.kitchenapi.security;
+
+import com.example.kitchenapi.config.AppCacheProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("VerifiedTokenCache 単体テスト")
+class VerifiedTokenCacheTest {
+
+    // 実際の現在時刻とは異なる時刻から始め、キャッシュが注入した時計だけを使うことを確かめる
+    private final MutableClock clock = new MutableClock(Instant.parse("2030-01-01T00:00:00Z"));
+
+    private AppCacheProps props;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp() {
+        props = new AppCacheProps();
+        props.setVerifiedTokenMaxTtl(Duration.ofMinutes(5));
+        meterRegistry = new SimpleMeterRegistry();
+        verifications = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("get - 2回目以降は検証処理を呼ばずにキャッシュから返し、ヒット数を記録する")
+    void get_Hit_SkipsVerifier() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(props, meterRegistry, Runnable::run, clock);
+        Function<String, Optional<VerifiedToken>> verifier = verifierExpiringIn(Duration.ofHours(1));
+
+        // When
+        Optional<AuthUser> first = cache.get("token", verifier);
+        Optional<AuthUser> second = cache.get("token", verifier);
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(second.get().getUserId()).isEqualTo(1L);
+        assertThat(verifications).hasValue(1);
+        assertThat(gets("hit")).isEqualTo(1.0);
+        assertThat(gets("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("get - 検証に失敗したトークンはキャッシュしない")
+    void get_InvalidToken_NotCached() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(props, meterRegistry, Runnable::run, clock);
+        Function<String, Optional<VerifiedToken>> verifier = token -> {
+            verifications.incrementAndGet();
+            return Optional.empty();
+        };
+
+        // When
+        Optional<AuthUser> first = cache.get("invalid", verifier);
+        Optional<AuthUser> second = cache.get("invalid", verifier);
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("get - トークンの有効期限が最大保持期間より前の場合は有効期限で失効する")
+    void get_ExpiresAtTokenExpiration() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(props, meterRegistry, Runnable::run, clock);
+        Function<String, Optional<VerifiedToken>> verifier = verifierExpiringIn(Duration.ofSeconds(60));
+        cache.get("token", verifier);
+
+        // When
+        clock.advance(Duration.ofSeconds(55));
+        cache.get("token", verifier);
+        clock.advance(Duration.ofSeconds(10));
+        cache.get("token", verifier);
+
+        // Then
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("get - トークンの有効期限が最大保持期間より後の場合は最大保持期間で失効する")
+    void get_ExpiresAtMaxTtl() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(props, meterRegistry, Runnable::run, clock);
+        Function<String, Optional<VerifiedToken>> verifier = verifierExpiringIn(Duration.ofHours(2));
+        cache.get("token", verifier);
+
+        // When
+        clock.advance(Duration.ofMinutes(4));
+        cache.get("token", verifier);
+        clock.advance(Duration.ofMinutes(2));
+        cache.get("token", verifier);
+
+        // Then
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("get - 残り有効期間はシステム時刻ではなく注入した時計の現在時刻から計算する")
+    void get_RemainingLifetimeUsesInjectedClock() {
+        // Given: システム時刻ではすでに期限切れだが、時計の上ではあと60秒有効なトークン
+        clock.set(Instant.parse("2020-01-01T00:00:00Z"));
+        VerifiedTokenCache cache = new VerifiedTokenCache(props, meterRegistry, Runnable::run, clock);
+        Function<String, Optional<VerifiedToken>> verifier = verifierExpiringIn(Duration.ofSeconds(60));
+        cache.get("token", verifier);
+
+        // When
+        clock.advance(Duration.ofSeconds(55));
+        cache.get("token", verifier);
+        clock.advance(Duration.ofSeconds(10));
+        cache.get("token", verifier);
+
+        // Then
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("get - 期限切れのトークンは保持しない")
+    void get_ExpiredToken_NotRetained() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(props, meterRegistry, Runnable::run, clock);
+        Function<String, Optional<VerifiedToken>> verifier = verifierExpiringIn(Duration.ofSeconds(-1));
+
+        // When
+        cache.get("token", verifier);
+        clock.advance(Duration.ofNanos(1));
+        cache.get("token", verifier);
+
+        // Then
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("get - 最大件数を超えるとエントリを破棄する")
+    void get_MaxSize_Evicts() {
+        // Given
+        props.setVerifiedTokenMaxSize(1);
+        VerifiedTokenCache cache = new VerifiedTokenCache(props, meterRegistry, Runnable::run, clock);
+        Function<String, Optional<VerifiedToken>> verifier = verifierExpiringIn(Duration.ofHours(1));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            cache.get("token-" + i, verifier);
+        }
+
+        // Then
+        assertThat(meterRegistry.get("cache.size").tag("cache", "jwt.verified-tokens").gauge().value())
+                .isLessThanOrEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "jwt.verified-tokens")
+                .functionCounter().count()).isGreaterThan(0.0);
+    }
+
+    private Function<String, Optional<VerifiedToken>> verifierExpiringIn(Duration remaining) {
+        return token -> {
+            verifications.incrementAndGet();
+            return Optional.of(new VerifiedToken(new AuthUser(1L, "test@example.com", null),
+                    clock.instant().plus(remaining)));
+        };
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt.verified-tokens").tag("result", result)
+                .functionCounter().count();
+    }
+
+    /**
+     * テストから進められる時計
+     */
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.dto.PantryDto;
+import com.example.kitchenapi.dto.RecipeDto;
+import com.example.kitchenapi.entity.PantryItemEntity;
+import com.example.kitchenapi.entity.RecipeEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Version and generation test against a real PostgreSQL instance.
+ * Conditional GETs build their ETags from the recipe version and the per-user pantry generation only,
+ * so every write path (including the native batch statements) must advance them, and failed writes must not.
+ */
+@SpringBootTest
+class ConditionalGetVersionIT extends AbstractPostgresIT {
+
+    @Autowired
+    private PantryService pantryService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = System.nanoTime();
+    }
+
+    @Test
+    void pantryGeneration_advancesOnEveryWriteOnly() {
+        assertThat(pantryService.currentGeneration(userId)).isZero();
+
+        PantryItemEntity milk = pantryService.add(userId, "etag-milk", "1L", null);
+        assertThat(pantryService.currentGeneration(userId)).isEqualTo(1);
+
+        pantryService.update(milk.getId(), userId, "2L", null);
+        assertThat(pantryService.currentGeneration(userId)).isEqualTo(2);
+
+        pantryService.applyBatch(userId, List.of(
+                new PantryDto.BatchOp("add", null, "etag-eggs", "6", LocalDate.of(2026, 3, 1)),
+                new PantryDto.BatchOp("update", milk.getId(), null, "3L", null)));
+        assertThat(pantryService.currentGeneration(userId)).isEqualTo(3);
+
+        // Batches without a valid operation do not change the list
+        pantryService.applyBatch(userId, List.of(new PantryDto.BatchOp("upsert", milk.getId(), null, null, null)));
+        assertThat(pantryService.currentGeneration(userId)).isEqualTo(3);
+
+        pantryService.delete(milk.getId(), userId);
+        assertThat(pantryService.currentGeneration(userId)).isEqualTo(4);
+    }
+
+    @Test
+    void pantryGeneration_isRolledBackWithRejectedWrites() {
+        PantryItemEntity othersMilk = pantryService.add(userId + 1, "etag-milk", "1L", null);
+
+        assertThatThrownBy(() -> pantryService.update(othersMilk.getId(), userId, "2L", null))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> pantryService.delete(othersMilk.getId() + 1_000_000, userId))
+                .isInstanceOf(ResponseStatusException.class);
+
+        assertThat(pantryService.currentGeneration(userId)).isZero();
+        assertThat(pantryService.currentGeneration(userId + 1)).isEqualTo(1);
+    }
+
+    @Test
+    void pantryVersion_isIncrementedByEntityAndBatchUpdates() {
+        PantryItemEntity milk = pantryService.add(userId, "etag-milk", "1L", null);
+        assertThat(versionOf(milk.getId())).isZero();
+
+        pantryService.update(milk.getId(), userId, "2L", null);
+        assertThat(versionOf(milk.getId())).isEqualTo(1);
+
+        pantryService.applyBatch(userId, List.of(new PantryDto.BatchOp("update", milk.getId(), null, "3L", null)));
+        assertThat(versionOf(milk.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void recipeVersion_isIncrementedByUpdates() {
+        RecipeEntity recipe = recipeService.create(userId, "ETag stew", "Simmer", 30, "spicy",
+                List.of(new RecipeDto.IngredientItem("etag-onion", "1")));
+        assertThat(recipeService.findVersionById(recipe.getId())).isZero();
+
+        recipeService.update(recipe.getId(), userId, new RecipeDto.UpdateRequest(null, null, 45, null));
+        assertThat(recipeService.findVersionById(recipe.getId())).isEqualTo(1);
+
+        recipeService.update(recipe.getId(), userId, new RecipeDto.UpdateRequest(null, null, null, "mild"));
+        assertThat(recipeService.findVersionById(recipe.getId())).isEqualTo(2);
+    }
+
+    private long versionOf(Long pantryItemId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM pantry_items WHERE id = ?", Long.class, pantryItemId);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.dto.PantryDto;
+import com.example.kitchenapi.dto.RecipeDto;
+import com.example.kitchenapi.entity.RecipeEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Recipe and pantry export test against a real PostgreSQL instance.
+ * Rows are read through a server-side cursor in chunks and must come out complete and in ID order
+ * across chunk boundaries, with each recipe's ingredients attached.
+ */
+@SpringBootTest
+class ExportIT extends AbstractPostgresIT {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private PantryService pantryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = System.nanoTime();
+    }
+
+    @Test
+    void exportRecipes_streamsEveryRecipeWithIngredientsInIdOrder() {
+        RecipeEntity first = recipeService.create(ownerId, "Curry", "Simmer", 30, "spicy",
+                List.of(new RecipeDto.IngredientItem("export-onion", "2"),
+                        new RecipeDto.IngredientItem("export-rice", "1 cup")));
+        // More rows than one export chunk, so ingredients are fetched for several chunks
+        jdbcTemplate.update("INSERT INTO recipes (id, owner_id, title, steps, cook_time_min, created_at) "
+                + "SELECT nextval('recipes_seq'), ?, 'Bulk ' || g, 'Steps', 10, now() "
+                + "FROM generate_series(1, 600) g", ownerId);
+        jdbcTemplate.update("INSERT INTO recipe_ingredients (recipe_id, ingredient_id, quantity) "
+                + "SELECT r.id, i.id, '1' FROM recipes r, ingredients i "
+                + "WHERE r.owner_id = ? AND r.title LIKE 'Bulk %' AND i.name = 'export-rice'", ownerId);
+        recipeService.create(ownerId + 1, "Someone else's", "Steps", 10, null,
+                List.of(new RecipeDto.IngredientItem("export-rice", "1")));
+
+        List<RecipeDto.RecipeView> exported = new ArrayList<>();
+        long count = recipeService.exportViews(ownerId, exported::add);
+
+        assertThat(count).isEqualTo(601);
+        assertThat(exported).hasSize(601);
+        assertThat(exported).extracting(RecipeDto.RecipeView::id).isSorted().doesNotHaveDuplicates();
+        RecipeDto.RecipeView curry = exported.get(0);
+        assertThat(curry).extracting(RecipeDto.RecipeView::id, RecipeDto.RecipeView::title,
+                        RecipeDto.RecipeView::steps, RecipeDto.RecipeView::cookTimeMin, RecipeDto.RecipeView::tags)
+                .containsExactly(first.getId(), "Curry", "Simmer", 30, "spicy");
+        assertThat(curry.ingredients()).containsExactlyInAnyOrder(
+                new RecipeDto.IngredientItem("export-onion", "2"),
+                new RecipeDto.IngredientItem("export-rice", "1 cup"));
+        assertThat(exported.subList(1, 601)).allSatisfy(view -> assertThat(view.ingredients())
+                .containsExactly(new RecipeDto.IngredientItem("export-rice", "1")));
+    }
+
+    @Test
+    void exportPantry_streamsEveryItemWithIngredientNameInIdOrder() {
+        pantryService.add(ownerId, "export-milk", "1L", LocalDate.of(2026, 1, 10));
+        pantryService.add(ownerId, "export-eggs", "6", null);
+        pantryService.add(ownerId + 1, "export-milk", "2L", null);
+
+        List<PantryDto.PantryView> exported = new ArrayList<>();
+        long count = pantryService.exportViews(ownerId, exported::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(exported).extracting(PantryDto.PantryView::ingredientName, PantryDto.PantryView::amount,
+                        PantryDto.PantryView::expiresOn)
+                .containsExactly(
+                        tuple("export-milk", "1L", LocalDate.of(2026, 1, 10)),
+                        tuple("export-eggs", "6", null));
+        assertThat(exported).extracting(PantryDto.PantryView::id).isSorted();
+    }
+}
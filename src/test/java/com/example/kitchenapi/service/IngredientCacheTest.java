@@ -0,0 +1,158 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.config.AppCacheProps;
+import com.example.kitchenapi.entity.IngredientEntity;
+import com.example.kitchenapi.repository.IngredientRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IngredientCache 単体テスト")
+class IngredientCacheTest {
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IngredientCache ingredientCache;
+
+    @BeforeEach
+    void setUp() {
+        AppCacheProps props = new AppCacheProps();
+        props.setIngredientMaxSize(100);
+        meterRegistry = new SimpleMeterRegistry();
+        ingredientCache = new IngredientCache(ingredientRepository, props, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("put - トランザクション外では即座に名前とIDの両方向で参照できる")
+    void put_OutsideTransaction() {
+        // When
+        ingredientCache.put(ingredient(1L, "onion"));
+
+        // Then
+        assertThat(ingredientCache.getId("onion")).isEqualTo(1L);
+        assertThat(ingredientCache.getName(1L)).isEqualTo("onion");
+        assertThat(ingredientCache.size()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("put - トランザクション中はコミット後に書き込まれる")
+    void put_InsideTransaction_AppliedAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        ingredientCache.put(ingredient(2L, "carrot"));
+
+        // Then: コミット前は見えない
+        assertThat(ingredientCache.getId("carrot")).isNull();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(ingredientCache.getId("carrot")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("put - ロールバックされた材料はキャッシュに残らない")
+    void put_InsideTransaction_RolledBack() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        ingredientCache.put(ingredient(3L, "potato"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        assertThat(ingredientCache.getId("potato")).isNull();
+        assertThat(ingredientCache.getName(3L)).isNull();
+    }
+
+    @Test
+    @DisplayName("put - IDが未確定の材料やnullは無視される")
+    void put_IgnoresIncompleteEntities() {
+        // When
+        ingredientCache.put(null);
+        ingredientCache.put(new IngredientEntity("no-id"));
+
+        // Then
+        assertThat(ingredientCache.getId("no-id")).isNull();
+        assertThat(ingredientCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("warmUp - 既存の材料を最大件数まで読み込む")
+    void warmUp_LoadsExistingIngredients() {
+        // Given
+        when(ingredientRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(ingredient(1L, "onion"), ingredient(2L, "carrot"))));
+
+        // When
+        ingredientCache.warmUp();
+
+        // Then
+        assertThat(ingredientCache.getId("onion")).isEqualTo(1L);
+        assertThat(ingredientCache.getName(2L)).isEqualTo("carrot");
+        verify(ingredientRepository).findAll(argThat((Pageable p) -> p.getPageSize() == 100));
+    }
+
+    @Test
+    @DisplayName("warmUp - 読み込みに失敗しても例外を送出しない")
+    void warmUp_FailureIsSwallowed() {
+        // Given
+        when(ingredientRepository.findAll(any(Pageable.class))).thenThrow(new RuntimeException("DB down"));
+
+        // When
+        ingredientCache.warmUp();
+
+        // Then
+        assertThat(ingredientCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("メトリクス - ヒットとミスがcache.getsとして記録される")
+    void metrics_RecordHitsAndMisses() {
+        // Given
+        ingredientCache.put(ingredient(1L, "onion"));
+
+        // When
+        ingredientCache.getId("onion");
+        ingredientCache.getId("onion");
+        ingredientCache.getId("garlic");
+
+        // Then
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "ingredient.ids").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "ingredient.ids").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private IngredientEntity ingredient(Long id, String name) {
+        IngredientEntity ingredient = new IngredientEntity(name);
+        ingredient.setId(id);
+        return ingredient;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.entity.IngredientEntity;
+import com.example.kitchenapi.repository.IngredientRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrency test for ingredient creation against a real PostgreSQL instance.
+ * Many threads race to create the same new ingredient at the same moment;
+ * every caller must succeed and observe the same single row.
+ */
+@SpringBootTest
+class IngredientServiceConcurrencyIT extends AbstractPostgresIT {
+
+    private static final int THREADS = 64;
+
+    @Autowired
+    private IngredientService ingredientService;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 64 threads call findOrCreate with the same brand-new name.
+     * None of them may fail with a unique constraint violation, and all must get the same id.
+     */
+    @Test
+    void findOrCreate_sameNameFrom64Threads_createsExactlyOneRow() throws Exception {
+        String name = "saffron-" + System.nanoTime();
+
+        List<Long> ids = runConcurrently(() -> ingredientService.findOrCreate(name).getId());
+
+        assertThat(ids).hasSize(THREADS).doesNotContainNull();
+        assertThat(new HashSet<>(ids)).hasSize(1);
+        assertThat(ingredientRepository.findByNameIn(List.of(name))).hasSize(1);
+    }
+
+    /**
+     * 64 threads call findOrCreateAll with overlapping name sets in different orders.
+     * Every name must end up as exactly one row and every caller must see the same ids.
+     */
+    @Test
+    void findOrCreateAll_overlappingNamesFrom64Threads_createsEachNameOnce() throws Exception {
+        String suffix = "-" + System.nanoTime();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            names.add("spice" + i + suffix);
+        }
+
+        List<Map<String, Long>> results = runConcurrently(() -> {
+            List<String> shuffled = new ArrayList<>(names);
+            Collections.shuffle(shuffled);
+            Map<String, IngredientEntity> resolved = ingredientService.findOrCreateAll(shuffled.subList(0, 5));
+            Map<String, Long> idsByName = new HashMap<>();
+            resolved.forEach((name, ingredient) -> idsByName.put(name, ingredient.getId()));
+            return idsByName;
+        });
+
+        assertThat(results).hasSize(THREADS);
+        for (String name : names) {
+            Set<Long> idsForName = new HashSet<>();
+            results.stream().map(r -> r.get(name)).filter(Objects::nonNull).forEach(idsForName::add);
+            assertThat(idsForName).hasSizeLessThanOrEqualTo(1);
+        }
+        assertThat(ingredientRepository.findByNameIn(names)).hasSizeLessThanOrEqualTo(names.size())
+                .extracting(IngredientEntity::getName)
+                .doesNotHaveDuplicates();
+    }
+
+    /**
+     * Runs the task on all threads, released together by a latch, and collects the results.
+     * Any exception thrown by a worker fails the test through Future.get().
+     */
+    private <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                start.await();
+                return task.call();
+            }));
+        }
+        ready.await(10, TimeUnit.SECONDS);
+        start.countDown();
+
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(60, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+}
@@ -2,18 +2,38 @@ package com.example.kitchenapi.service;
 
 import com.example.kitchenapi.entity.IngredientEntity;
 import com.example.kitchenapi.repository.IngredientRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,9 +43,22 @@ class IngredientServiceTest {
     @Mock
     private IngredientRepository ingredientRepository;
 
+    @Mock
+    private IngredientCache ingredientCache;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private IngredientService ingredientService;
 
+    @BeforeEach
+    void setUp() {
+        // 既定ではキャッシュミス（Mockitoの既定値0Lではなくnullを返す）
+        lenient().when(ingredientCache.getId(any())).thenReturn(null);
+        lenient().when(ingredientCache.getName(any())).thenReturn(null);
+    }
+
     @Test
     @DisplayName("findOrCreate - 正常系: 既存の材料を取得できる")
     void findOrCreate_ExistingIngredient() {
@@ -34,7 +67,7 @@ class IngredientServiceTest {
         IngredientEntity existingIngredient = new IngredientEntity(name);
         existingIngredient.setId(1L);
 
-        when(ingredientRepository.findByName(name)).thenReturn(Optional.of(existingIngredient));
+        when(ingredientRepository.findByNameIn(any())).thenReturn(List.of(existingIngredient));
 
         // When
         IngredientEntity result = ingredientService.findOrCreate(name);
@@ -44,20 +77,23 @@ class IngredientServiceTest {
         assertThat(result.getName()).isEqualTo(name);
         assertThat(result.getId()).isEqualTo(1L);
 
-        verify(ingredientRepository).findByName(name);
+        verify(ingredientRepository).findByNameIn(any());
+        verify(entityManager, never()).createNativeQuery(anyString(), any(Class.class));
         verify(ingredientRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("findOrCreate - 正常系: 新しい材料を作成できる")
+    @DisplayName("findOrCreate - 正常系: 新しい材料をON CONFLICT付きINSERTで作成できる")
     void findOrCreate_NewIngredient() {
         // Given
         String name = "tomato";
         IngredientEntity newIngredient = new IngredientEntity(name);
         newIngredient.setId(2L);
+        Query insert = mock(Query.class);
 
-        when(ingredientRepository.findByName(name)).thenReturn(Optional.empty());
-        when(ingredientRepository.save(any(IngredientEntity.class))).thenReturn(newIngredient);
+        when(ingredientRepository.findByNameIn(any())).thenReturn(Collections.emptyList());
+        when(entityManager.createNativeQuery(anyString(), eq(IngredientEntity.class))).thenReturn(insert);
+        when(insert.getResultList()).thenReturn(List.of(newIngredient));
 
         // When
         IngredientEntity result = ingredientService.findOrCreate(name);
@@ -67,8 +103,36 @@ class IngredientServiceTest {
         assertThat(result.getName()).isEqualTo(name);
         assertThat(result.getId()).isEqualTo(2L);
 
-        verify(ingredientRepository).findByName(name);
-        verify(ingredientRepository).save(any(IngredientEntity.class));
+        verify(entityManager).createNativeQuery(
+                "INSERT INTO ingredients (name) VALUES (?1) ON CONFLICT (name) DO NOTHING RETURNING id, name",
+                IngredientEntity.class);
+        verify(insert).setParameter(1, name);
+        verify(ingredientRepository, times(1)).findByNameIn(any());
+        verify(ingredientRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("findOrCreate - 並行作成で先を越された場合も一意制約違反にならず既存の材料を返す")
+    void findOrCreate_LostInsertRace() {
+        // Given
+        String name = "garlic";
+        IngredientEntity concurrentlyCreated = new IngredientEntity(name);
+        concurrentlyCreated.setId(5L);
+        Query insert = mock(Query.class);
+
+        when(ingredientRepository.findByNameIn(any()))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(List.of(concurrentlyCreated));
+        when(entityManager.createNativeQuery(anyString(), eq(IngredientEntity.class))).thenReturn(insert);
+        when(insert.getResultList()).thenReturn(Collections.emptyList());
+
+        // When
+        IngredientEntity result = ingredientService.findOrCreate(name);
+
+        // Then
+        assertThat(result.getId()).isEqualTo(5L);
+        verify(ingredientRepository, times(2)).findByNameIn(any());
+        verify(ingredientRepository, never()).save(any());
     }
 
     @Test
@@ -79,8 +143,7 @@ class IngredientServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Ingredient name is required");
 
-        verify(ingredientRepository, never()).findByName(any());
-        verify(ingredientRepository, never()).save(any());
+        verifyNoInteractions(ingredientRepository, entityManager);
     }
 
     @Test
@@ -91,8 +154,7 @@ class IngredientServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Ingredient name is required");
 
-        verify(ingredientRepository, never()).findByName(any());
-        verify(ingredientRepository, never()).save(any());
+        verifyNoInteractions(ingredientRepository, entityManager);
     }
 
     @Test
@@ -103,7 +165,7 @@ class IngredientServiceTest {
         IngredientEntity ingredient = new IngredientEntity(name);
         ingredient.setId(3L);
 
-        when(ingredientRepository.findByName(name)).thenReturn(Optional.of(ingredient));
+        when(ingredientRepository.findByNameIn(any())).thenReturn(List.of(ingredient));
 
         // When
         IngredientEntity result1 = ingredientService.findOrCreate(name);
@@ -113,7 +175,329 @@ class IngredientServiceTest {
         assertThat(result1).isEqualTo(result2);
         assertThat(result1.getId()).isEqualTo(3L);
 
-        verify(ingredientRepository, times(2)).findByName(name);
+        verify(ingredientRepository, times(2)).findByNameIn(any());
         verify(ingredientRepository, never()).save(any());
     }
+
+    @Test
+    @DisplayName("findOrCreateAll - 正常系: すべて既存の場合はINSERTを発行しない")
+    void findOrCreateAll_AllExisting() {
+        // Given
+        IngredientEntity onion = ingredient(1L, "onion");
+        IngredientEntity carrot = ingredient(2L, "carrot");
+
+        when(ingredientRepository.findByNameIn(any())).thenReturn(List.of(carrot, onion));
+
+        // When
+        Map<String, IngredientEntity> result = ingredientService.findOrCreateAll(List.of("onion", "carrot"));
+
+        // Then
+        assertThat(result).containsOnlyKeys("onion", "carrot");
+        assertThat(result.keySet()).containsExactly("onion", "carrot");
+        assertThat(result.get("onion").getId()).isEqualTo(1L);
+        assertThat(result.get("carrot").getId()).isEqualTo(2L);
+
+        verify(ingredientRepository, times(1)).findByNameIn(any());
+        verify(entityManager, never()).createNativeQuery(anyString(), any(Class.class));
+        verify(ingredientRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("findOrCreateAll - 正常系: 不足分を1回の複数行INSERTで作成する")
+    void findOrCreateAll_CreatesMissingInOneStatement() {
+        // Given
+        IngredientEntity onion = ingredient(1L, "onion");
+        IngredientEntity carrot = ingredient(2L, "carrot");
+        IngredientEntity potato = ingredient(3L, "potato");
+        Query insert = mock(Query.class);
+
+        when(ingredientRepository.findByNameIn(any())).thenReturn(List.of(onion));
+        when(entityManager.createNativeQuery(anyString(), eq(IngredientEntity.class))).thenReturn(insert);
+        when(insert.getResultList()).thenReturn(List.of(carrot, potato));
+
+        // When
+        Map<String, IngredientEntity> result =
+                ingredientService.findOrCreateAll(Arrays.asList("potato", "onion", "carrot", "potato"));
+
+        // Then
+        assertThat(result.keySet()).containsExactly("potato", "onion", "carrot");
+        assertThat(result.get("potato").getId()).isEqualTo(3L);
+
+        verify(entityManager, times(1)).createNativeQuery(
+                "INSERT INTO ingredients (name) VALUES (?1), (?2) ON CONFLICT (name) DO NOTHING RETURNING id, name",
+                IngredientEntity.class);
+        // ソート済みの順序でバインドされる
+        verify(insert).setParameter(1, "carrot");
+        verify(insert).setParameter(2, "potato");
+        verify(ingredientRepository, times(1)).findByNameIn(any());
+    }
+
+    @Test
+    @DisplayName("findOrCreateAll - 並行作成で衝突した材料は再検索して取得する")
+    void findOrCreateAll_ConflictFallsBackToSelect() {
+        // Given
+        IngredientEntity tomato = ingredient(4L, "tomato");
+        Query insert = mock(Query.class);
+
+        when(ingredientRepository.findByNameIn(any()))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(List.of(tomato));
+        when(entityManager.createNativeQuery(anyString(), eq(IngredientEntity.class))).thenReturn(insert);
+        when(insert.getResultList()).thenReturn(Collections.emptyList());
+
+        // When
+        Map<String, IngredientEntity> result = ingredientService.findOrCreateAll(List.of("tomato"));
+
+        // Then
+        assertThat(result.get("tomato").getId()).isEqualTo(4L);
+        verify(ingredientRepository, times(2)).findByNameIn(any());
+        verify(insert, times(1)).setParameter(anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("findOrCreateAll - 材料名が多い場合は検索とINSERTをバインド上限未満の件数ごとに分割する")
+    void findOrCreateAll_ManyNamesAreChunked() {
+        // Given
+        int count = IngredientService.NAME_CHUNK_SIZE * 2 + 500;
+        List<String> names = IntStream.range(0, count).mapToObj(i -> String.format("item-%05d", i)).toList();
+        List<Integer> insertSizes = new ArrayList<>();
+
+        when(ingredientRepository.findByNameIn(any())).thenReturn(Collections.emptyList());
+        when(entityManager.createNativeQuery(anyString(), eq(IngredientEntity.class))).thenAnswer(invocation -> {
+            // INSERTごとに、バインドされた材料名の行を返すクエリを用意する
+            List<IngredientEntity> inserted = new ArrayList<>();
+            Query insert = mock(Query.class);
+            when(insert.setParameter(anyInt(), any())).thenAnswer(param -> {
+                inserted.add(ingredient((long) param.getArgument(0, Integer.class), param.getArgument(1)));
+                return insert;
+            });
+            when(insert.getResultList()).thenAnswer(result -> {
+                insertSizes.add(inserted.size());
+                return inserted;
+            });
+            return insert;
+        });
+
+        // When
+        Map<String, IngredientEntity> result = ingredientService.findOrCreateAll(names);
+
+        // Then
+        assertThat(result).hasSize(count);
+        assertThat(insertSizes).containsExactly(
+                IngredientService.NAME_CHUNK_SIZE, IngredientService.NAME_CHUNK_SIZE, 500);
+
+        ArgumentCaptor<Collection<String>> lookups = ArgumentCaptor.forClass(Collection.class);
+        verify(ingredientRepository, times(3)).findByNameIn(lookups.capture());
+        assertThat(lookups.getAllValues()).extracting(Collection::size)
+                .containsExactly(IngredientService.NAME_CHUNK_SIZE, IngredientService.NAME_CHUNK_SIZE, 500);
+    }
+
+    @Test
+    @DisplayName("findOrCreateAll - 空のコレクションではDBにアクセスしない")
+    void findOrCreateAll_Empty() {
+        // When
+        Map<String, IngredientEntity> result = ingredientService.findOrCreateAll(Collections.emptyList());
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(ingredientRepository, entityManager);
+    }
+
+    @Test
+    @DisplayName("findOrCreateAll - 異常系: コレクションがnull")
+    void findOrCreateAll_NullNames() {
+        // When & Then
+        assertThatThrownBy(() -> ingredientService.findOrCreateAll(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Ingredient names are required");
+
+        verifyNoInteractions(ingredientRepository, entityManager);
+    }
+
+    @Test
+    @DisplayName("findOrCreateAll - 異常系: 空白の材料名を含む")
+    void findOrCreateAll_BlankName() {
+        // When & Then
+        assertThatThrownBy(() -> ingredientService.findOrCreateAll(List.of("onion", " ")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Ingredient name is required");
+
+        verifyNoInteractions(ingredientRepository, entityManager);
+    }
+
+    @Test
+    @DisplayName("findOrCreateAll - キャッシュにある材料はDBにアクセスせずに解決する")
+    void findOrCreateAll_CacheHit() {
+        // Given
+        IngredientEntity onionRef = ingredient(1L, "onion");
+        IngredientEntity carrotRef = ingredient(2L, "carrot");
+
+        when(ingredientCache.getId("onion")).thenReturn(1L);
+        when(ingredientCache.getId("carrot")).thenReturn(2L);
+        when(entityManager.getReference(IngredientEntity.class, 1L)).thenReturn(onionRef);
+        when(entityManager.getReference(IngredientEntity.class, 2L)).thenReturn(carrotRef);
+
+        // When
+        Map<String, IngredientEntity> result = ingredientService.findOrCreateAll(List.of("onion", "carrot"));
+
+        // Then
+        assertThat(result).containsExactly(entry("onion", onionRef), entry("carrot", carrotRef));
+
+        verifyNoInteractions(ingredientRepository);
+        verify(entityManager, never()).createNativeQuery(anyString(), eq(IngredientEntity.class));
+        verify(ingredientCache, never()).put(any());
+    }
+
+    @Test
+    @DisplayName("findOrCreateAll - キャッシュにない材料のみDBで解決し、キャッシュへ書き込む")
+    void findOrCreateAll_PartialCacheHitWritesThrough() {
+        // Given
+        IngredientEntity carrot = ingredient(2L, "carrot");
+        IngredientEntity potato = ingredient(3L, "potato");
+        Query insert = mock(Query.class);
+
+        when(ingredientCache.getId("onion")).thenReturn(1L);
+        when(entityManager.getReference(IngredientEntity.class, 1L)).thenReturn(ingredient(1L, "onion"));
+        when(ingredientRepository.findByNameIn(List.of("carrot", "potato"))).thenReturn(List.of(carrot));
+        when(entityManager.createNativeQuery(anyString(), eq(IngredientEntity.class))).thenReturn(insert);
+        when(insert.getResultList()).thenReturn(List.of(potato));
+
+        // When
+        Map<String, IngredientEntity> result =
+                ingredientService.findOrCreateAll(List.of("onion", "carrot", "potato"));
+
+        // Then
+        assertThat(result.keySet()).containsExactly("onion", "carrot", "potato");
+        verify(ingredientRepository).findByNameIn(List.of("carrot", "potato"));
+        verify(insert).setParameter(1, "potato");
+        verify(ingredientCache).put(carrot);
+        verify(ingredientCache).put(potato);
+        verify(ingredientCache, times(2)).put(any());
+    }
+
+    @Test
+    @DisplayName("findNamesByIds - キャッシュにないIDのみ1回のクエリで取得する")
+    void findNamesByIds_MixesCacheAndDatabase() {
+        // Given
+        IngredientEntity carrot = ingredient(2L, "carrot");
+
+        when(ingredientCache.getName(1L)).thenReturn("onion");
+        when(ingredientRepository.findAllById(Set.of(2L, 3L))).thenReturn(List.of(carrot));
+
+        // When
+        Map<Long, String> result = ingredientService.findNamesByIds(List.of(1L, 2L, 3L));
+
+        // Then
+        assertThat(result).containsOnly(entry(1L, "onion"), entry(2L, "carrot"));
+        verify(ingredientRepository, times(1)).findAllById(any());
+        verify(ingredientCache).put(carrot);
+    }
+
+    @Test
+    @DisplayName("findNamesByIds - すべてキャッシュにある場合はDBにアクセスしない")
+    void findNamesByIds_AllCached() {
+        // Given
+        when(ingredientCache.getName(1L)).thenReturn("onion");
+
+        // When
+        Map<Long, String> result = ingredientService.findNamesByIds(List.of(1L));
+
+        // Then
+        assertThat(result).containsExactly(entry(1L, "onion"));
+        verifyNoInteractions(ingredientRepository);
+    }
+
+    @Test
+    @DisplayName("findNamesByIds - 異常系: コレクションがnull")
+    void findNamesByIds_NullIds() {
+        // When & Then
+        assertThatThrownBy(() -> ingredientService.findNamesByIds(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Ingredient IDs are required");
+    }
+
+    @Test
+    @DisplayName("findIdsByNameContaining - 1回のクエリで検索し、部分文字列ごとに材料IDを振り分ける")
+    @SuppressWarnings("unchecked")
+    void findIdsByNameContaining_GroupsByFragment() {
+        // Given
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        CriteriaQuery<IngredientEntity> query = mock(CriteriaQuery.class);
+        TypedQuery<IngredientEntity> typedQuery = mock(TypedQuery.class);
+        when(entityManager.getCriteriaBuilder()).thenReturn(cb);
+        when(cb.createQuery(IngredientEntity.class)).thenReturn(query);
+        when(query.from(IngredientEntity.class)).thenReturn(mock(Root.class));
+        when(entityManager.createQuery(query)).thenReturn(typedQuery);
+        when(typedQuery.setMaxResults(11)).thenReturn(typedQuery);
+        when(typedQuery.getResultList()).thenReturn(List.of(
+                ingredient(1L, "Red Onion"), ingredient(2L, "Spring onion"), ingredient(3L, "Garlic")));
+
+        // When
+        Map<String, Set<Long>> result =
+                ingredientService.findIdsByNameContaining(List.of("onion", "GARLIC", "saffron"), 10).orElseThrow();
+
+        // Then
+        assertThat(result).containsExactly(
+                entry("onion", Set.of(1L, 2L)),
+                entry("GARLIC", Set.of(3L)),
+                entry("saffron", Set.of()));
+        verify(cb).like(any(), eq("%onion%"));
+        verify(cb).like(any(), eq("%garlic%"));
+        verify(cb).like(any(), eq("%saffron%"));
+        verify(entityManager, times(1)).createQuery(query);
+        verify(ingredientCache, times(3)).put(any());
+    }
+
+    @Test
+    @DisplayName("findIdsByNameContaining - 一致する材料が上限を超える場合はIDを返さず、キャッシュにも書き込まない")
+    @SuppressWarnings("unchecked")
+    void findIdsByNameContaining_TooManyMatches() {
+        // Given
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        CriteriaQuery<IngredientEntity> query = mock(CriteriaQuery.class);
+        TypedQuery<IngredientEntity> typedQuery = mock(TypedQuery.class);
+        when(entityManager.getCriteriaBuilder()).thenReturn(cb);
+        when(cb.createQuery(IngredientEntity.class)).thenReturn(query);
+        when(query.from(IngredientEntity.class)).thenReturn(mock(Root.class));
+        when(entityManager.createQuery(query)).thenReturn(typedQuery);
+        when(typedQuery.setMaxResults(3)).thenReturn(typedQuery);
+        when(typedQuery.getResultList()).thenReturn(List.of(
+                ingredient(1L, "Salt"), ingredient(2L, "Sea salt"), ingredient(3L, "Rock salt")));
+
+        // When
+        Optional<Map<String, Set<Long>>> result = ingredientService.findIdsByNameContaining(List.of("a"), 2);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(typedQuery).setMaxResults(3);
+        verify(ingredientCache, never()).put(any());
+    }
+
+    @Test
+    @DisplayName("findIdsByNameContaining - 空のコレクションではDBにアクセスしない")
+    void findIdsByNameContaining_Empty() {
+        // When
+        Optional<Map<String, Set<Long>>> result = ingredientService.findIdsByNameContaining(List.of(), 10);
+
+        // Then
+        assertThat(result).hasValue(Map.of());
+        verifyNoInteractions(ingredientRepository, entityManager);
+    }
+
+    @Test
+    @DisplayName("findIdsByNameContaining - 異常系: 空白の部分文字列を含む")
+    void findIdsByNameContaining_BlankFragment() {
+        // When & Then
+        assertThatThrownBy(() -> ingredientService.findIdsByNameContaining(List.of("onion", ""), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Ingredient name is required");
+
+        verifyNoInteractions(entityManager);
+    }
+
+    private IngredientEntity ingredient(Long id, String name) {
+        IngredientEntity ingredient = new IngredientEntity(name);
+        ingredient.setId(id);
+        return ingredient;
+    }
 }
@@ -0,0 +1,98 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.common.CursorPage;
+import com.example.kitchenapi.dto.RecipeDto;
+import com.example.kitchenapi.entity.PantryItemEntity;
+import com.example.kitchenapi.entity.RecipeEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keyset pagination test against a real PostgreSQL instance.
+ * Walking all pages with nextCursor must return every row exactly once,
+ * in the same order as the equivalent ORDER BY over the whole table,
+ * including rows that share the same sort key and pantry items without an expiry date.
+ */
+@SpringBootTest
+class KeysetPaginationIT extends AbstractPostgresIT {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private PantryService pantryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 25 recipes, a third of them sharing one created_at, paged 7 at a time.
+     */
+    @Test
+    void searchAfter_walksAllRecipesInCreatedAtOrder() {
+        Long ownerId = System.nanoTime();
+        for (int i = 0; i < 25; i++) {
+            recipeService.create(ownerId, "Recipe " + i, "Steps", 10, null,
+                    List.of(new RecipeDto.IngredientItem("keyset-" + (i % 4), "1")));
+        }
+        // Force ties on created_at so that the id tiebreaker is exercised
+        jdbcTemplate.update("UPDATE recipes SET created_at = ? WHERE owner_id = ? AND id % 3 = 0",
+                Timestamp.from(Instant.parse("2024-01-01T00:00:00Z")), ownerId);
+
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM recipes WHERE owner_id = ? ORDER BY created_at DESC, id DESC", Long.class, ownerId);
+
+        List<Long> actual = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            CursorPage<RecipeEntity> page = recipeService.searchAfter(ownerId, null, null, null, null, cursor, 7);
+            page.content().forEach(recipe -> actual.add(recipe.getId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(actual).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(4);
+    }
+
+    /**
+     * 14 pantry items over three dates plus items without an expiry date, paged 4 at a time.
+     */
+    @Test
+    void findByUserIdAfter_walksAllItemsInExpiryOrderWithNullsLast() {
+        Long userId = System.nanoTime();
+        LocalDate base = LocalDate.of(2030, 1, 1);
+        for (int i = 0; i < 14; i++) {
+            LocalDate expiresOn = i % 4 == 0 ? null : base.plusDays(i % 3);
+            pantryService.add(userId, "keyset-item-" + (i % 5), "1", expiresOn);
+        }
+
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM pantry_items WHERE user_id = ? ORDER BY expires_on ASC NULLS LAST, id ASC",
+                Long.class, userId);
+
+        List<Long> actual = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<PantryItemEntity> page =
+                    pantryService.findByUserIdAfter(userId, null, null, null, cursor, 4);
+            assertThat(page.content()).isNotEmpty();
+            page.content().forEach(item -> actual.add(item.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.common.CountMode;
+import com.example.kitchenapi.common.CursorPage;
+import com.example.kitchenapi.common.RecipeField;
+import com.example.kitchenapi.dto.PantryDto;
+import com.example.kitchenapi.dto.RecipeDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Projection-based list test against a real PostgreSQL instance.
+ * The recipe and pantry list views are read straight into DTOs: no entity is loaded,
+ * columns left out of {@code fields} are not selected, and the results match the entity path.
+ */
+@SpringBootTest
+class ListProjectionIT extends AbstractPostgresIT {
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private PantryService pantryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            recipeService.create(ownerId, "Recipe " + i, "Long steps " + i, 10 + i, "tag" + i, List.of(
+                    new RecipeDto.IngredientItem("projection-onion", "1"),
+                    new RecipeDto.IngredientItem("projection-salt-" + i, "a pinch")));
+            pantryService.add(ownerId, "projection-pantry-" + i, i + "g", i == 4 ? null : LocalDate.now().plusDays(i));
+        }
+    }
+
+    @Test
+    void recipeViews_loadNoEntitiesAndMatchEntityPath() {
+        Statistics statistics = statistics();
+
+        Slice<RecipeDto.RecipeView> views = recipeService.searchViews(ownerId, null, null, null, null,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "createdAt")), CountMode.EXACT,
+                RecipeField.parse(null));
+
+        // Page query, count query and one query for the ingredients of the whole page
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(views.getContent()).extracting(RecipeDto.RecipeView::title)
+                .containsExactly("Recipe 4", "Recipe 3", "Recipe 2");
+        RecipeDto.RecipeView first = views.getContent().get(0);
+        assertThat(first.steps()).isEqualTo("Long steps 4");
+        assertThat(first.cookTimeMin()).isEqualTo(14);
+        assertThat(first.tags()).isEqualTo("tag4");
+        assertThat(first.ingredients()).containsExactlyInAnyOrder(
+                new RecipeDto.IngredientItem("projection-onion", "1"),
+                new RecipeDto.IngredientItem("projection-salt-4", "a pinch"));
+    }
+
+    @Test
+    void recipeViews_skipFieldsLeftOutOfSelection() {
+        Statistics statistics = statistics();
+
+        Slice<RecipeDto.RecipeView> views = recipeService.searchViews(ownerId, null, null, null, null,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")), CountMode.NONE,
+                RecipeField.parse("id,title,cookTimeMin"));
+
+        // Neither steps nor ingredients are read: a single page query
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(views.getContent()).hasSize(5).allSatisfy(view -> {
+            assertThat(view.id()).isNotNull();
+            assertThat(view.title()).startsWith("Recipe ");
+            assertThat(view.cookTimeMin()).isNotNull();
+            assertThat(view.steps()).isNull();
+            assertThat(view.tags()).isNull();
+            assertThat(view.ingredients()).isNull();
+        });
+    }
+
+    @Test
+    void recipeViewsAfter_walkAllPagesWithCursor() {
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<RecipeDto.RecipeView> page = recipeService.searchViewsAfter(ownerId, null, null, null, null,
+                    cursor, 2, Set.of(RecipeField.TITLE));
+            page.content().forEach(view -> titles.add(view.title()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(titles).containsExactly("Recipe 4", "Recipe 3", "Recipe 2", "Recipe 1", "Recipe 0");
+    }
+
+    @Test
+    void pantryViews_loadNoEntitiesAndMatchEntityPath() {
+        List<PantryDto.PantryView> expected = pantryService.findByUserIdAfter(ownerId, null, null, null, null, 10)
+                .content().stream()
+                .map(item -> new PantryDto.PantryView(item.getId(), item.getIngredient().getName(),
+                        item.getAmount(), item.getExpiresOn()))
+                .toList();
+        Statistics statistics = statistics();
+
+        Slice<PantryDto.PantryView> page = pantryService.findViewsByUserId(ownerId, null, null, null,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "expiresOn")), CountMode.NONE);
+        List<PantryDto.PantryView> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<PantryDto.PantryView> cursorPage =
+                    pantryService.findViewsByUserIdAfter(ownerId, null, null, null, cursor, 2);
+            walked.addAll(cursorPage.content());
+            cursor = cursorPage.nextCursor();
+        } while (cursor != null);
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(page.getContent()).containsExactlyElementsOf(expected);
+        assertThat(walked).containsExactlyElementsOf(expected);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.dto.PantryDto;
+import com.example.kitchenapi.entity.PantryItemEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Pantry batch operation test against a real PostgreSQL instance.
+ * Adds, updates and deletes are applied with one statement per kind, and ownership is enforced
+ * by the statements themselves: items of other users must be reported as not found and left untouched.
+ */
+@SpringBootTest
+class PantryBatchIT extends AbstractPostgresIT {
+
+    @Autowired
+    private PantryService pantryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = System.nanoTime();
+    }
+
+    @Test
+    void applyBatch_appliesMixedOperationsAndReportsEachResult() {
+        LocalDate date = LocalDate.of(2026, 3, 1);
+        PantryItemEntity milk = pantryService.add(userId, "batch-milk", "1L", date);
+        PantryItemEntity eggs = pantryService.add(userId, "batch-eggs", "6", null);
+        PantryItemEntity othersMilk = pantryService.add(userId + 1, "batch-milk", "2L", null);
+
+        PantryDto.BatchResult result = pantryService.applyBatch(userId, List.of(
+                new PantryDto.BatchOp("add", null, "batch-butter", "200g", date),
+                new PantryDto.BatchOp("add", null, "batch-butter", "200g", date),
+                new PantryDto.BatchOp("update", milk.getId(), null, null, date.plusDays(3)),
+                new PantryDto.BatchOp("delete", eggs.getId(), null, null, null),
+                new PantryDto.BatchOp("update", othersMilk.getId(), null, "0L", null),
+                new PantryDto.BatchOp("delete", othersMilk.getId() + 1_000_000, null, null, null)));
+
+        assertThat(result.applied()).isEqualTo(4);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.results()).extracting(PantryDto.BatchOpResult::status)
+                .containsExactly("created", "created", "updated", "deleted", "not_found", "not_found");
+        assertThat(result.results().get(0).id()).isNotEqualTo(result.results().get(1).id());
+        assertThat(result.results().get(2).item())
+                .isEqualTo(new PantryDto.PantryView(milk.getId(), "batch-milk", "1L", date.plusDays(3)));
+
+        List<PantryDto.PantryView> items = new ArrayList<>();
+        pantryService.exportViews(userId, items::add);
+        assertThat(items).extracting(PantryDto.PantryView::ingredientName, PantryDto.PantryView::amount,
+                        PantryDto.PantryView::expiresOn)
+                .containsExactly(
+                        tuple("batch-milk", "1L", date.plusDays(3)),
+                        tuple("batch-butter", "200g", date),
+                        tuple("batch-butter", "200g", date));
+
+        // 他のユーザーの項目は変更されない
+        assertThat(jdbcTemplate.queryForObject("SELECT amount FROM pantry_items WHERE id = ?", String.class,
+                othersMilk.getId())).isEqualTo("2L");
+    }
+}
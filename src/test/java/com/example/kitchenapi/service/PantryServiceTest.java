@@ -1,9 +1,12 @@
 package com.example.kitchenapi.service;
 
+import com.example.kitchenapi.common.CountMode;
+import com.example.kitchenapi.dto.PantryDto;
 import com.example.kitchenapi.entity.IngredientEntity;
 import com.example.kitchenapi.entity.PantryItemEntity;
 import com.example.kitchenapi.repository.PantryRepository;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import org.junit.jupiter.api.DisplayName;
@@ -15,16 +18,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +46,12 @@ class PantryServiceTest {
     @Mock
     private IngredientService ingredientService;
 
+    @Mock
+    private SearchCountCache searchCountCache;
+
+    @Mock
+    private PantryGenerationService pantryGenerationService;
+
     @Mock
     private EntityManager entityManager;
 
@@ -71,6 +86,7 @@ class PantryServiceTest {
 
         verify(ingredientService, times(1)).findOrCreate(ingredientName);
         verify(pantryRepository, times(1)).save(any(PantryItemEntity.class));
+        verify(pantryGenerationService, times(1)).increment(userId);
     }
 
     @Test
@@ -166,7 +182,7 @@ class PantryServiceTest {
     void findByUserId_NoFilters() {
         // Given
         Long userId = 1L;
-        Pageable pageable = PageRequest.of(0, 10);
+        Pageable pageable = PageRequest.of(0, 2);
 
         IngredientEntity ingredient1 = new IngredientEntity("たまねぎ");
         IngredientEntity ingredient2 = new IngredientEntity("にんじん");
@@ -227,6 +243,40 @@ class PantryServiceTest {
                 .hasMessage("User ID is required");
     }
 
+    @Test
+    @DisplayName("exportViews - 正常系: ストリームの各項目をPantryViewとして出力する")
+    void exportViews_Success() {
+        // Given
+        Long userId = 1L;
+        IngredientEntity ingredient = new IngredientEntity("たまねぎ");
+        PantryItemEntity item1 = new PantryItemEntity(userId, ingredient, "2個", LocalDate.of(2026, 1, 10));
+        item1.setId(10L);
+        PantryItemEntity item2 = new PantryItemEntity(userId, ingredient, "1個", null);
+        item2.setId(11L);
+        when(pantryRepository.streamByUserId(userId)).thenReturn(Stream.of(item1, item2));
+        List<PantryDto.PantryView> exported = new ArrayList<>();
+
+        // When
+        long count = pantryService.exportViews(userId, exported::add);
+
+        // Then
+        assertThat(count).isEqualTo(2);
+        assertThat(exported).containsExactly(
+                new PantryDto.PantryView(10L, "たまねぎ", "2個", LocalDate.of(2026, 1, 10)),
+                new PantryDto.PantryView(11L, "たまねぎ", "1個", null));
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    @DisplayName("exportViews - 異常系: userIdがnull")
+    void exportViews_NullUserId() {
+        // When & Then
+        assertThatThrownBy(() -> pantryService.exportViews(null, view -> {}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("User ID is required");
+        verifyNoInteractions(pantryRepository);
+    }
+
     @Test
     @DisplayName("update - 正常系: パントリー項目を更新できる")
     void update_Success() {
@@ -424,6 +474,136 @@ class PantryServiceTest {
         verify(pantryRepository, never()).delete(any());
     }
 
+    @Test
+    @DisplayName("applyBatch - 正常系: 追加・更新・削除を種類ごとに1回のDMLで適用できる")
+    void applyBatch_MixedOperations() {
+        // Given
+        Long userId = 1L;
+        LocalDate expiresOn = LocalDate.of(2025, 12, 31);
+        IngredientEntity onion = new IngredientEntity("たまねぎ");
+        onion.setId(5L);
+
+        Query insert = mock(Query.class);
+        Query update = mock(Query.class);
+        Query delete = mock(Query.class);
+        when(ingredientService.findOrCreateAll(List.of("たまねぎ"))).thenReturn(Map.of("たまねぎ", onion));
+        when(entityManager.createNativeQuery(startsWith("INSERT INTO pantry_items"))).thenReturn(insert);
+        when(entityManager.createNativeQuery(startsWith("UPDATE pantry_items"))).thenReturn(update);
+        when(entityManager.createNativeQuery(startsWith("DELETE FROM pantry_items"))).thenReturn(delete);
+        when(insert.getResultList()).thenReturn(List.<Object[]>of(new Object[]{100L, 5L, "2個", expiresOn}));
+        when(update.getResultList()).thenReturn(List.<Object[]>of(new Object[]{10L, 5L, "3個", expiresOn}));
+        when(delete.getResultList()).thenReturn(List.of(20L));
+        when(ingredientService.findNamesByIds(Set.of(5L))).thenReturn(Map.of(5L, "たまねぎ"));
+
+        List<PantryDto.BatchOp> ops = List.of(
+                new PantryDto.BatchOp("add", null, "たまねぎ", "2個", expiresOn),
+                new PantryDto.BatchOp("update", 10L, null, "3個", null),
+                new PantryDto.BatchOp("delete", 20L, null, null, null),
+                new PantryDto.BatchOp("delete", 30L, null, null, null));
+
+        // When
+        PantryDto.BatchResult result = pantryService.applyBatch(userId, ops);
+
+        // Then
+        assertThat(result.applied()).isEqualTo(3);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.results()).extracting(PantryDto.BatchOpResult::status)
+                .containsExactly("created", "updated", "deleted", "not_found");
+        assertThat(result.results().get(0).item())
+                .isEqualTo(new PantryDto.PantryView(100L, "たまねぎ", "2個", expiresOn));
+        assertThat(result.results().get(1).item())
+                .isEqualTo(new PantryDto.PantryView(10L, "たまねぎ", "3個", expiresOn));
+        assertThat(result.results().get(3).error()).isEqualTo("Pantry item not found");
+
+        // 所有者はDMLのWHERE句でチェックし、項目を事前に読み込まない
+        verify(insert).setParameter(1, userId);
+        verify(update).setParameter(1, userId);
+        verify(delete).setParameter(1, userId);
+        verify(pantryRepository, never()).findById(any());
+
+        // 一覧のETag用の世代はバッチ全体で1回だけ進める
+        verify(pantryGenerationService, times(1)).increment(userId);
+    }
+
+    @Test
+    @DisplayName("applyBatch - 全ての操作が不正な場合は世代を進めない")
+    void applyBatch_AllInvalidDoesNotIncrementGeneration() {
+        // Given
+        List<PantryDto.BatchOp> ops = List.of(
+                new PantryDto.BatchOp("upsert", 1L, null, null, null),
+                new PantryDto.BatchOp("delete", null, null, null, null));
+
+        // When
+        PantryDto.BatchResult result = pantryService.applyBatch(1L, ops);
+
+        // Then
+        assertThat(result.applied()).isZero();
+        assertThat(result.failed()).isEqualTo(2);
+        verify(pantryGenerationService, never()).increment(any());
+        verify(entityManager, never()).createNativeQuery(any(String.class));
+    }
+
+    @Test
+    @DisplayName("currentGeneration - 正常系: ユーザーのパントリーの世代を返す")
+    void currentGeneration_Success() {
+        // Given
+        when(pantryGenerationService.current(1L)).thenReturn(7L);
+
+        // When
+        long generation = pantryService.currentGeneration(1L);
+
+        // Then
+        assertThat(generation).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("applyBatch - 不正な操作と同じ項目への2件目以降の操作はその操作だけが失敗する")
+    void applyBatch_InvalidOperations() {
+        // Given
+        Query delete = mock(Query.class);
+        when(entityManager.createNativeQuery(startsWith("DELETE FROM pantry_items"))).thenReturn(delete);
+        when(delete.getResultList()).thenReturn(List.of(20L));
+
+        List<PantryDto.BatchOp> ops = Arrays.asList(
+                new PantryDto.BatchOp("upsert", 1L, null, null, null),
+                new PantryDto.BatchOp("add", null, "たまねぎ", null, LocalDate.of(2025, 12, 31)),
+                new PantryDto.BatchOp("update", null, null, "1個", null),
+                null,
+                new PantryDto.BatchOp("delete", 20L, null, null, null),
+                new PantryDto.BatchOp("update", 20L, null, "1個", null));
+
+        // When
+        PantryDto.BatchResult result = pantryService.applyBatch(1L, ops);
+
+        // Then
+        assertThat(result.applied()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(5);
+        assertThat(result.results()).extracting(PantryDto.BatchOpResult::status)
+                .containsExactly("invalid", "invalid", "invalid", "invalid", "deleted", "invalid");
+        assertThat(result.results()).extracting(PantryDto.BatchOpResult::error)
+                .containsExactly(
+                        "Invalid operation: upsert (expected add, update or delete)",
+                        "Amount is required",
+                        "Pantry item ID is required",
+                        "Operation is required",
+                        null,
+                        "Pantry item 20 is targeted more than once");
+        verify(ingredientService, never()).findOrCreateAll(any());
+        verify(entityManager, never()).createNativeQuery(startsWith("INSERT"));
+        verify(entityManager, never()).createNativeQuery(startsWith("UPDATE"));
+    }
+
+    @Test
+    @DisplayName("applyBatch - 異常系: userIdがnull")
+    void applyBatch_NullUserId() {
+        // When & Then
+        assertThatThrownBy(() -> pantryService.applyBatch(null, List.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("User ID is required");
+
+        verify(entityManager, never()).createNativeQuery(any(String.class));
+    }
+
     @Test
     @DisplayName("findExpiringSoon - 正常系: 期限が近い項目を取得できる")
     void findExpiringSoon_Success() {
@@ -485,6 +665,39 @@ class PantryServiceTest {
                 .hasMessage("To date is required");
     }
 
+    @Test
+    @DisplayName("findUserIdsWithItemsExpiring - 異常系: 件数が正でない")
+    void findUserIdsWithItemsExpiring_NonPositiveLimit() {
+        // When & Then
+        assertThatThrownBy(() -> pantryService.findUserIdsWithItemsExpiring(
+                LocalDate.now(), LocalDate.now().plusDays(3), 0L, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Limit must be positive");
+
+        verify(entityManager, never()).getCriteriaBuilder();
+    }
+
+    @Test
+    @DisplayName("findExpiringItemsByUserIds - ユーザーIDが空の場合はクエリを実行しない")
+    void findExpiringItemsByUserIds_EmptyUserIds() {
+        // When
+        List<PantryDto.ExpiringItem> result = pantryService.findExpiringItemsByUserIds(
+                List.of(), LocalDate.now(), LocalDate.now().plusDays(3));
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(entityManager, never()).getCriteriaBuilder();
+    }
+
+    @Test
+    @DisplayName("findExpiringItemsByUserIds - 異常系: fromがnull")
+    void findExpiringItemsByUserIds_NullFrom() {
+        // When & Then
+        assertThatThrownBy(() -> pantryService.findExpiringItemsByUserIds(List.of(1L), null, LocalDate.now()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("From date is required");
+    }
+
     @Test
     @DisplayName("update - 正常系: 空白のamountは更新されない")
     void update_BlankAmount_NotUpdated() {
@@ -516,7 +729,7 @@ class PantryServiceTest {
         // Given
         Long userId = 1L;
         String ingredientFilter = "たま";
-        Pageable pageable = PageRequest.of(0, 10);
+        Pageable pageable = PageRequest.of(0, 1);
 
         IngredientEntity ingredient = new IngredientEntity("たまねぎ");
         List<PantryItemEntity> items = Arrays.asList(
@@ -578,4 +791,95 @@ class PantryServiceTest {
         assertThat(result.getContent()).hasSize(1);
         verify(cb).like(lowerExpr, "%たま%");
     }
+
+    @Test
+    @DisplayName("findByUserIdAfter - 異常系: userIdがnull")
+    void findByUserIdAfter_NullUserId() {
+        // When & Then
+        assertThatThrownBy(() -> pantryService.findByUserIdAfter(null, null, null, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("User ID is required");
+    }
+
+    @Test
+    @DisplayName("findViewsByUserId - 異常系: userIdがnull")
+    void findViewsByUserId_NullUserId() {
+        // When & Then
+        assertThatThrownBy(() -> pantryService.findViewsByUserId(null, null, null, null, PageRequest.of(0, 10),
+                CountMode.EXACT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("User ID is required");
+    }
+
+    @Test
+    @DisplayName("findViewsByUserIdAfter - 異常系: ページサイズが0以下")
+    void findViewsByUserIdAfter_NonPositiveSize() {
+        // When & Then
+        assertThatThrownBy(() -> pantryService.findViewsByUserIdAfter(1L, null, null, null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page size must be positive");
+    }
+
+    @Test
+    @DisplayName("findByUserIdAfter - 異常系: ページサイズが0以下")
+    void findByUserIdAfter_NonPositiveSize() {
+        // When & Then
+        assertThatThrownBy(() -> pantryService.findByUserIdAfter(1L, null, null, null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page size must be positive");
+    }
+
+    @Test
+    @DisplayName("findByUserIdAfter - 異常系: 不正なカーソル")
+    void findByUserIdAfter_InvalidCursor() {
+        // When & Then
+        assertThatThrownBy(() -> pantryService.findByUserIdAfter(1L, null, null, null, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    @DisplayName("findByUserId - count=none: 次のページがない場合はhasNextがfalse")
+    void findByUserId_CountNone_LastSlice() {
+        // Given
+        Long userId = 1L;
+        Pageable pageable = PageRequest.of(0, 5);
+        IngredientEntity ingredient = new IngredientEntity("たまねぎ");
+        List<PantryItemEntity> items = List.of(
+                new PantryItemEntity(userId, ingredient, "2個", LocalDate.now().plusDays(5)));
+
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        CriteriaQuery<PantryItemEntity> query = mock(CriteriaQuery.class);
+        Root<PantryItemEntity> root = mock(Root.class);
+        TypedQuery<PantryItemEntity> typedQuery = mock(TypedQuery.class);
+
+        when(entityManager.getCriteriaBuilder()).thenReturn(cb);
+        when(cb.createQuery(PantryItemEntity.class)).thenReturn(query);
+        when(query.from(PantryItemEntity.class)).thenReturn(root);
+        when(query.where(any(Predicate[].class))).thenReturn(query);
+        when(entityManager.createQuery(query)).thenReturn(typedQuery);
+        when(typedQuery.setFirstResult(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.setMaxResults(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.getResultList()).thenReturn(items);
+
+        // When
+        Slice<PantryItemEntity> result =
+                pantryService.findByUserId(userId, null, null, null, pageable, CountMode.NONE);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.hasNext()).isFalse();
+        verify(typedQuery).setMaxResults(6);
+        verify(cb, never()).createQuery(Long.class);
+    }
+
+    @Test
+    @DisplayName("findByUserId - 異常系: countModeがnull")
+    void findByUserId_NullCountMode() {
+        // When & Then
+        assertThatThrownBy(() -> pantryService.findByUserId(1L, null, null, null, PageRequest.of(0, 10), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Count mode is required");
+    }
 }
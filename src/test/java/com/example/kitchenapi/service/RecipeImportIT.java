@@ -0,0 +1,93 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.config.AppImportProps;
+import com.example.kitchenapi.dto.RecipeDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Bulk recipe import test against a real PostgreSQL instance.
+ * A row the database rejects must roll back only its chunk: the chunk is retried one recipe at a time,
+ * and only the rejected recipe is reported as failed while the rest of the chunk is imported.
+ */
+@SpringBootTest
+class RecipeImportIT extends AbstractPostgresIT {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importRecipes_rowRejectedByTheDatabase_failsOnlyThatRecipe() throws IOException {
+        Long ownerId = System.nanoTime();
+        String longText = "x".repeat(300);
+        // Skip bean validation so the over-long values reach the INSERTs of the chunk
+        RecipeImportService importService = new RecipeImportService(
+                recipeService, objectMapper, mock(Validator.class), chunkSize(4));
+
+        RecipeDto.BulkImportResult result = importService.importRecipes(ownerId, input("["
+                + recipe("Import stew", "import-onion") + ","
+                + recipe(longText, "import-carrot") + ","
+                + recipe("Import soup", longText) + ","
+                + recipe("Import salad", "import-lettuce") + "]"));
+
+        assertThat(result.received()).isEqualTo(4);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.errors()).containsExactly(
+                new RecipeDto.BulkImportError(1, "Could not save recipe"),
+                new RecipeDto.BulkImportError(2, "Could not save recipe"));
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT title FROM recipes WHERE owner_id = ? ORDER BY title", String.class, ownerId))
+                .containsExactly("Import salad", "Import stew");
+    }
+
+    @Test
+    void importRecipes_overLongValues_areRejectedByValidationBeforeTheChunk() throws IOException {
+        Long ownerId = System.nanoTime();
+        RecipeImportService importService = new RecipeImportService(
+                recipeService, objectMapper, validator, chunkSize(4));
+
+        RecipeDto.BulkImportResult result = importService.importRecipes(ownerId, input("["
+                + recipe("Validated stew", "validated-onion") + ","
+                + recipe("x".repeat(256), "validated-carrot") + "]"));
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).containsExactly(
+                new RecipeDto.BulkImportError(1, "Title must be at most 255 characters"));
+    }
+
+    private static AppImportProps chunkSize(int chunkSize) {
+        AppImportProps props = new AppImportProps();
+        props.setChunkSize(chunkSize);
+        return props;
+    }
+
+    private static String recipe(String title, String ingredient) {
+        return "{\"title\":\"" + title + "\",\"steps\":\"s\",\"cookTimeMin\":10,"
+                + "\"ingredients\":[{\"name\":\"" + ingredient + "\",\"quantity\":\"1\"}]}";
+    }
+
+    private static ByteArrayInputStream input(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.config.AppImportProps;
+import com.example.kitchenapi.dto.RecipeDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.DataException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecipeImportService 単体テスト")
+class RecipeImportServiceTest {
+
+    @Mock
+    private RecipeService recipeService;
+
+    private ValidatorFactory validatorFactory;
+    private RecipeImportService recipeImportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = JsonMapper.builder().build();
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        Validator validator = validatorFactory.getValidator();
+        AppImportProps props = new AppImportProps();
+        props.setChunkSize(2);
+        props.setMaxReportedErrors(2);
+        recipeImportService = new RecipeImportService(recipeService, objectMapper, validator, props);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("importRecipes - 正常系: JSON配列をチャンクサイズごとに登録する")
+    void importRecipes_JsonArrayInChunks() throws IOException {
+        // Given
+        when(recipeService.createAll(eq(1L), any())).thenAnswer(invocation -> invocation.<List<?>>getArgument(1).size());
+
+        // When
+        RecipeDto.BulkImportResult result = recipeImportService.importRecipes(1L,
+                input("[" + recipe("A") + "," + recipe("B") + "," + recipe("C") + "]"));
+
+        // Then
+        assertThat(result).isEqualTo(new RecipeDto.BulkImportResult(3, 3, 0, List.of()));
+        verify(recipeService).createAll(eq(1L), argThat(chunk -> titles(chunk).equals(List.of("A", "B"))));
+        verify(recipeService).createAll(eq(1L), argThat(chunk -> titles(chunk).equals(List.of("C"))));
+        verify(recipeService, never()).create(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("importRecipes - 正常系: NDJSONを1行1レシピとして登録する")
+    void importRecipes_Ndjson() throws IOException {
+        // Given
+        when(recipeService.createAll(eq(1L), any())).thenAnswer(invocation -> invocation.<List<?>>getArgument(1).size());
+
+        // When
+        RecipeDto.BulkImportResult result = recipeImportService.importRecipes(1L,
+                input(recipe("A") + "\n" + recipe("B") + "\n\n" + recipe("C") + "\n"));
+
+        // Then
+        assertThat(result).isEqualTo(new RecipeDto.BulkImportResult(3, 3, 0, List.of()));
+        verify(recipeService, times(2)).createAll(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("importRecipes - 正常系: 入力チェックに失敗したレシピだけをエラーとして報告する")
+    void importRecipes_InvalidItemsAreReported() throws IOException {
+        // Given
+        when(recipeService.createAll(eq(1L), any())).thenAnswer(invocation -> invocation.<List<?>>getArgument(1).size());
+
+        // When
+        RecipeDto.BulkImportResult result = recipeImportService.importRecipes(1L, input("["
+                + recipe("A") + ","
+                + "{\"title\":\"\",\"steps\":\"s\",\"cookTimeMin\":10,\"ingredients\":[]},"
+                + "{\"title\":\"B\",\"steps\":\"s\",\"cookTimeMin\":\"ten\",\"ingredients\":[]},"
+                + recipe("C") + "]"));
+
+        // Then
+        assertThat(result.received()).isEqualTo(4);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.errors()).extracting(RecipeDto.BulkImportError::index).containsExactly(1, 2);
+        assertThat(result.errors().get(0).message()).isEqualTo("Title is required");
+        assertThat(result.errors().get(1).message()).startsWith("Invalid recipe: ");
+        verify(recipeService).createAll(eq(1L), argThat(chunk -> titles(chunk).equals(List.of("A", "C"))));
+    }
+
+    @Test
+    @DisplayName("importRecipes - 正常系: チャンクの登録に失敗した場合は1件ずつ登録し直し、失敗したものだけを報告する")
+    void importRecipes_ChunkFailureFallsBackToSingleInserts() throws IOException {
+        // Given: createAll内のflushが投げる例外はDataAccessExceptionに変換されないHibernateの例外
+        when(recipeService.createAll(eq(1L), any())).thenThrow(valueTooLong());
+        when(recipeService.create(eq(1L), eq("A"), any(), any(), any(), any())).thenReturn(null);
+        when(recipeService.create(eq(1L), eq("B"), any(), any(), any(), any())).thenThrow(valueTooLong());
+
+        // When
+        RecipeDto.BulkImportResult result = recipeImportService.importRecipes(1L,
+                input("[" + recipe("A") + "," + recipe("B") + "]"));
+
+        // Then
+        assertThat(result).isEqualTo(new RecipeDto.BulkImportResult(2, 1, 1,
+                List.of(new RecipeDto.BulkImportError(1, "Could not save recipe"))));
+    }
+
+    @Test
+    @DisplayName("importRecipes - 正常系: 列の長さを超える値はチャンクに含めずにエラーとして報告する")
+    void importRecipes_TooLongValuesAreReported() throws IOException {
+        // Given
+        when(recipeService.createAll(eq(1L), any())).thenAnswer(invocation -> invocation.<List<?>>getArgument(1).size());
+        String longText = "x".repeat(256);
+
+        // When
+        RecipeDto.BulkImportResult result = recipeImportService.importRecipes(1L, input("["
+                + recipe("A") + ","
+                + recipe(longText) + ","
+                + "{\"title\":\"B\",\"steps\":\"s\",\"cookTimeMin\":10,"
+                + "\"ingredients\":[{\"name\":\"" + longText + "\",\"quantity\":\"1g\"}]}" + "]"));
+
+        // Then
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).containsExactly(
+                new RecipeDto.BulkImportError(1, "Title must be at most 255 characters"),
+                new RecipeDto.BulkImportError(2, "Ingredient name must be at most 255 characters"));
+        verify(recipeService).createAll(eq(1L), argThat(chunk -> titles(chunk).equals(List.of("A"))));
+    }
+
+    @Test
+    @DisplayName("importRecipes - 正常系: 材料数の上限を超えるレシピはチャンクに含めずにエラーとして報告する")
+    void importRecipes_TooManyIngredientsAreReported() throws IOException {
+        // Given
+        when(recipeService.createAll(eq(1L), any())).thenAnswer(invocation -> invocation.<List<?>>getArgument(1).size());
+        String ingredients = IntStream.range(0, 101)
+                .mapToObj(i -> "{\"name\":\"item-" + i + "\",\"quantity\":\"1g\"}")
+                .collect(Collectors.joining(","));
+
+        // When
+        RecipeDto.BulkImportResult result = recipeImportService.importRecipes(1L, input("["
+                + recipe("A") + ","
+                + "{\"title\":\"B\",\"steps\":\"s\",\"cookTimeMin\":10,\"ingredients\":[" + ingredients + "]}" + "]"));
+
+        // Then
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).containsExactly(
+                new RecipeDto.BulkImportError(1, "At most 100 ingredients are allowed"));
+        verify(recipeService).createAll(eq(1L), argThat(chunk -> titles(chunk).equals(List.of("A"))));
+    }
+
+    @Test
+    @DisplayName("importRecipes - 正常系: JSONの構文エラー以降は読み込まず、それまでのレシピは登録する")
+    void importRecipes_MalformedJsonStopsReading() throws IOException {
+        // Given
+        when(recipeService.createAll(eq(1L), any())).thenAnswer(invocation -> invocation.<List<?>>getArgument(1).size());
+
+        // When
+        RecipeDto.BulkImportResult result = recipeImportService.importRecipes(1L,
+                input(recipe("A") + "\n{\"title\": oops}\n" + recipe("C")));
+
+        // Then
+        assertThat(result.received()).isEqualTo(2);
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).singleElement().satisfies(error -> {
+            assertThat(error.index()).isEqualTo(1);
+            assertThat(error.message()).startsWith("Malformed JSON: ");
+        });
+        verify(recipeService).createAll(eq(1L), argThat(chunk -> titles(chunk).equals(List.of("A"))));
+    }
+
+    @Test
+    @DisplayName("importRecipes - 正常系: 報告するエラーは上限までとし、失敗件数は全件を数える")
+    void importRecipes_ReportedErrorsAreCapped() throws IOException {
+        // When
+        RecipeDto.BulkImportResult result = recipeImportService.importRecipes(1L,
+                input("[{\"title\":\"\"},{\"title\":\"\"},{\"title\":\"\"}]"));
+
+        // Then
+        assertThat(result.received()).isEqualTo(3);
+        assertThat(result.imported()).isZero();
+        assertThat(result.failed()).isEqualTo(3);
+        assertThat(result.errors()).extracting(RecipeDto.BulkImportError::index).containsExactly(0, 1);
+        verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    @DisplayName("importRecipes - 正常系: 空の入力では何も登録しない")
+    void importRecipes_EmptyInput() throws IOException {
+        // When
+        RecipeDto.BulkImportResult result = recipeImportService.importRecipes(1L, input(""));
+
+        // Then
+        assertThat(result).isEqualTo(new RecipeDto.BulkImportResult(0, 0, 0, List.of()));
+        verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    @DisplayName("importRecipes - 異常系: ownerIdがnull")
+    void importRecipes_NullOwnerId() {
+        // When & Then
+        assertThatThrownBy(() -> recipeImportService.importRecipes(null, input("[]")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Owner ID is required");
+    }
+
+    private static String recipe(String title) {
+        return "{\"title\":\"" + title + "\",\"steps\":\"s\",\"cookTimeMin\":10,"
+                + "\"ingredients\":[{\"name\":\"salt\",\"quantity\":\"1g\"}]}";
+    }
+
+    private static DataException valueTooLong() {
+        return new DataException("could not execute statement",
+                new SQLException("ERROR: value too long for type character varying(255)", "22001"));
+    }
+
+    private static InputStream input(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> titles(List<RecipeDto.CreateRequest> chunk) {
+        return chunk.stream().map(RecipeDto.CreateRequest::title).toList();
+    }
+}
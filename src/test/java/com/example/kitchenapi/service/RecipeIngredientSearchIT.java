@@ -0,0 +1,136 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.common.CountMode;
+import com.example.kitchenapi.common.CursorPage;
+import com.example.kitchenapi.common.IngredientFilter;
+import com.example.kitchenapi.dto.RecipeDto;
+import com.example.kitchenapi.entity.RecipeEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ingredient filter test for recipe search against a real PostgreSQL instance.
+ * Ingredient name fragments are resolved to ids first and the recipes are then
+ * semi-joined on recipe_ingredients, with all/any semantics across several fragments.
+ * Fragments matching too many ingredients are filtered by name inside the semi-join instead.
+ */
+@SpringBootTest
+class RecipeIngredientSearchIT extends AbstractPostgresIT {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = System.nanoTime();
+        create("Onion soup", "Red Onion", "Butter");
+        create("Garlic bread", "Garlic", "Butter");
+        create("Aglio e olio", "Garlic", "Spring onion", "Pasta");
+        create("Plain rice", "Rice");
+    }
+
+    @Test
+    void search_matchAll_requiresEveryFragment() {
+        Page<RecipeEntity> page = search(new IngredientFilter(List.of("ONION", "garlic"), true));
+
+        assertThat(page.getContent()).extracting(RecipeEntity::getTitle).containsExactly("Aglio e olio");
+        assertThat(page.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void search_matchAny_acceptsEitherFragment() {
+        Page<RecipeEntity> page = search(new IngredientFilter(List.of("onion", "garlic"), false));
+
+        assertThat(page.getContent()).extracting(RecipeEntity::getTitle)
+                .containsExactlyInAnyOrder("Onion soup", "Garlic bread", "Aglio e olio");
+    }
+
+    @Test
+    void search_unknownFragment_matchesNothingUnderAllButIsIgnoredUnderAny() {
+        List<String> names = List.of("butter", "no-such-ingredient-" + ownerId);
+
+        Page<RecipeEntity> all = search(new IngredientFilter(names, true));
+        Page<RecipeEntity> any = search(new IngredientFilter(names, false));
+
+        assertThat(all.getContent()).isEmpty();
+        assertThat(all.getTotalElements()).isZero();
+        assertThat(any.getContent()).extracting(RecipeEntity::getTitle)
+                .containsExactlyInAnyOrder("Onion soup", "Garlic bread");
+    }
+
+    @Test
+    void search_fragmentMatchingTooManyIngredients_filtersByNameInsteadOfIds() {
+        // More matching ingredients than the search binds as ids
+        jdbcTemplate.update("INSERT INTO ingredients (name) "
+                + "SELECT 'Capped spice ' || g FROM generate_series(1, ?) g ON CONFLICT (name) DO NOTHING",
+                RecipeService.MAX_INGREDIENT_FILTER_IDS + 1);
+        create("Spice mix", "Capped spice 7", "Butter");
+        create("Spiced rice", "Capped spice 8", "Rice");
+
+        Page<RecipeEntity> all = search(new IngredientFilter(List.of("CAPPED SPICE", "butter"), true));
+        Page<RecipeEntity> any = search(new IngredientFilter(List.of("capped spice", "garlic"), false));
+
+        assertThat(all.getContent()).extracting(RecipeEntity::getTitle).containsExactly("Spice mix");
+        assertThat(all.getTotalElements()).isEqualTo(1);
+        assertThat(any.getContent()).extracting(RecipeEntity::getTitle)
+                .containsExactlyInAnyOrder("Spice mix", "Spiced rice", "Garlic bread", "Aglio e olio");
+    }
+
+    @Test
+    void searchSliceAndCursor_applyTheSameFilter() {
+        IngredientFilter filter = new IngredientFilter(List.of("butter"), true);
+
+        Slice<RecipeEntity> slice = recipeService.search(ownerId, null, null, filter, null,
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "createdAt")), CountMode.NONE);
+        CursorPage<RecipeEntity> cursorPage = recipeService.searchAfter(ownerId, null, null, filter, null, null, 10);
+
+        assertThat(slice.getContent()).hasSize(1);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(cursorPage.content()).extracting(RecipeEntity::getTitle)
+                .containsExactlyInAnyOrder("Onion soup", "Garlic bread");
+    }
+
+    @Test
+    void ingredientNamePredicate_usesTrigramIndex() {
+        List<String> plan = transactionTemplate.execute(status -> {
+            // The table is tiny here, so take sequential scans off the table to see the index is usable
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList(
+                    "EXPLAIN SELECT id FROM ingredients WHERE lower(name) LIKE '%onion%'", String.class);
+        });
+
+        assertThat(String.join("\n", plan)).contains("idx_ingredients_name_trgm");
+    }
+
+    private Page<RecipeEntity> search(IngredientFilter filter) {
+        return recipeService.search(ownerId, null, null, filter, null, PageRequest.of(0, 10));
+    }
+
+    private void create(String title, String... ingredients) {
+        recipeService.create(ownerId, title, "Steps", 10, null, Arrays.stream(ingredients)
+                .map(name -> new RecipeDto.IngredientItem(name, "1"))
+                .toList());
+    }
+}
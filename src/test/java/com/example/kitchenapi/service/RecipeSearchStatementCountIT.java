@@ -0,0 +1,100 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.dto.RecipeDto;
+import com.example.kitchenapi.entity.RecipeEntity;
+import com.example.kitchenapi.entity.RecipeIngredientEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement count test for recipe search against a real PostgreSQL instance.
+ * Rendering a search page (walking every recipe's ingredients and their names)
+ * must issue the same number of SQL statements regardless of the page size.
+ */
+@SpringBootTest
+class RecipeSearchStatementCountIT extends AbstractPostgresIT {
+
+    private static final int RECIPES = 30;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = System.nanoTime();
+        for (int i = 0; i < RECIPES; i++) {
+            recipeService.create(ownerId, "Recipe " + i, "Steps", 10 + i, "tag", List.of(
+                    new RecipeDto.IngredientItem("onion-" + i, "1"),
+                    new RecipeDto.IngredientItem("carrot-" + i, "2"),
+                    new RecipeDto.IngredientItem("salt", "a pinch")
+            ));
+        }
+    }
+
+    /**
+     * A page of 5 and a page of 20 recipes must cost the same number of statements:
+     * the page query, the count query and one query loading all ingredients of the page.
+     */
+    @Test
+    void search_statementCountDoesNotGrowWithPageSize() {
+        long smallPage = statementsToRenderPage(5);
+        long largePage = statementsToRenderPage(20);
+
+        assertThat(largePage).isEqualTo(smallPage);
+        assertThat(largePage).isEqualTo(3);
+    }
+
+    /**
+     * Runs a search and touches everything the recipe view renders,
+     * returning the number of JDBC statements prepared along the way.
+     */
+    private long statementsToRenderPage(int size) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Integer rendered = transactionTemplate.execute(status -> {
+            Page<RecipeEntity> page = recipeService.search(
+                    ownerId, null, null, null, null, PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt")));
+            int ingredients = 0;
+            for (RecipeEntity recipe : page.getContent()) {
+                for (RecipeIngredientEntity recipeIngredient : recipe.getIngredients()) {
+                    assertThat(recipeIngredient.getIngredient().getName()).isNotBlank();
+                    ingredients++;
+                }
+            }
+            return ingredients;
+        });
+
+        assertThat(rendered).isEqualTo(size * 3);
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.dto.RecipeDto;
+import com.example.kitchenapi.entity.IngredientEntity;
+import com.example.kitchenapi.entity.RecipeEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Second-level cache test against a real PostgreSQL instance.
+ * Recipes, their ingredient collections and ingredients are served from the cache on repeat reads,
+ * and a read after an update, a rolled back update or a delete never returns the cached old state.
+ */
+@SpringBootTest
+class RecipeSecondLevelCacheIT extends AbstractPostgresIT {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        ownerId = System.nanoTime();
+    }
+
+    @Test
+    void findById_servesRepeatReadsFromTheCache() {
+        Long id = createRecipe("Cached curry").getId();
+        entityManagerFactory.getCache().evictAll();
+
+        readTitleAndIngredients(id);
+        statistics.clear();
+        List<Object> again = readTitleAndIngredients(id);
+
+        assertThat(again).containsExactly("Cached curry", 2);
+        assertThat(statistics.getDomainDataRegionStatistics("recipes").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("recipes.ingredients").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(RecipeEntity.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(IngredientEntity.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void findById_afterUpdate_returnsTheNewState() {
+        Long id = createRecipe("Old title").getId();
+        readTitleAndIngredients(id);
+
+        recipeService.update(id, ownerId, new RecipeDto.UpdateRequest("New title", null, 45, "Quick, Easy"));
+
+        RecipeEntity recipe = transactionTemplate.execute(status -> {
+            RecipeEntity found = recipeService.findById(id);
+            found.getNormalizedTags().size();
+            return found;
+        });
+        assertThat(recipe.getTitle()).isEqualTo("New title");
+        assertThat(recipe.getCookTimeMin()).isEqualTo(45);
+        assertThat(recipe.getNormalizedTags()).isEqualTo(Set.of("quick", "easy"));
+    }
+
+    @Test
+    void findById_afterRolledBackUpdate_returnsTheCommittedState() {
+        Long id = createRecipe("Committed title").getId();
+        readTitleAndIngredients(id);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            recipeService.update(id, ownerId, new RecipeDto.UpdateRequest("Rolled back", null, null, null));
+            status.setRollbackOnly();
+        });
+
+        assertThat(readTitleAndIngredients(id)).containsExactly("Committed title", 2);
+    }
+
+    @Test
+    void findById_afterDelete_isNotFound() {
+        Long id = createRecipe("Deleted").getId();
+        readTitleAndIngredients(id);
+
+        recipeService.delete(id, ownerId);
+
+        assertThatThrownBy(() -> recipeService.findById(id))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Recipe not found");
+    }
+
+    private RecipeEntity createRecipe(String title) {
+        return recipeService.create(ownerId, title, "Simmer", 30, "spicy",
+                List.of(new RecipeDto.IngredientItem("cache-onion", "2"),
+                        new RecipeDto.IngredientItem("cache-rice", "1 cup")));
+    }
+
+    /**
+     * Reads the recipe, its ingredient collection and each ingredient in a new transaction.
+     */
+    private List<Object> readTitleAndIngredients(Long id) {
+        return transactionTemplate.execute(status -> {
+            RecipeEntity recipe = recipeService.findById(id);
+            recipe.getIngredients().forEach(item -> item.getIngredient().getName());
+            return List.of(recipe.getTitle(), recipe.getIngredients().size());
+        });
+    }
+}
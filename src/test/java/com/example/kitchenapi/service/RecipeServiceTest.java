@@ -1,12 +1,15 @@
 package com.example.kitchenapi.service;
 
+import com.example.kitchenapi.common.CountMode;
+import com.example.kitchenapi.common.IngredientFilter;
+import com.example.kitchenapi.common.RecipeField;
 import com.example.kitchenapi.dto.RecipeDto;
 import com.example.kitchenapi.entity.IngredientEntity;
 import com.example.kitchenapi.entity.RecipeEntity;
 import com.example.kitchenapi.entity.RecipeIngredientEntity;
-import com.example.kitchenapi.repository.RecipeIngredientRepository;
 import com.example.kitchenapi.repository.RecipeRepository;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import org.junit.jupiter.api.DisplayName;
@@ -20,12 +23,18 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,10 +45,13 @@ class RecipeServiceTest {
     private RecipeRepository recipeRepository;
 
     @Mock
-    private RecipeIngredientRepository recipeIngredientRepository;
+    private IngredientService ingredientService;
 
     @Mock
-    private IngredientService ingredientService;
+    private SearchCountCache searchCountCache;
+
+    @Mock
+    private RecipeViewCache recipeViewCache;
 
     @Mock
     private EntityManager entityManager;
@@ -61,34 +73,65 @@ class RecipeServiceTest {
                 new RecipeDto.IngredientItem("にんじん", "1本")
         );
 
-        RecipeEntity savedRecipe = new RecipeEntity(title, steps, cookTimeMin, tags, ownerId);
-        savedRecipe.setId(10L);
-
         IngredientEntity onion = new IngredientEntity("たまねぎ");
         onion.setId(1L);
         IngredientEntity carrot = new IngredientEntity("にんじん");
         carrot.setId(2L);
 
-        when(recipeRepository.save(any(RecipeEntity.class))).thenReturn(savedRecipe);
-        when(ingredientService.findOrCreate("たまねぎ")).thenReturn(onion);
-        when(ingredientService.findOrCreate("にんじん")).thenReturn(carrot);
-        when(recipeIngredientRepository.save(any(RecipeIngredientEntity.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
-        when(recipeRepository.findById(10L)).thenReturn(Optional.of(savedRecipe));
+        when(recipeRepository.save(any(RecipeEntity.class))).thenAnswer(invocation -> {
+            RecipeEntity recipe = invocation.getArgument(0);
+            recipe.setId(10L);
+            return recipe;
+        });
+        Map<String, IngredientEntity> resolved = new LinkedHashMap<>();
+        resolved.put("たまねぎ", onion);
+        resolved.put("にんじん", carrot);
+        when(ingredientService.findOrCreateAll(any())).thenReturn(resolved);
 
         // When
         RecipeEntity result = recipeService.create(ownerId, title, steps, cookTimeMin, tags, ingredients);
 
         // Then
         assertThat(result).isNotNull();
+        assertThat(result.getId()).isEqualTo(10L);
         assertThat(result.getTitle()).isEqualTo(title);
         assertThat(result.getOwnerId()).isEqualTo(ownerId);
+        assertThat(result.getIngredients()).hasSize(2);
+        assertThat(result.getIngredients())
+                .extracting(ri -> ri.getIngredient().getName(), RecipeIngredientEntity::getQuantity)
+                .containsExactly(tuple("たまねぎ", "1個"), tuple("にんじん", "1本"));
+        assertThat(result.getIngredients()).allSatisfy(ri -> assertThat(ri.getRecipe()).isSameAs(result));
 
+        // レシピと材料は1回の保存でカスケードされ、フラッシュや再取得は行わない
         verify(recipeRepository, times(1)).save(any(RecipeEntity.class));
-        verify(entityManager, times(1)).flush();
-        verify(ingredientService, times(2)).findOrCreate(any());
-        verify(recipeIngredientRepository, times(2)).save(any(RecipeIngredientEntity.class));
-        verify(recipeRepository, times(1)).findById(10L);
+        verify(entityManager, never()).flush();
+        verify(ingredientService, times(1)).findOrCreateAll(argThat(names -> List.copyOf(names).equals(List.of("たまねぎ", "にんじん"))));
+        verify(ingredientService, never()).findOrCreate(any());
+        verify(recipeRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("create - 正常系: 同じ材料が重複して指定された場合は後の分量を採用する")
+    void create_DuplicateIngredientNames() {
+        // Given
+        List<RecipeDto.IngredientItem> ingredients = Arrays.asList(
+                new RecipeDto.IngredientItem("たまねぎ", "1個"),
+                new RecipeDto.IngredientItem("たまねぎ", "2個")
+        );
+
+        IngredientEntity onion = new IngredientEntity("たまねぎ");
+        onion.setId(1L);
+
+        when(recipeRepository.save(any(RecipeEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ingredientService.findOrCreateAll(any())).thenReturn(Map.of("たまねぎ", onion));
+
+        // When
+        RecipeEntity result = recipeService.create(1L, "Title", "Steps", 30, null, ingredients);
+
+        // Then
+        assertThat(result.getIngredients()).hasSize(1);
+        assertThat(result.getIngredients().get(0).getQuantity()).isEqualTo("2個");
+        verify(ingredientService, times(1)).findOrCreateAll(argThat(names -> List.copyOf(names).equals(List.of("たまねぎ"))));
     }
 
     @Test
@@ -225,6 +268,65 @@ class RecipeServiceTest {
         verify(recipeRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("createAll - 正常系: チャンク内の材料を1回で解決し、まとめて保存してから永続化コンテキストを空にする")
+    void createAll_Success() {
+        // Given
+        IngredientEntity onion = new IngredientEntity("たまねぎ");
+        onion.setId(1L);
+        IngredientEntity carrot = new IngredientEntity("にんじん");
+        carrot.setId(2L);
+        Map<String, IngredientEntity> resolved = new LinkedHashMap<>();
+        resolved.put("たまねぎ", onion);
+        resolved.put("にんじん", carrot);
+        when(ingredientService.findOrCreateAll(any())).thenReturn(resolved);
+
+        List<RecipeDto.CreateRequest> requests = List.of(
+                new RecipeDto.CreateRequest("カレー", "煮込む", 30, "簡単",
+                        List.of(new RecipeDto.IngredientItem("たまねぎ", "1個"),
+                                new RecipeDto.IngredientItem("にんじん", "1本"))),
+                new RecipeDto.CreateRequest("オニオンスープ", "炒める", 20, null,
+                        List.of(new RecipeDto.IngredientItem("たまねぎ", "2個"))));
+
+        // When
+        int count = recipeService.createAll(1L, requests);
+
+        // Then
+        assertThat(count).isEqualTo(2);
+        verify(ingredientService, times(1)).findOrCreateAll(
+                argThat(names -> List.copyOf(names).equals(List.of("たまねぎ", "にんじん"))));
+        verify(recipeRepository).saveAll(argThat((List<RecipeEntity> recipes) -> {
+            assertThat(recipes).extracting(RecipeEntity::getTitle, RecipeEntity::getOwnerId)
+                    .containsExactly(tuple("カレー", 1L), tuple("オニオンスープ", 1L));
+            assertThat(recipes.get(1).getIngredients())
+                    .extracting(ri -> ri.getIngredient().getName(), RecipeIngredientEntity::getQuantity)
+                    .containsExactly(tuple("たまねぎ", "2個"));
+            return true;
+        }));
+        var inOrder = inOrder(recipeRepository, entityManager);
+        inOrder.verify(recipeRepository).saveAll(any());
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("createAll - 異常系: 不正なレシピを含む場合は何も保存しない")
+    void createAll_InvalidRecipe() {
+        // Given
+        List<RecipeDto.CreateRequest> requests = List.of(
+                new RecipeDto.CreateRequest("カレー", "煮込む", 30, null,
+                        List.of(new RecipeDto.IngredientItem("たまねぎ", "1個"))),
+                new RecipeDto.CreateRequest("スープ", "煮込む", 0, null,
+                        List.of(new RecipeDto.IngredientItem("たまねぎ", "1個"))));
+
+        // When & Then
+        assertThatThrownBy(() -> recipeService.createAll(1L, requests))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cook time must be positive");
+
+        verifyNoInteractions(ingredientService, recipeRepository);
+    }
+
     @Test
     @DisplayName("findById - 正常系: レシピを取得できる")
     void findById_Success() {
@@ -270,15 +372,43 @@ class RecipeServiceTest {
         verify(recipeRepository, times(1)).findById(recipeId);
     }
 
+    @Test
+    @DisplayName("findVersionById - 正常系: レシピを読み込まずにバージョンを取得できる")
+    void findVersionById_Success() {
+        // Given
+        when(recipeRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+
+        // When
+        long version = recipeService.findVersionById(1L);
+
+        // Then
+        assertThat(version).isEqualTo(4L);
+        verify(recipeRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("findVersionById - 異常系: レシピが見つからない")
+    void findVersionById_NotFound() {
+        // Given
+        when(recipeRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> recipeService.findVersionById(999L))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Recipe not found");
+    }
+
     @Test
     @DisplayName("search - 正常系: フィルター無しで全レシピを取得")
     void search_NoFilters() {
         // Given
-        Pageable pageable = PageRequest.of(0, 10);
+        Pageable pageable = PageRequest.of(0, 2);
         List<RecipeEntity> recipes = Arrays.asList(
                 new RecipeEntity("Recipe1", "Steps1", 20, "tag1", 1L),
                 new RecipeEntity("Recipe2", "Steps2", 30, "tag2", 2L)
         );
+        recipes.get(0).setId(10L);
+        recipes.get(1).setId(11L);
 
         CriteriaBuilder cb = mock(CriteriaBuilder.class);
         CriteriaQuery<RecipeEntity> query = mock(CriteriaQuery.class);
@@ -307,12 +437,318 @@ class RecipeServiceTest {
         when(countTypedQuery.getSingleResult()).thenReturn(2L);
 
         // When
-        Page<RecipeEntity> result = recipeService.search(null, null, null, null, pageable);
+        Page<RecipeEntity> result = recipeService.search(null, null, null, null, null, pageable);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(2);
         assertThat(result.getTotalElements()).isEqualTo(2L);
+
+        // ページ内レシピの材料は1回のクエリでまとめて読み込む
+        verify(recipeRepository, times(1)).findWithIngredientsByIdIn(List.of(10L, 11L));
+    }
+
+    @Test
+    @DisplayName("search - 正常系: 結果が空の場合は材料を読み込まない")
+    void search_EmptyPage_SkipsIngredientFetch() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        List<RecipeEntity> recipes = List.of();
+
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        CriteriaQuery<RecipeEntity> query = mock(CriteriaQuery.class);
+        Root<RecipeEntity> root = mock(Root.class);
+        TypedQuery<RecipeEntity> typedQuery = mock(TypedQuery.class);
+
+        when(entityManager.getCriteriaBuilder()).thenReturn(cb);
+        when(cb.createQuery(RecipeEntity.class)).thenReturn(query);
+        when(query.from(RecipeEntity.class)).thenReturn(root);
+        when(query.where(any(Predicate[].class))).thenReturn(query);
+        when(entityManager.createQuery(query)).thenReturn(typedQuery);
+        when(typedQuery.setFirstResult(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.setMaxResults(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.getResultList()).thenReturn(recipes);
+
+        // When
+        Page<RecipeEntity> result = recipeService.search(null, null, null, null, null, pageable);
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalElements()).isZero();
+        // 先頭ページがページサイズに満たない場合は総件数をカウントしない
+        verify(cb, never()).createQuery(Long.class);
+        verify(recipeRepository, never()).findWithIngredientsByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("search - count=none: ページサイズ+1件を取得し、総件数をカウントしない")
+    void search_CountNone_ReturnsSliceWithoutCount() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 2);
+        List<RecipeEntity> recipes = Arrays.asList(
+                new RecipeEntity("Recipe1", "Steps1", 20, "tag1", 1L),
+                new RecipeEntity("Recipe2", "Steps2", 30, "tag2", 1L),
+                new RecipeEntity("Recipe3", "Steps3", 40, "tag3", 1L)
+        );
+        recipes.get(0).setId(10L);
+        recipes.get(1).setId(11L);
+        recipes.get(2).setId(12L);
+
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        CriteriaQuery<RecipeEntity> query = mock(CriteriaQuery.class);
+        Root<RecipeEntity> root = mock(Root.class);
+        TypedQuery<RecipeEntity> typedQuery = mock(TypedQuery.class);
+
+        when(entityManager.getCriteriaBuilder()).thenReturn(cb);
+        when(cb.createQuery(RecipeEntity.class)).thenReturn(query);
+        when(query.from(RecipeEntity.class)).thenReturn(root);
+        when(query.where(any(Predicate[].class))).thenReturn(query);
+        when(entityManager.createQuery(query)).thenReturn(typedQuery);
+        when(typedQuery.setFirstResult(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.setMaxResults(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.getResultList()).thenReturn(recipes);
+
+        // When
+        Slice<RecipeEntity> result = recipeService.search(null, null, null, null, null, pageable, CountMode.NONE);
+
+        // Then
+        assertThat(result).isNotInstanceOf(Page.class);
+        assertThat(result.getContent()).extracting(RecipeEntity::getId).containsExactly(10L, 11L);
+        assertThat(result.hasNext()).isTrue();
+        verify(typedQuery).setMaxResults(3);
+        verify(cb, never()).createQuery(Long.class);
+        verify(recipeRepository).findWithIngredientsByIdIn(List.of(10L, 11L));
+    }
+
+    @Test
+    @DisplayName("search - count=estimate: 総件数キャッシュから総件数を取得する")
+    void search_CountEstimate_UsesCountCache() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1);
+        RecipeEntity recipe = new RecipeEntity("Recipe1", "Steps1", 20, "tag1", 1L);
+        recipe.setId(10L);
+
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        CriteriaQuery<RecipeEntity> query = mock(CriteriaQuery.class);
+        Root<RecipeEntity> root = mock(Root.class);
+        TypedQuery<RecipeEntity> typedQuery = mock(TypedQuery.class);
+
+        when(entityManager.getCriteriaBuilder()).thenReturn(cb);
+        when(cb.createQuery(RecipeEntity.class)).thenReturn(query);
+        when(query.from(RecipeEntity.class)).thenReturn(root);
+        when(query.where(any(Predicate[].class))).thenReturn(query);
+        when(entityManager.createQuery(query)).thenReturn(typedQuery);
+        when(typedQuery.setFirstResult(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.setMaxResults(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.getResultList()).thenReturn(List.of(recipe));
+        when(searchCountCache.get(any(), any())).thenReturn(42L);
+
+        // When
+        Slice<RecipeEntity> result = recipeService.search(null, null, null, null, null, pageable, CountMode.ESTIMATE);
+
+        // Then
+        assertThat(result).isInstanceOf(Page.class);
+        assertThat(((Page<RecipeEntity>) result).getTotalElements()).isEqualTo(42L);
+        verify(cb, never()).createQuery(Long.class);
+    }
+
+    @Test
+    @DisplayName("search - 材料フィルター: 材料名を1回だけ解決し、ページ取得と件数カウントで共有する")
+    void search_IngredientFilter_ResolvesNamesOnce() {
+        // Given
+        Pageable pageable = PageRequest.of(1, 1);
+        RecipeEntity recipe = new RecipeEntity("Recipe1", "Steps1", 20, "tag1", 1L);
+        recipe.setId(10L);
+        IngredientFilter ingredients = new IngredientFilter(List.of("onion", "saffron"), true);
+        Map<String, Set<Long>> idsByName = new LinkedHashMap<>();
+        idsByName.put("onion", Set.of());
+        idsByName.put("saffron", Set.of());
+
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        CriteriaQuery<RecipeEntity> query = mock(CriteriaQuery.class);
+        TypedQuery<RecipeEntity> typedQuery = mock(TypedQuery.class);
+        CriteriaQuery<Long> countQuery = mock(CriteriaQuery.class);
+        TypedQuery<Long> countTypedQuery = mock(TypedQuery.class);
+
+        when(ingredientService.findIdsByNameContaining(List.of("onion", "saffron"), RecipeService.MAX_INGREDIENT_FILTER_IDS))
+                .thenReturn(Optional.of(idsByName));
+        when(entityManager.getCriteriaBuilder()).thenReturn(cb);
+        when(cb.createQuery(RecipeEntity.class)).thenReturn(query);
+        when(query.from(RecipeEntity.class)).thenReturn(mock(Root.class));
+        when(entityManager.createQuery(query)).thenReturn(typedQuery);
+        when(typedQuery.setFirstResult(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.setMaxResults(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.getResultList()).thenReturn(List.of(recipe));
+        when(cb.createQuery(Long.class)).thenReturn(countQuery);
+        when(countQuery.from(RecipeEntity.class)).thenReturn(mock(Root.class));
+        when(entityManager.createQuery(countQuery)).thenReturn(countTypedQuery);
+        when(countTypedQuery.getSingleResult()).thenReturn(2L);
+
+        // When
+        Page<RecipeEntity> result = recipeService.search(1L, null, null, ingredients, null, pageable);
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(2L);
+        verify(ingredientService, times(1)).findIdsByNameContaining(any(), anyInt());
+        // 一致する材料がないグループは常に偽の条件になる（全てに一致: 材料ごとに1グループ × ページ取得と件数カウント）
+        verify(cb, times(4)).disjunction();
+        verify(query, never()).subquery(any());
+    }
+
+    @Test
+    @DisplayName("search - 材料フィルター: いずれかに一致（any）の場合は材料IDを1グループにまとめる")
+    void search_IngredientFilterAny_SingleGroup() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        IngredientFilter ingredients = new IngredientFilter(List.of("onion", "saffron"), false);
+        Map<String, Set<Long>> idsByName = new LinkedHashMap<>();
+        idsByName.put("onion", Set.of());
+        idsByName.put("saffron", Set.of());
+
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        CriteriaQuery<RecipeEntity> query = mock(CriteriaQuery.class);
+        TypedQuery<RecipeEntity> typedQuery = mock(TypedQuery.class);
+
+        when(ingredientService.findIdsByNameContaining(List.of("onion", "saffron"), RecipeService.MAX_INGREDIENT_FILTER_IDS))
+                .thenReturn(Optional.of(idsByName));
+        when(entityManager.getCriteriaBuilder()).thenReturn(cb);
+        when(cb.createQuery(RecipeEntity.class)).thenReturn(query);
+        when(query.from(RecipeEntity.class)).thenReturn(mock(Root.class));
+        when(entityManager.createQuery(query)).thenReturn(typedQuery);
+        when(typedQuery.setFirstResult(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.setMaxResults(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.getResultList()).thenReturn(List.of());
+
+        // When
+        Slice<RecipeEntity> result = recipeService.search(1L, null, null, ingredients, null, pageable, CountMode.NONE);
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        verify(cb, times(1)).disjunction();
+    }
+
+    @Test
+    @DisplayName("search - 材料フィルター: 一致する材料が上限を超える場合はIDをバインドせず、材料を結合して名前で絞り込む")
+    @SuppressWarnings("unchecked")
+    void search_IngredientFilterTooManyIds_JoinsIngredientNames() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        IngredientFilter ingredients = new IngredientFilter(List.of("a", "Salt"), true);
+
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        CriteriaQuery<RecipeEntity> query = mock(CriteriaQuery.class);
+        TypedQuery<RecipeEntity> typedQuery = mock(TypedQuery.class);
+        Subquery<Integer> subquery = mock(Subquery.class);
+        Root<RecipeIngredientEntity> recipeIngredient = mock(Root.class);
+        Path<Object> idPath = mock(Path.class);
+        Join<Object, Object> ingredient = mock(Join.class);
+
+        when(ingredientService.findIdsByNameContaining(List.of("a", "Salt"), RecipeService.MAX_INGREDIENT_FILTER_IDS))
+                .thenReturn(Optional.empty());
+        when(entityManager.getCriteriaBuilder()).thenReturn(cb);
+        when(cb.createQuery(RecipeEntity.class)).thenReturn(query);
+        when(query.from(RecipeEntity.class)).thenReturn(mock(Root.class));
+        when(query.subquery(Integer.class)).thenReturn(subquery);
+        when(subquery.from(RecipeIngredientEntity.class)).thenReturn(recipeIngredient);
+        when(recipeIngredient.get("id")).thenReturn(idPath);
+        when(idPath.get(anyString())).thenReturn(mock(Path.class));
+        when(recipeIngredient.join("ingredient")).thenReturn(ingredient);
+        when(entityManager.createQuery(query)).thenReturn(typedQuery);
+        when(typedQuery.setFirstResult(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.setMaxResults(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.getResultList()).thenReturn(List.of());
+
+        // When
+        recipeService.search(1L, null, null, ingredients, null, pageable, CountMode.NONE);
+
+        // Then: 全てに一致の場合は部分文字列ごとにEXISTSを作り、材料IDのIN句は作らない
+        verify(query, times(2)).subquery(Integer.class);
+        verify(recipeIngredient, times(2)).join("ingredient");
+        verify(cb).like(any(), eq("%a%"));
+        verify(cb).like(any(), eq("%salt%"));
+        verify(cb, never()).disjunction();
+        verify(idPath, never()).get("ingredientId");
+    }
+
+    @Test
+    @DisplayName("search - 異常系: countModeがnull")
+    void search_NullCountMode() {
+        // When & Then
+        assertThatThrownBy(() -> recipeService.search(null, null, null, null, null, PageRequest.of(0, 10), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Count mode is required");
+    }
+
+    @Test
+    @DisplayName("searchViews - 指定したフィールドの列だけを射影し、材料を含まない場合は材料を取得しない")
+    void searchViews_SelectedFieldsOnly() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        CriteriaQuery<Tuple> query = mock(CriteriaQuery.class);
+        Root<RecipeEntity> root = mock(Root.class);
+        Path<Object> path = mock(Path.class);
+        TypedQuery<Tuple> typedQuery = mock(TypedQuery.class);
+        Tuple row = mock(Tuple.class);
+
+        when(entityManager.getCriteriaBuilder()).thenReturn(cb);
+        when(cb.createQuery(Tuple.class)).thenReturn(query);
+        when(query.from(RecipeEntity.class)).thenReturn(root);
+        when(root.get(anyString())).thenReturn(path);
+        when(entityManager.createQuery(query)).thenReturn(typedQuery);
+        when(typedQuery.setFirstResult(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.setMaxResults(anyInt())).thenReturn(typedQuery);
+        when(typedQuery.getResultList()).thenReturn(List.of(row));
+        when(row.get("id", Long.class)).thenReturn(10L);
+        when(row.get("title", String.class)).thenReturn("Recipe1");
+
+        // When
+        Slice<RecipeDto.RecipeView> result = recipeService.searchViews(1L, null, null, null, null, pageable,
+                CountMode.NONE, Set.of(RecipeField.TITLE));
+
+        // Then
+        assertThat(result.getContent()).containsExactly(
+                new RecipeDto.RecipeView(10L, "Recipe1", null, null, null, null));
+        verify(root, never()).get("steps");
+        verify(cb, never()).createTupleQuery();
+        verify(recipeRepository, never()).findWithIngredientsByIdIn(any());
+        verifyNoInteractions(ingredientService);
+    }
+
+    @Test
+    @DisplayName("searchViews - 異常系: fieldsがnull")
+    void searchViews_NullFields() {
+        // When & Then
+        assertThatThrownBy(() -> recipeService.searchViews(null, null, null, null, null, PageRequest.of(0, 10),
+                CountMode.EXACT, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Fields are required");
+    }
+
+    @Test
+    @DisplayName("exportViews - 正常系: レシピがない場合は何も出力しない")
+    void exportViews_Empty() {
+        // Given
+        when(recipeRepository.streamByOwnerId(1L)).thenReturn(Stream.empty());
+        List<RecipeDto.RecipeView> exported = new ArrayList<>();
+
+        // When
+        long count = recipeService.exportViews(1L, exported::add);
+
+        // Then
+        assertThat(count).isZero();
+        assertThat(exported).isEmpty();
+        verifyNoInteractions(entityManager, ingredientService);
+    }
+
+    @Test
+    @DisplayName("exportViews - 異常系: ownerIdがnull")
+    void exportViews_NullOwnerId() {
+        // When & Then
+        assertThatThrownBy(() -> recipeService.exportViews(null, view -> {}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Owner ID is required");
+        verifyNoInteractions(recipeRepository);
     }
 
     @Test
@@ -346,6 +782,7 @@ class RecipeServiceTest {
 
         verify(recipeRepository, times(1)).findById(recipeId);
         verify(recipeRepository, times(1)).save(recipe);
+        verify(recipeViewCache, times(1)).invalidate(recipeId);
     }
 
     @Test
@@ -501,6 +938,7 @@ class RecipeServiceTest {
         // Then
         verify(recipeRepository, times(1)).findById(recipeId);
         verify(recipeRepository, times(1)).delete(recipe);
+        verify(recipeViewCache, times(1)).invalidate(recipeId);
     }
 
     @Test
@@ -563,4 +1001,34 @@ class RecipeServiceTest {
         verify(recipeRepository, times(1)).findById(recipeId);
         verify(recipeRepository, never()).delete(any());
     }
+
+    @Test
+    @DisplayName("backfillTags - 異常系: バッチサイズが0以下")
+    void backfillTags_NonPositiveBatchSize() {
+        // When & Then
+        assertThatThrownBy(() -> recipeService.backfillTags(0L, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Batch size must be positive");
+
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    @DisplayName("searchAfter - 異常系: ページサイズが0以下")
+    void searchAfter_NonPositiveSize() {
+        // When & Then
+        assertThatThrownBy(() -> recipeService.searchAfter(1L, null, null, null, null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page size must be positive");
+    }
+
+    @Test
+    @DisplayName("searchAfter - 異常系: 不正なカーソル")
+    void searchAfter_InvalidCursor() {
+        // When & Then
+        assertThatThrownBy(() -> recipeService.searchAfter(1L, null, null, null, null, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        verifyNoInteractions(entityManager);
+    }
 }
@@ -0,0 +1,120 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.common.TagFilter;
+import com.example.kitchenapi.dto.RecipeDto;
+import com.example.kitchenapi.entity.RecipeEntity;
+import com.example.kitchenapi.job.RecipeTagBackfillJob;
+import com.example.kitchenapi.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tag search test against a real PostgreSQL instance.
+ * Tags are matched exactly through recipe_tags (no substring false positives),
+ * kept in sync with the comma-separated tags column, and backfilled for legacy rows.
+ */
+@SpringBootTest
+class RecipeTagSearchIT extends AbstractPostgresIT {
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        // The backfill is run explicitly by the test below
+        registry.add("app.jobs.tag-backfill-enabled", () -> "false");
+        registry.add("app.jobs.tag-backfill-batch-size", () -> "2");
+    }
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeTagBackfillJob recipeTagBackfillJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = System.nanoTime();
+    }
+
+    @Test
+    void search_matchesWholeTagsOnly() {
+        create("Fried rice", "Rice, Quick");
+        create("Licorice candy", "licorice,sweet");
+        create("Rice pudding", "rice,sweet");
+
+        assertThat(titles(new TagFilter(List.of("RICE"), true)))
+                .containsExactlyInAnyOrder("Fried rice", "Rice pudding");
+        assertThat(titles(new TagFilter(List.of("rice", "sweet"), true)))
+                .containsExactly("Rice pudding");
+        assertThat(titles(new TagFilter(List.of("quick", "licorice"), false)))
+                .containsExactlyInAnyOrder("Fried rice", "Licorice candy");
+        assertThat(titles(new TagFilter(List.of("ric"), false))).isEmpty();
+    }
+
+    @Test
+    void update_resyncsTags() {
+        RecipeEntity recipe = create("Soup", "winter,hot");
+
+        recipeService.update(recipe.getId(), ownerId, new RecipeDto.UpdateRequest(null, null, null, "Hot, summer"));
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT tag FROM recipe_tags WHERE recipe_id = ? ORDER BY tag", String.class, recipe.getId()))
+                .containsExactly("hot", "summer");
+        assertThat(recipeRepository.findByTagsContaining(" Summer ")).extracting(RecipeEntity::getId)
+                .contains(recipe.getId());
+        assertThat(recipeRepository.findByTagsContaining("winter")).extracting(RecipeEntity::getId)
+                .doesNotContain(recipe.getId());
+    }
+
+    @Test
+    void backfill_migratesLegacyRowsInBatches() {
+        // Rows written before recipe_tags existed only have the comma-separated column
+        for (String tags : List.of("Legacy, One", "legacy,two,TWO", " , ", "legacy")) {
+            jdbcTemplate.update("INSERT INTO recipes (id, owner_id, title, steps, cook_time_min, tags, created_at) "
+                    + "VALUES (nextval('recipes_seq'), ?, 'Legacy', 'Steps', 10, ?, now())", ownerId, tags);
+        }
+        assertThat(titles(new TagFilter(List.of("legacy"), true))).isEmpty();
+
+        recipeTagBackfillJob.backfill();
+
+        assertThat(titles(new TagFilter(List.of("legacy"), true))).hasSize(3);
+        assertThat(titles(new TagFilter(List.of("two"), true))).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM recipe_tags t JOIN recipes r ON r.id = t.recipe_id WHERE r.owner_id = ?",
+                Long.class, ownerId)).isEqualTo(5L);
+
+        // A second run finds nothing left to migrate and changes nothing
+        recipeTagBackfillJob.backfill();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM recipe_tags t JOIN recipes r ON r.id = t.recipe_id WHERE r.owner_id = ?",
+                Long.class, ownerId)).isEqualTo(5L);
+    }
+
+    private List<String> titles(TagFilter tags) {
+        Page<RecipeEntity> page = recipeService.search(ownerId, null, null, null, tags, PageRequest.of(0, 10));
+        return page.getContent().stream().map(RecipeEntity::getTitle).toList();
+    }
+
+    private RecipeEntity create(String title, String tags) {
+        return recipeService.create(ownerId, title, "Steps", 10, tags,
+                List.of(new RecipeDto.IngredientItem("tag-test-water", "1")));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import com.example.kitchenapi.dto.RecipeDto;
+import com.example.kitchenapi.entity.RecipeEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recipe title search test against a real PostgreSQL instance migrated by Flyway.
+ * The substring predicate must be answerable from the pg_trgm index,
+ * and the relevance sort must rank closer titles first.
+ */
+@SpringBootTest
+class RecipeTitleSearchIT extends AbstractPostgresIT {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void titleSubstringPredicate_usesTrigramIndex() {
+        List<String> plan = transactionTemplate.execute(status -> {
+            // The table is tiny here, so take sequential scans off the table to see the index is usable
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList(
+                    "EXPLAIN SELECT id FROM recipes WHERE lower(title) LIKE '%soup%'", String.class);
+        });
+
+        assertThat(String.join("\n", plan)).contains("idx_recipes_title_trgm");
+    }
+
+    @Test
+    void search_relevanceSortRanksCloserTitlesFirst() {
+        Long ownerId = System.nanoTime();
+        for (String title : List.of("Soup dumplings with a very long descriptive title", "Soup", "Tomato soup")) {
+            recipeService.create(ownerId, title, "Steps", 10, null,
+                    List.of(new RecipeDto.IngredientItem("relevance-water", "1")));
+        }
+        recipeService.create(ownerId, "Curry", "Steps", 10, null,
+                List.of(new RecipeDto.IngredientItem("relevance-water", "1")));
+
+        Page<RecipeEntity> page = recipeService.search(ownerId, "SOUP", null, null, null,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, RecipeService.RELEVANCE)));
+
+        assertThat(page.getContent()).extracting(RecipeEntity::getTitle)
+                .containsExactly("Soup", "Tomato soup", "Soup dumplings with a very long descriptive title");
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.config.AppCacheProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RecipeViewCache 単体テスト")
+class RecipeViewCacheTest {
+
+    private static final byte[] JSON = "{\"id\":1,\"title\":\"カレー\"}".getBytes(StandardCharsets.UTF_8);
+
+    private AppCacheProps props;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        props = new AppCacheProps();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("get - 同じバージョンのJSONを返し、ヒット数を記録する")
+    void get_SameVersion_ReturnsJson() {
+        // Given
+        RecipeViewCache cache = new RecipeViewCache(props, meterRegistry, Runnable::run);
+        cache.put(1L, 3L, JSON);
+
+        // When
+        byte[] result = cache.get(1L, 3L);
+
+        // Then
+        assertThat(result).isSameAs(JSON);
+        assertThat(gets("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("get - バージョンが異なる場合はnullを返す")
+    void get_DifferentVersion_ReturnsNull() {
+        // Given
+        RecipeViewCache cache = new RecipeViewCache(props, meterRegistry, Runnable::run);
+        cache.put(1L, 3L, JSON);
+
+        // When & Then
+        assertThat(cache.get(1L, 4L)).isNull();
+        assertThat(cache.get(1L, 2L)).isNull();
+        assertThat(cache.get(2L, 3L)).isNull();
+    }
+
+    @Test
+    @DisplayName("invalidate - 破棄したレシピは返さない")
+    void invalidate_RemovesEntry() {
+        // Given
+        RecipeViewCache cache = new RecipeViewCache(props, meterRegistry, Runnable::run);
+        cache.put(1L, 3L, JSON);
+
+        // When
+        cache.invalidate(1L);
+
+        // Then
+        assertThat(cache.get(1L, 3L)).isNull();
+        assertThat(cache.weightedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("weightedSize - 保持しているJSONのバイト数をメトリクスとして公開する")
+    void weightedSize_ReportsBytes() {
+        // Given
+        RecipeViewCache cache = new RecipeViewCache(props, meterRegistry, Runnable::run);
+
+        // When
+        cache.put(1L, 1L, JSON);
+        cache.put(2L, 1L, JSON);
+
+        // Then
+        long expected = 2L * (JSON.length + RecipeViewCache.ENTRY_OVERHEAD_BYTES);
+        assertThat(cache.weightedSize()).isEqualTo(expected);
+        assertThat(meterRegistry.get("recipe.view.cache.size").gauge().value()).isEqualTo((double) expected);
+        assertThat(meterRegistry.get("recipe.view.cache.max.size").gauge().value())
+                .isEqualTo((double) DataSize.ofMegabytes(64).toBytes());
+    }
+
+    @Test
+    @DisplayName("put - 最大サイズを超えると古いエントリを破棄する")
+    void put_ExceedsMaxSize_Evicts() {
+        // Given
+        int entryBytes = JSON.length + RecipeViewCache.ENTRY_OVERHEAD_BYTES;
+        props.setRecipeViewMaxSize(DataSize.ofBytes(entryBytes * 2L));
+        RecipeViewCache cache = new RecipeViewCache(props, meterRegistry, Runnable::run);
+
+        // When
+        for (long id = 1; id <= 10; id++) {
+            cache.put(id, 1L, JSON);
+        }
+
+        // Then
+        assertThat(cache.weightedSize()).isLessThanOrEqualTo(entryBytes * 2L);
+    }
+
+    @Test
+    @DisplayName("put - 最大サイズが0の場合はキャッシュしない")
+    void put_Disabled_DoesNotCache() {
+        // Given
+        props.setRecipeViewMaxSize(DataSize.ofBytes(0));
+        RecipeViewCache cache = new RecipeViewCache(props, meterRegistry, Runnable::run);
+
+        // When
+        cache.put(1L, 1L, JSON);
+
+        // Then
+        assertThat(cache.get(1L, 1L)).isNull();
+        assertThat(cache.weightedSize()).isZero();
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "recipe.views").tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.config.AppCacheProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SearchCountCache 単体テスト")
+class SearchCountCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SearchCountCache searchCountCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        searchCountCache = new SearchCountCache(new AppCacheProps(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("get - 同じキーでは2回目以降カウント処理を呼ばない")
+    void get_CachesCountPerKey() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        long first = searchCountCache.get("owner-1", () -> {
+            loads.incrementAndGet();
+            return 12L;
+        });
+        long second = searchCountCache.get("owner-1", () -> {
+            loads.incrementAndGet();
+            return 99L;
+        });
+
+        // Then
+        assertThat(first).isEqualTo(12L);
+        assertThat(second).isEqualTo(12L);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "search.counts").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("get - キーが異なれば別々にカウントする")
+    void get_SeparateKeys() {
+        // When
+        long a = searchCountCache.get("owner-1", () -> 1L);
+        long b = searchCountCache.get("owner-2", () -> 2L);
+
+        // Then
+        assertThat(a).isEqualTo(1L);
+        assertThat(b).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.kitchenapi.service;
+
+import com.example.kitchenapi.AbstractPostgresIT;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Index usage test for the main search queries against a schema migrated by Flyway.
+ * Each query mirrors the SQL the services generate and must be answerable from one of the
+ * indexes defined by the migrations, so a dropped or mistyped index fails here instead of in production.
+ */
+@SpringBootTest
+class SearchIndexUsageIT extends AbstractPostgresIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void recipeSearchByOwner_usesOwnerCreatedIndex() {
+        assertThat(explain("SELECT id FROM recipes WHERE owner_id = 42 "
+                + "ORDER BY created_at DESC, id DESC LIMIT 20"))
+                .contains("idx_recipes_owner_created");
+    }
+
+    @Test
+    void recipeListing_usesCreatedIndex() {
+        assertThat(explain("SELECT id FROM recipes "
+                + "WHERE created_at < now() OR (created_at = now() AND id < 100) "
+                + "ORDER BY created_at DESC, id DESC LIMIT 20"))
+                .contains("idx_recipes_created");
+    }
+
+    @Test
+    void recipeIngredientsOfRecipe_useRecipeIndex() {
+        assertThat(explain("SELECT ingredient_id, quantity FROM recipe_ingredients WHERE recipe_id = 42"))
+                .contains("idx_recipe_ingredients_recipe");
+    }
+
+    @Test
+    void recipeIngredientFilter_usesPrimaryKey() {
+        assertThat(explain("SELECT recipe_id FROM recipe_ingredients WHERE ingredient_id IN (1, 2, 3)"))
+                .contains("recipe_ingredients_pkey");
+    }
+
+    @Test
+    void ingredientNameLookup_usesUniqueIndex() {
+        assertThat(explain("SELECT id FROM ingredients WHERE name IN ('onion', 'garlic')"))
+                .contains("ingredients_name_key");
+    }
+
+    @Test
+    void ingredientNameSubstring_usesTrigramIndex() {
+        assertThat(explain("SELECT id FROM ingredients WHERE lower(name) LIKE '%onion%'"))
+                .contains("idx_ingredients_name_trgm");
+    }
+
+    @Test
+    void pantrySearchByUser_usesUserExpiresIndex() {
+        assertThat(explain("SELECT id FROM pantry_items WHERE user_id = 42 "
+                + "AND expires_on BETWEEN DATE '2025-01-01' AND DATE '2025-01-31' ORDER BY expires_on"))
+                .contains("idx_pantry_items_user_expires");
+    }
+
+    @Test
+    void expiryJobUserScan_usesUserExpiresIndex() {
+        assertThat(explain("SELECT DISTINCT user_id FROM pantry_items "
+                + "WHERE expires_on BETWEEN DATE '2025-01-01' AND DATE '2025-01-03' AND user_id > 0 "
+                + "ORDER BY user_id LIMIT 500"))
+                .contains("idx_pantry_items_user_expires");
+    }
+
+    @Test
+    void expiryJobItemsOfUsers_useUserExpiresIndex() {
+        assertThat(explain("SELECT p.id, p.user_id, i.name, p.amount, p.expires_on FROM pantry_items p "
+                + "JOIN ingredients i ON i.id = p.ingredient_id "
+                + "WHERE p.user_id IN (1, 2, 3) AND p.expires_on BETWEEN DATE '2025-01-01' AND DATE '2025-01-03' "
+                + "ORDER BY p.user_id, p.expires_on, p.id"))
+                .contains("idx_pantry_items_user_expires");
+    }
+
+    private String explain(String sql) {
+        List<String> plan = transactionTemplate.execute(status -> {
+            // The tables are tiny here, so take sequential scans off the table to see the index is usable
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        });
+        return String.join("\n", plan);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.kitchenapi.service;
 
 import com.example.kitchenapi.entity.UserEntity;
 import com.example.kitchenapi.repository.UserRepository;
+import com.example.kitchenapi.security.PasswordHashingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,8 +10,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Optional;
@@ -29,7 +30,7 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @InjectMocks
     private UserService userService;
@@ -52,7 +53,7 @@ class UserServiceTest {
         String hashedPassword = "hashedPassword";
 
         when(userRepository.existsByEmail(email)).thenReturn(false);
-        when(passwordEncoder.encode(password)).thenReturn(hashedPassword);
+        when(passwordHashingService.encode(password)).thenReturn(hashedPassword);
         when(userRepository.save(any(UserEntity.class))).thenReturn(testUser);
 
         // When
@@ -63,7 +64,7 @@ class UserServiceTest {
         assertThat(result.getEmail()).isEqualTo(email);
         assertThat(result.getName()).isEqualTo(name);
         verify(userRepository).existsByEmail(email);
-        verify(passwordEncoder).encode(password);
+        verify(passwordHashingService).encode(password);
         verify(userRepository).save(any(UserEntity.class));
     }
 
@@ -138,10 +139,29 @@ class UserServiceTest {
                 });
 
         verify(userRepository).existsByEmail(email);
-        verify(passwordEncoder, never()).encode(anyString());
+        verify(passwordHashingService, never()).encode(anyString());
         verify(userRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("signup - 異常系: ハッシュ計算中に同じメールアドレスが登録された場合は409")
+    void signup_ConcurrentDuplicateEmail() {
+        // Given
+        when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
+        when(passwordHashingService.encode("password123")).thenReturn("hashedPassword");
+        when(userRepository.save(any(UserEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        // When & Then
+        assertThatThrownBy(() -> userService.signup("test@example.com", "Test User", "password123"))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(ex -> {
+                    ResponseStatusException rse = (ResponseStatusException) ex;
+                    assertThat(rse.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                    assertThat(rse.getReason()).isEqualTo("Email already exists");
+                });
+    }
+
     @Test
     @DisplayName("login - 正常系: 正しい認証情報でログインできる")
     void login_Success() {
@@ -150,7 +170,7 @@ class UserServiceTest {
         String password = "password123";
 
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(password, testUser.getPasswordHash())).thenReturn(true);
+        when(passwordHashingService.matches(password, testUser.getPasswordHash())).thenReturn(true);
 
         // When
         UserEntity result = userService.login(email, password);
@@ -159,7 +179,7 @@ class UserServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getEmail()).isEqualTo(email);
         verify(userRepository).findByEmail(email);
-        verify(passwordEncoder).matches(password, testUser.getPasswordHash());
+        verify(passwordHashingService).matches(password, testUser.getPasswordHash());
     }
 
     @Test
@@ -215,7 +235,7 @@ class UserServiceTest {
                 });
 
         verify(userRepository).findByEmail(email);
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(passwordHashingService, never()).matches(anyString(), anyString());
     }
 
     @Test
@@ -226,7 +246,7 @@ class UserServiceTest {
         String password = "wrongPassword";
 
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(password, testUser.getPasswordHash())).thenReturn(false);
+        when(passwordHashingService.matches(password, testUser.getPasswordHash())).thenReturn(false);
 
         // When & Then
         assertThatThrownBy(() -> userService.login(email, password))
@@ -238,7 +258,7 @@ class UserServiceTest {
                 });
 
         verify(userRepository).findByEmail(email);
-        verify(passwordEncoder).matches(password, testUser.getPasswordHash());
+        verify(passwordHashingService).matches(password, testUser.getPasswordHash());
     }
 
     @Test